@@ -0,0 +1,87 @@
+package com.ephyris.ephyris_benchmarks;
+
+import com.ephyris.ephyris_engine.DataTransferObject.ConsistencyInsightDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.MuscleVolumeDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.PersonalRecordDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WeeklyVolumeDTO;
+import com.ephyris.ephyris_engine.Entity.PersonalRecord;
+import com.ephyris.ephyris_engine.Service.AnalyticsService;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.PopulationDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analytics endpoints as the controllers call them, with the analytics cache
+ * disabled so every call pays for its load. The rebuild benchmark measures
+ * the full recompute the personal record index falls back to (backfills,
+ * deletes), and the refresh benchmark the periodic reload of the
+ * population-wide distributions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+
+    private AnalyticsService analyticsService;
+    private PersonalRecordIndex personalRecordIndex;
+    private PopulationDistribution populationDistribution;
+
+    @Setup(Level.Trial)
+    public void setUp(Dataset dataset) {
+        analyticsService = dataset.bean(AnalyticsService.class);
+        personalRecordIndex = dataset.bean(PersonalRecordIndex.class);
+        populationDistribution = dataset.bean(PopulationDistribution.class);
+
+        // Backfill the indexes so the read benchmarks measure steady state
+        for (Long userId : dataset.userIds()) {
+            analyticsService.getPersonalRecords(userId);
+            analyticsService.getMuscleGroupVolume(userId);
+        }
+    }
+
+    @Benchmark
+    public List<WeeklyVolumeDTO> weeklyVolume(Dataset dataset) {
+        return analyticsService.getWeeklyVolume(dataset.nextUserId(), 12);
+    }
+
+    @Benchmark
+    public ConsistencyInsightDTO consistencyInsight(Dataset dataset) {
+        return analyticsService.getConsistencyInsight(dataset.nextUserId(), 12);
+    }
+
+    @Benchmark
+    public List<PersonalRecordDTO> personalRecords(Dataset dataset) {
+        return analyticsService.getPersonalRecords(dataset.nextUserId());
+    }
+
+    @Benchmark
+    public List<PersonalRecord> personalRecordsRebuild(Dataset dataset) {
+        return personalRecordIndex.rebuild(dataset.nextUserId());
+    }
+
+    @Benchmark
+    public MuscleVolumeDTO muscleGroupVolume(Dataset dataset) {
+        return analyticsService.getMuscleGroupVolume(dataset.nextUserId());
+    }
+
+    @Benchmark
+    public void populationRefresh() {
+        populationDistribution.refresh();
+    }
+}
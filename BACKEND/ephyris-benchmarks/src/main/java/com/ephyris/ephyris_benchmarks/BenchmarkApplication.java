@@ -0,0 +1,57 @@
+package com.ephyris.ephyris_benchmarks;
+
+import com.ephyris.ephyris_engine.Entity.Workout;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityCalendarIndex;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.CanonicalExerciseMatcher;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.PopulationDistribution;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import com.ephyris.ephyris_engine.Service.Impl.UserExerciseNameIndex;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The slice of the engine the benchmarks exercise: entities, repositories and
+ * the analytics and matching services, on an in-memory H2 database. Web,
+ * security and scheduling stay off so only the measured code runs.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = { SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class })
+@EntityScan(basePackageClasses = Workout.class)
+@EnableJpaRepositories(basePackageClasses = WorkoutRepository.class)
+@Import({ AnalyticsServiceImplementation.class, AnalyticsCache.class, PersonalRecordIndex.class,
+        TrainingLogCache.class, ActivityCalendarIndex.class, PopulationDistribution.class,
+        CanonicalExerciseMatcher.class, UserExerciseNameIndex.class })
+public class BenchmarkApplication {
+
+    static ConfigurableApplicationContext start() {
+        // Command line arguments take precedence over the engine's
+        // application.properties, which points at Postgres
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        // Measure the loads, not cache hits
+                        "--analytics.cache.max-entries=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.thymeleaf.check-template-location=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+    }
+}
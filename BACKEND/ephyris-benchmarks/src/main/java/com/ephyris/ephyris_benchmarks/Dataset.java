@@ -0,0 +1,71 @@
+package com.ephyris.ephyris_benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Engine context plus generated history, built once per fork.
+ *
+ * Sizes are JMH parameters, so a run can be pointed at any shape with -p,
+ * e.g. -p workoutsPerUser=10000 -p users=5.
+ */
+@State(Scope.Benchmark)
+public class Dataset {
+
+    @Param("1")
+    public int users;
+
+    @Param({ "1000", "10000" })
+    public int workoutsPerUser;
+
+    @Param("6")
+    public int exercisesPerWorkout;
+
+    @Param("4")
+    public int setsPerExercise;
+
+    @Param("500")
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private List<Long> userIds;
+    private int nextUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+
+        DatasetGenerator generator = new DatasetGenerator(context.getBean(JdbcTemplate.class), 42L);
+        generator.generateCatalog(catalogSize);
+        userIds = generator.generateUsers(users, workoutsPerUser, exercisesPerWorkout, setsPerExercise);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<Long> userIds() {
+        return userIds;
+    }
+
+    // Rotates through the users so multi-user runs don't measure one user's
+    // hot rows
+    public Long nextUserId() {
+        Long userId = userIds.get(nextUser);
+        nextUser = (nextUser + 1) % userIds.size();
+        return userId;
+    }
+}
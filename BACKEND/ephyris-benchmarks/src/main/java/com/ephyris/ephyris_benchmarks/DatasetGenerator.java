@@ -0,0 +1,166 @@
+package com.ephyris.ephyris_benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a synthetic training history straight through JDBC batches, which
+ * is far quicker than going through the services for hundreds of thousands
+ * of sets.
+ *
+ * Every user gets workoutsPerUser workouts, two a day going back from today,
+ * each with exercisesPerWorkout exercises of setsPerExercise sets. Exercise
+ * names come from a fixed list of common lifts; about one in ten is logged
+ * with a typo, so users build up the near-duplicate names the history
+ * matcher has to deal with. The canonical catalog holds every lift plus
+ * filler entries up to catalogSize. The data depends only on the seed.
+ */
+public class DatasetGenerator {
+
+    // Name, muscle group, time-based
+    static final String[][] LIFTS = {
+            { "Bench Press", "Chest", "false" },
+            { "Incline Bench Press", "Chest", "false" },
+            { "Dumbbell Fly", "Chest", "false" },
+            { "Push Up", "Chest", "false" },
+            { "Chest Dip", "Chest", "false" },
+            { "Squat", "Legs", "false" },
+            { "Front Squat", "Legs", "false" },
+            { "Leg Press", "Legs", "false" },
+            { "Romanian Deadlift", "Legs", "false" },
+            { "Walking Lunge", "Legs", "false" },
+            { "Leg Curl", "Legs", "false" },
+            { "Leg Extension", "Legs", "false" },
+            { "Calf Raise", "Legs", "false" },
+            { "Deadlift", "Back", "false" },
+            { "Barbell Row", "Back", "false" },
+            { "Pull Up", "Back", "false" },
+            { "Lat Pulldown", "Back", "false" },
+            { "Seated Cable Row", "Back", "false" },
+            { "Face Pull", "Back", "false" },
+            { "Overhead Press", "Shoulders", "false" },
+            { "Lateral Raise", "Shoulders", "false" },
+            { "Rear Delt Fly", "Shoulders", "false" },
+            { "Arnold Press", "Shoulders", "false" },
+            { "Barbell Curl", "Arms", "false" },
+            { "Hammer Curl", "Arms", "false" },
+            { "Tricep Pushdown", "Arms", "false" },
+            { "Skull Crusher", "Arms", "false" },
+            { "Preacher Curl", "Arms", "false" },
+            { "Plank", "Core", "true" },
+            { "Side Plank", "Core", "true" },
+            { "Hanging Leg Raise", "Core", "false" },
+            { "Cable Crunch", "Core", "false" },
+            { "Farmer Carry", "Full Body", "true" },
+            { "Kettlebell Swing", "Full Body", "false" },
+            { "Rowing Machine", "Cardio", "true" },
+            { "Assault Bike", "Cardio", "true" },
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    private long nextWorkoutId = 1;
+    private long nextExerciseId = 1;
+    private long nextSetId = 1;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public void generateCatalog(int catalogSize) {
+        List<Object[]> canonicals = new ArrayList<>();
+        List<Object[]> aliases = new ArrayList<>();
+        List<Object[]> variations = new ArrayList<>();
+
+        int size = Math.max(catalogSize, LIFTS.length);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            String name = i < LIFTS.length ? LIFTS[i][0] : "Catalog Exercise " + id;
+            canonicals.add(new Object[] { id, name });
+            aliases.add(new Object[] { id, name.replace(" ", "") });
+            variations.add(new Object[] { id, "Paused " + name });
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO canonical_exercises (id, name) VALUES (?, ?)", canonicals);
+        jdbcTemplate.batchUpdate("INSERT INTO exercise_aliases (exercise_id, alias) VALUES (?, ?)", aliases);
+        jdbcTemplate.batchUpdate("INSERT INTO exercise_variations (exercise_id, variation) VALUES (?, ?)",
+                variations);
+    }
+
+    public List<Long> generateUsers(int users, int workoutsPerUser, int exercisesPerWorkout, int setsPerExercise) {
+        List<Long> userIds = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            long userId = u + 1;
+            jdbcTemplate.update("INSERT INTO users (id, email, name, password, created_at, membership_status) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)",
+                    userId, "bench" + userId + "@example.com", "Benchmark User " + userId, "password",
+                    Timestamp.valueOf(LocalDateTime.now()), "FREE");
+            generateHistory(userId, workoutsPerUser, exercisesPerWorkout, setsPerExercise);
+            userIds.add(userId);
+        }
+        return userIds;
+    }
+
+    private void generateHistory(long userId, int workouts, int exercisesPerWorkout, int setsPerExercise) {
+        List<Object[]> workoutRows = new ArrayList<>();
+        List<Object[]> exerciseRows = new ArrayList<>();
+        List<Object[]> setRows = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+
+        for (int w = 0; w < workouts; w++) {
+            long workoutId = nextWorkoutId++;
+            LocalDate date = today.minusDays(w / 2);
+            LocalDateTime start = date.atTime(w % 2 == 0 ? 7 : 18, 0);
+            workoutRows.add(new Object[] { workoutId, userId, "Workout " + w, Date.valueOf(date),
+                    Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(60)), true });
+
+            for (int e = 0; e < exercisesPerWorkout; e++) {
+                long exerciseId = nextExerciseId++;
+                String[] lift = LIFTS[random.nextInt(LIFTS.length)];
+                String name = random.nextInt(10) == 0 ? typo(lift[0]) : lift[0];
+                boolean timeBased = Boolean.parseBoolean(lift[2]);
+                exerciseRows.add(new Object[] { exerciseId, workoutId, name,
+                        name.toLowerCase().replaceAll("\\s+", ""), lift[1], timeBased });
+
+                for (int s = 0; s < setsPerExercise; s++) {
+                    int value = timeBased ? 30 + random.nextInt(90) : 5 + random.nextInt(8);
+                    Double weight = timeBased || random.nextInt(5) == 0 ? null : 45.0 + 5 * random.nextInt(60);
+                    setRows.add(new Object[] { nextSetId++, exerciseId, value, timeBased,
+                            random.nextInt(10) != 0, weight });
+                }
+            }
+
+            if (setRows.size() >= 10_000) {
+                flush(workoutRows, exerciseRows, setRows);
+            }
+        }
+        flush(workoutRows, exerciseRows, setRows);
+    }
+
+    private void flush(List<Object[]> workoutRows, List<Object[]> exerciseRows, List<Object[]> setRows) {
+        jdbcTemplate.batchUpdate("INSERT INTO workouts (id, user_id, workout_name, date, start_time, end_time, "
+                + "completed) VALUES (?, ?, ?, ?, ?, ?, ?)", workoutRows);
+        jdbcTemplate.batchUpdate("INSERT INTO exercises (id, workout_id, name, normalized_name, muscle_group, "
+                + "is_time_based) VALUES (?, ?, ?, ?, ?, ?)", exerciseRows);
+        jdbcTemplate.batchUpdate("INSERT INTO exercise_sets (id, exercise_id, rep_value, is_time_based, completed, "
+                + "weight) VALUES (?, ?, ?, ?, ?, ?)", setRows);
+        workoutRows.clear();
+        exerciseRows.clear();
+        setRows.clear();
+    }
+
+    // Drops one letter, the most common way a lift gets logged under a new name
+    private String typo(String name) {
+        int index = 1 + random.nextInt(name.length() - 1);
+        return name.substring(0, index) + name.substring(index + 1);
+    }
+}
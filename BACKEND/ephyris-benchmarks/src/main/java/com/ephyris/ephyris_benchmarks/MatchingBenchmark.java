@@ -0,0 +1,88 @@
+package com.ephyris.ephyris_benchmarks;
+
+import com.ephyris.ephyris_engine.Entity.CanonicalExercise;
+import com.ephyris.ephyris_engine.Service.Impl.CanonicalExerciseMatcher;
+import com.ephyris.ephyris_engine.Service.Impl.UserExerciseNameIndex;
+import com.ephyris.ephyris_engine.Service.Impl.UserExerciseNameIndex.HistoryMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercise name matching: the user history match that exercise creation and
+ * suggestions run first, and the canonical catalog lookups behind it.
+ *
+ * Inputs cycle through exact names, typos, abbreviations and names that
+ * match nothing, since misses walk the most of each structure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchingBenchmark {
+
+    private static final String[] INPUTS = {
+            "Bench Press",
+            "bench pres",
+            "Lat Pulldwn",
+            "romanian deadlifts",
+            "Squat",
+            "ohp",
+            "Zercher Squat",
+            "Turkish Get Up",
+    };
+
+    private UserExerciseNameIndex exerciseNameIndex;
+    private CanonicalExerciseMatcher canonicalMatcher;
+    private int nextInput;
+
+    @Setup(Level.Trial)
+    public void setUp(Dataset dataset) {
+        exerciseNameIndex = dataset.bean(UserExerciseNameIndex.class);
+        canonicalMatcher = dataset.bean(CanonicalExerciseMatcher.class);
+    }
+
+    private String nextInput() {
+        String input = INPUTS[nextInput];
+        nextInput = (nextInput + 1) % INPUTS.length;
+        return input;
+    }
+
+    // Per-user index already cached, the common case
+    @Benchmark
+    public Optional<HistoryMatch> historyMatch(Dataset dataset) {
+        return exerciseNameIndex.findMatch(dataset.nextUserId(), nextInput());
+    }
+
+    // First match after a delete or rename: reload the user's names, then match
+    @Benchmark
+    public Optional<HistoryMatch> historyMatchCold(Dataset dataset) {
+        Long userId = dataset.nextUserId();
+        exerciseNameIndex.onExercisesRemoved(userId);
+        return exerciseNameIndex.findMatch(userId, nextInput());
+    }
+
+    @Benchmark
+    public Optional<CanonicalExercise> canonicalFindMatch() {
+        return canonicalMatcher.findMatch(nextInput());
+    }
+
+    @Benchmark
+    public List<CanonicalExercise> canonicalSearch() {
+        return canonicalMatcher.search(nextInput().toLowerCase().replaceAll("\\s+", ""));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ephyris.ephyris_benchmarks;
+
+import com.ephyris.ephyris_engine.Service.Impl.VolumeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-set volume, the calculation every analytics path sums (the training
+ * log and the population distribution both call VolumeCalculator.setVolume).
+ * Runs over a mix of weighted, bodyweight and time-based sets so the
+ * branches are not perfectly predictable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VolumeCalculatorBenchmark {
+
+    private static final int SETS = 1024;
+
+    private final Integer[] values = new Integer[SETS];
+    private final Double[] weights = new Double[SETS];
+    private final Boolean[] timeBased = new Boolean[SETS];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        for (int i = 0; i < SETS; i++) {
+            int kind = random.nextInt(10);
+            timeBased[i] = kind == 0;
+            values[i] = kind == 0 ? 30 + random.nextInt(90) : 5 + random.nextInt(8);
+            weights[i] = kind <= 2 ? null : 45.0 + 5 * random.nextInt(60);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SETS)
+    public double setVolume() {
+        double total = 0.0;
+        for (int i = 0; i < SETS; i++) {
+            total += VolumeCalculator.setVolume(values[i], weights[i], timeBased[i]);
+        }
+        return total;
+    }
+}
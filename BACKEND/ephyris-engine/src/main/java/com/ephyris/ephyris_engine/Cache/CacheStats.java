@@ -0,0 +1,6 @@
+package com.ephyris.ephyris_engine.Cache;
+
+// Point-in-time counters for an LruTtlCache. Expired entries count as
+// evictions.
+public record CacheStats(long hits, long misses, long evictions, int size, int maxEntries) {
+}
@@ -0,0 +1,229 @@
+package com.ephyris.ephyris_engine.Cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache with least-recently-used eviction and a fixed
+ * time to live per entry.
+ *
+ * Values are loaded outside the lock so a slow load never blocks readers of
+ * other keys. Two callers missing on the same key may both load it, and the
+ * last one wins. A load that overlaps an invalidation of its key is handed
+ * to its caller but not stored, so an invalidated entry can't come back with
+ * data read before the write that invalidated it.
+ *
+ * Keys can be sorted into groups, such as all entries of one user, which are
+ * indexed so that invalidating a group costs the size of that group and only
+ * stops loads of that group, whatever else the cache holds.
+ */
+public class LruTtlCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Function<? super K, ?> groupOf;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // All guarded by this
+    private final Map<Object, Set<K>> keysByGroup = new HashMap<>();
+    private final Map<Object, List<Load<K>>> loadsByGroup = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public LruTtlCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, key -> key);
+    }
+
+    /**
+     * @param groupOf the group of a key, for {@link #invalidateGroup}
+     */
+    public LruTtlCache(int maxEntries, Duration ttl, Function<? super K, ?> groupOf) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.groupOf = groupOf;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruTtlCache.this.maxEntries) {
+                    evictions++;
+                    unindex(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    // A load in flight; invalidating its key while it runs marks it stale
+    private static final class Load<K> {
+        final K key;
+        boolean stale;
+
+        Load(K key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Returns the cached value for the key, loading and storing it on a miss.
+     */
+    public V get(K key, Supplier<V> loader) {
+        Object group = groupOf.apply(key);
+        Load<K> load;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.expiresAt() < 0) {
+                    hits++;
+                    return entry.value();
+                }
+                remove(key);
+                evictions++;
+            }
+            misses++;
+            load = new Load<>(key);
+            loadsByGroup.computeIfAbsent(group, g -> new ArrayList<>(1)).add(load);
+        }
+
+        V value = null;
+        boolean loaded = false;
+        try {
+            value = loader.get();
+            loaded = true;
+        } finally {
+            synchronized (this) {
+                List<Load<K>> loads = loadsByGroup.get(group);
+                loads.remove(load);
+                if (loads.isEmpty()) {
+                    loadsByGroup.remove(group);
+                }
+                if (loaded && !load.stale) {
+                    // Indexed first, so an entry evicted straight away is unindexed too
+                    keysByGroup.computeIfAbsent(group, g -> new HashSet<>()).add(key);
+                    entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value without loading or touching the counters, or
+     * null if the key is absent or expired.
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || System.nanoTime() - entry.expiresAt() >= 0) {
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Drops the entry for a key. Loads of that key already in flight are not
+     * stored.
+     */
+    public synchronized void invalidate(K key) {
+        markStale(groupOf.apply(key), load -> load.key.equals(key));
+        remove(key);
+    }
+
+    /**
+     * Drops every entry of a group. Loads of the group already in flight are
+     * not stored.
+     *
+     * @return Number of entries removed
+     */
+    public synchronized int invalidateGroup(Object group) {
+        markStale(group, load -> true);
+        Set<K> keys = keysByGroup.remove(group);
+        if (keys == null) {
+            return 0;
+        }
+        entries.keySet().removeAll(keys);
+        return keys.size();
+    }
+
+    /**
+     * Drops every entry whose key matches. Loads of matching keys already in
+     * flight are not stored. Scans the whole cache; prefer
+     * {@link #invalidateGroup} where keys are grouped.
+     *
+     * @return Number of entries removed
+     */
+    public synchronized int invalidateIf(Predicate<? super K> predicate) {
+        for (List<Load<K>> loads : loadsByGroup.values()) {
+            for (Load<K> load : loads) {
+                if (predicate.test(load.key)) {
+                    load.stale = true;
+                }
+            }
+        }
+        int removed = 0;
+        for (Iterator<K> keys = entries.keySet().iterator(); keys.hasNext();) {
+            K key = keys.next();
+            if (predicate.test(key)) {
+                keys.remove();
+                unindex(key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        for (List<Load<K>> loads : loadsByGroup.values()) {
+            for (Load<K> load : loads) {
+                load.stale = true;
+            }
+        }
+        entries.clear();
+        keysByGroup.clear();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, entries.size(), maxEntries);
+    }
+
+    private void markStale(Object group, Predicate<Load<K>> predicate) {
+        List<Load<K>> loads = loadsByGroup.get(group);
+        if (loads != null) {
+            for (Load<K> load : loads) {
+                if (predicate.test(load)) {
+                    load.stale = true;
+                }
+            }
+        }
+    }
+
+    private void remove(K key) {
+        if (entries.remove(key) != null) {
+            unindex(key);
+        }
+    }
+
+    private void unindex(K key) {
+        Object group = groupOf.apply(key);
+        Set<K> keys = keysByGroup.get(group);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByGroup.remove(group);
+        }
+    }
+}
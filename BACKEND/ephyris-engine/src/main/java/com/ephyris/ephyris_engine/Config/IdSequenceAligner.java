@@ -0,0 +1,72 @@
+package com.ephyris.ephyris_engine.Config;
+
+import com.ephyris.ephyris_engine.Entity.IdSequences;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.Map;
+
+/**
+ * Moves the id sequences past the ids already in their tables.
+ *
+ * Workouts, exercises and sets used identity columns before they moved to
+ * sequences, so on an existing Postgres database the sequences that
+ * ddl-auto creates start at 1 while the tables already hold rows. Runs once
+ * the schema is up to date (it depends on the EntityManagerFactory) and never
+ * moves a sequence backwards, so restarts and other instances are safe.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            // Other databases here are the embedded ones tests create empty
+            return;
+        }
+
+        for (Map.Entry<String, String> entry : IdSequences.BY_TABLE.entrySet()) {
+            String table = entry.getKey();
+            String sequence = entry.getValue();
+
+            // Hibernate hands out the ALLOCATION_SIZE ids ending at each value it
+            // reads, so the next value must be a full block above the max id
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval(CAST(? AS regclass), GREATEST(?, "
+                            + "(SELECT last_value FROM pg_sequences "
+                            + "WHERE schemaname = current_schema() AND sequencename = ?)))",
+                    Long.class, sequence, maxId(table) + IdSequences.ALLOCATION_SIZE, sequence);
+            log.debug("Sequence {} aligned to {}", sequence, value);
+        }
+    }
+
+    // A table name can't be a bind parameter; the driver quotes it instead
+    private long maxId(String table) {
+        return jdbcTemplate.execute((StatementCallback<Long>) statement -> {
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT COALESCE(MAX(id), 0) FROM " + statement.enquoteIdentifier(table, false))) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+    }
+}
@@ -5,33 +5,46 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
-import com.ephyris.ephyris_engine.Service.Impl.JwtService;
+import com.ephyris.ephyris_engine.Security.AuthenticatedUser;
+import com.ephyris.ephyris_engine.Security.VerifiedTokenCache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final HandlerExceptionResolver handlerExceptionResolver;
 
-    private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // Accounts granted ROLE_ADMIN, lower-cased; users have no roles otherwise
+    private final Set<String> adminEmails;
 
     public JwtAuthenticationFilter(
-            JwtService jwtService,
-            UserDetailsService userDetailsService,
-            HandlerExceptionResolver handlerExceptionResolver
+            VerifiedTokenCache verifiedTokenCache,
+            HandlerExceptionResolver handlerExceptionResolver,
+            @Value("${security.admin-emails:}") String adminEmails
     ) {
-        this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.adminEmails = Arrays.stream(adminEmails.split(","))
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     @Override
@@ -49,28 +62,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
 
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            if (userEmail != null && authentication == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (authentication == null) {
+                // Verifies the token at most once while it is cached; the
+                // principal comes from its claims, not the Users table
+                AuthenticatedUser user = verifiedTokenCache.authenticate(jwt);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (user.email() != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            user,
                             null,
-                            userDetails.getAuthorities()
+                            authoritiesOf(user)
                     );
 
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
-
-            filterChain.doFilter(request, response);
         } catch (Exception exception) {
             handlerExceptionResolver.resolveException(request, response, null, exception);
+            return;
         }
+
+        // Outside the try: only token failures belong to the resolver above,
+        // errors further down are handled where they are thrown
+        filterChain.doFilter(request, response);
+    }
+
+    private List<GrantedAuthority> authoritiesOf(AuthenticatedUser user) {
+        return adminEmails.contains(user.email().toLowerCase(Locale.ROOT))
+                ? List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                : List.of();
     }
 }
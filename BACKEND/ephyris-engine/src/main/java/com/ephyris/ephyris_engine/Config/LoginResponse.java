@@ -1,6 +1,7 @@
 package com.ephyris.ephyris_engine.Config;
 
 import com.ephyris.ephyris_engine.DataTransferObject.WorkoutDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutSummaryDTO;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,6 +22,13 @@ public class LoginResponse {
 
     private UserDTO userData;
 
+    // Most recent page of workouts
     private List<WorkoutDTO> workouts;
 
+    // Cursor for /api/workout/userWorkouts/{id}/page, null if there is nothing older
+    private String workoutsCursor;
+
+    // Set instead of workouts when logging in with mode=summary
+    private WorkoutSummaryDTO summary;
+
 }
@@ -0,0 +1,10 @@
+package com.ephyris.ephyris_engine.Config;
+
+// Work was turned away because a bounded executor is saturated. Answered
+// with 503 so clients back off and retry.
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+}
@@ -1,15 +1,20 @@
 package com.ephyris.ephyris_engine.Contorller;
 
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsDashboard;
 import com.ephyris.ephyris_engine.Service.Impl.AnalyticsServiceImplementation;
 import com.ephyris.ephyris_engine.DataTransferObject.ConsistencyInsightDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.DashboardDTO;
 import com.ephyris.ephyris_engine.DataTransferObject.PersonalRecordDTO;
 import com.ephyris.ephyris_engine.DataTransferObject.WeeklyVolumeDTO;
 import com.ephyris.ephyris_engine.DataTransferObject.MuscleVolumeDTO;
+import com.ephyris.ephyris_engine.Security.AuthenticatedUser;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.AccessDeniedException;
 import java.util.List;
 import java.util.Map;
 
@@ -19,15 +24,34 @@ import java.util.Map;
 public class AnalyticsController {
 
     private final AnalyticsServiceImplementation analyticsService;
+    private final AnalyticsDashboard analyticsDashboard;
 
-    public AnalyticsController(AnalyticsServiceImplementation analyticsService) {
+    public AnalyticsController(AnalyticsServiceImplementation analyticsService,
+            AnalyticsDashboard analyticsDashboard) {
         this.analyticsService = analyticsService;
+        this.analyticsDashboard = analyticsDashboard;
+    }
+
+    // Every metric below plus workout statistics, in one round trip. Failures,
+    // including 503 when the dashboard pool is saturated, are mapped by
+    // RestExceptionHandler.
+    @GetMapping("/dashboard/{userId}")
+    public ResponseEntity<Object> getDashboard(
+            @PathVariable Long userId,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "7") int weeksBack) throws Exception {
+        userId = user.resolve(userId);
+
+        DashboardDTO dashboard = analyticsDashboard.getDashboard(userId, weeksBack);
+        return new ResponseEntity<Object>(dashboard, HttpStatus.OK);
     }
 
     @GetMapping("/workouts-per-week/{userId}")
     public ResponseEntity<Object> getWorkoutsPerWeek(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "7") int weeksBack) {
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "7") int weeksBack) throws AccessDeniedException {
+        userId = user.resolve(userId);
 
         try {
             Map<Integer, Long> workoutsPerWeek = analyticsService.getWorkoutsPerWeekOfYear(userId, weeksBack);
@@ -41,7 +65,9 @@ public class AnalyticsController {
     @GetMapping("/consistency-insight/{userId}")
     public ResponseEntity<Object> getConsistencyInsight(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "7") int weeksBack) {
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "7") int weeksBack) throws AccessDeniedException {
+        userId = user.resolve(userId);
 
         try {
             ConsistencyInsightDTO consistencyInsight = analyticsService.getConsistencyInsight(userId, weeksBack);
@@ -53,7 +79,10 @@ public class AnalyticsController {
     }
 
     @GetMapping("/daily-workouts/{userId}")
-    public ResponseEntity<Object> getDailyWorkoutsForCurrentWeek(@PathVariable Long userId) {
+    public ResponseEntity<Object> getDailyWorkoutsForCurrentWeek(@PathVariable Long userId,
+            @AuthenticationPrincipal AuthenticatedUser user) throws AccessDeniedException {
+        userId = user.resolve(userId);
+
         try {
             List<Integer> dailyWorkouts = analyticsService.getDailyWorkoutsForCurrentWeek(userId);
             return new ResponseEntity<Object>(dailyWorkouts, HttpStatus.OK);
@@ -64,7 +93,10 @@ public class AnalyticsController {
     }
 
     @GetMapping("/personal-records/{userId}")
-    public ResponseEntity<Object> getPersonalRecords(@PathVariable Long userId) {
+    public ResponseEntity<Object> getPersonalRecords(@PathVariable Long userId,
+            @AuthenticationPrincipal AuthenticatedUser user) throws AccessDeniedException {
+        userId = user.resolve(userId);
+
         try {
             List<PersonalRecordDTO> personalRecords = analyticsService.getPersonalRecords(userId);
             return new ResponseEntity<Object>(personalRecords, HttpStatus.OK);
@@ -77,7 +109,10 @@ public class AnalyticsController {
     @GetMapping("/weekly-volume/{userId}")
     public ResponseEntity<Object> getWeeklyVolume(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "7") int weeksBack) {
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "7") int weeksBack) throws AccessDeniedException {
+        userId = user.resolve(userId);
+
         try {
             List<WeeklyVolumeDTO> weeklyVolume = analyticsService.getWeeklyVolume(userId, weeksBack);
             return new ResponseEntity<Object>(weeklyVolume, HttpStatus.OK);
@@ -88,7 +123,10 @@ public class AnalyticsController {
     }
 
     @GetMapping("/muscle-volume/{userId}")
-    public ResponseEntity<Object> getMuscleGroupVolume(@PathVariable Long userId) {
+    public ResponseEntity<Object> getMuscleGroupVolume(@PathVariable Long userId,
+            @AuthenticationPrincipal AuthenticatedUser user) throws AccessDeniedException {
+        userId = user.resolve(userId);
+
         try {
             MuscleVolumeDTO muscleVolume = analyticsService.getMuscleGroupVolume(userId);
             return new ResponseEntity<Object>(muscleVolume, HttpStatus.OK);
@@ -97,4 +135,4 @@ public class AnalyticsController {
                     HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+}
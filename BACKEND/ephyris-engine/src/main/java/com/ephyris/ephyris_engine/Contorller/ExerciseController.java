@@ -8,9 +8,11 @@ import com.ephyris.ephyris_engine.DataTransferObject.ExerciseDTO;
 import com.ephyris.ephyris_engine.DataTransferObject.ExerciseSuggestionDTO;
 import com.ephyris.ephyris_engine.Mapper.ExerciseMapper;
 import com.ephyris.ephyris_engine.Mapper.ExerciseSetMapper;
+import com.ephyris.ephyris_engine.Security.AuthenticatedUser;
 import com.ephyris.ephyris_engine.Service.Impl.ExerciseServiceImplementation;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,9 +32,11 @@ public class ExerciseController {
     }
 
     @PostMapping("/create")
-    ResponseEntity<Object> createExercise(@RequestBody ExerciseCreateDTO exercise) throws AccessDeniedException {
+    ResponseEntity<Object> createExercise(@RequestBody ExerciseCreateDTO exercise, @AuthenticationPrincipal AuthenticatedUser user)
+            throws AccessDeniedException {
 
-        ExerciseDTO processedExercise = exerciseService.createExercise(exercise.getExercise(), exercise.getUserId());
+        ExerciseDTO processedExercise = exerciseService.createExercise(exercise.getExercise(),
+                user.resolve(exercise.getUserId()));
         createExerciseResponse exResp = new createExerciseResponse();
         exResp.setNewExercise(processedExercise);
         return new ResponseEntity<Object>(exResp, HttpStatus.CREATED);
@@ -42,35 +46,38 @@ public class ExerciseController {
     @GetMapping("/suggestions")
     public ResponseEntity<List<ExerciseSuggestionDTO>> getSuggestions(
             @RequestParam String input,
-            @RequestHeader("User-Id") Long userId // Assuming user ID comes from header
-    ) {
-        return ResponseEntity.ok(exerciseService.getSuggestions(input, userId));
+            @RequestHeader(value = "User-Id", required = false) Long userId,
+            @AuthenticationPrincipal AuthenticatedUser user) throws AccessDeniedException {
+        return ResponseEntity.ok(exerciseService.getSuggestions(input, user.resolve(userId)));
     }
 
     @GetMapping("/workoutExercises/{workoutId}")
-    ResponseEntity<Object> getExercisesForWorkout(@PathVariable Long workoutId, @RequestParam Long userId) {
+    ResponseEntity<Object> getExercisesForWorkout(@PathVariable Long workoutId,
+            @RequestParam(required = false) Long userId, @AuthenticationPrincipal AuthenticatedUser user) throws AccessDeniedException {
 
-        List<ExerciseDTO> exercises = exerciseService.getExercisesByWorkoutId(workoutId, userId);
+        List<ExerciseDTO> exercises = exerciseService.getExercisesByWorkoutId(workoutId, user.resolve(userId));
 
         return new ResponseEntity<Object>(exercises, HttpStatus.OK);
     }
 
     @PutMapping("/update")
-    ResponseEntity<Object> updateExercise(@RequestBody ExerciseUpdateDTO exerciseUpdateDTO)
+    ResponseEntity<Object> updateExercise(@RequestBody ExerciseUpdateDTO exerciseUpdateDTO,
+            @AuthenticationPrincipal AuthenticatedUser user)
             throws AccessDeniedException {
 
-        exerciseService.updateExercise(exerciseUpdateDTO.getUserId(),
+        exerciseService.updateExercise(user.resolve(exerciseUpdateDTO.getUserId()),
                 exerciseUpdateDTO.getExerciseDTO());
 
         return new ResponseEntity<Object>("Exercise Updated", HttpStatus.OK);
     }
 
     @DeleteMapping("/delete")
-    ResponseEntity<Object> deleteExercise(@RequestBody ExerciseDeleteDTO exerciseDeleteDTO)
+    ResponseEntity<Object> deleteExercise(@RequestBody ExerciseDeleteDTO exerciseDeleteDTO,
+            @AuthenticationPrincipal AuthenticatedUser user)
             throws AccessDeniedException {
         exerciseService
                 .deleteExercise(exerciseDeleteDTO.getExerciseId(),
-                        exerciseDeleteDTO.getUserId());
+                        user.resolve(exerciseDeleteDTO.getUserId()));
 
         return new ResponseEntity<Object>("Exercise Deleted", HttpStatus.OK);
     }
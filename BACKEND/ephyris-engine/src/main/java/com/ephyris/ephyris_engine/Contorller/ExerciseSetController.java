@@ -2,9 +2,11 @@ package com.ephyris.ephyris_engine.Contorller;
 
 import com.ephyris.ephyris_engine.Contorller.WrapperDTOs.*;
 import com.ephyris.ephyris_engine.DataTransferObject.ExerciseSetDTO;
+import com.ephyris.ephyris_engine.Security.AuthenticatedUser;
 import com.ephyris.ephyris_engine.Service.Impl.ExerciseSetServiceImplementation;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,40 +25,44 @@ public class ExerciseSetController {
     }
 
     @PostMapping("/create")
-    public ResponseEntity<Object> createSet(@RequestBody ExerciseSetCreateDTO exerciseSetCreateDTO)
+    public ResponseEntity<Object> createSet(@RequestBody ExerciseSetCreateDTO exerciseSetCreateDTO,
+            @AuthenticationPrincipal AuthenticatedUser user)
             throws AccessDeniedException {
 
         ExerciseSetDTO newExerciseSet = exerciseSetService.createExerciseSet(
                 exerciseSetCreateDTO.getExerciseSetDTO(),
-                exerciseSetCreateDTO.getUserId());
+                user.resolve(exerciseSetCreateDTO.getUserId()));
 
         return new ResponseEntity<Object>(newExerciseSet, HttpStatus.CREATED);
 
     }
 
     @GetMapping("/exerciseSets/{exerciseId}")
-    public ResponseEntity<Object> getExerciseSets(@PathVariable Long exerciseId, @RequestParam Long userId)
+    public ResponseEntity<Object> getExerciseSets(@PathVariable Long exerciseId,
+            @RequestParam(required = false) Long userId, @AuthenticationPrincipal AuthenticatedUser user)
             throws AccessDeniedException {
-        List<ExerciseSetDTO> sets = exerciseSetService.getExerciseSetsByExerciseId(exerciseId, userId);
+        List<ExerciseSetDTO> sets = exerciseSetService.getExerciseSetsByExerciseId(exerciseId, user.resolve(userId));
 
         return new ResponseEntity<Object>(sets, HttpStatus.OK);
     }
 
     @PutMapping("/update")
-    public ResponseEntity<Object> updateExerciseSet(@RequestBody ExerciseSetUpdateDTO exerciseSetUpdateDTO)
+    public ResponseEntity<Object> updateExerciseSet(@RequestBody ExerciseSetUpdateDTO exerciseSetUpdateDTO,
+            @AuthenticationPrincipal AuthenticatedUser user)
             throws AccessDeniedException {
-        exerciseSetService.updateExerciseSet(exerciseSetUpdateDTO.getUserId(),
+        exerciseSetService.updateExerciseSet(user.resolve(exerciseSetUpdateDTO.getUserId()),
                 exerciseSetUpdateDTO.getExerciseSetDTO());
 
         return new ResponseEntity<Object>("Exercise Updated", HttpStatus.OK);
     }
 
     @DeleteMapping("/delete")
-    ResponseEntity<Object> deleteExercise(@RequestBody ExerciseSetDeleteDTO exerciseSetDeleteDTO)
+    ResponseEntity<Object> deleteExercise(@RequestBody ExerciseSetDeleteDTO exerciseSetDeleteDTO,
+            @AuthenticationPrincipal AuthenticatedUser user)
             throws AccessDeniedException {
         exerciseSetService
                 .deleteExerciseSet(exerciseSetDeleteDTO.getExerciseSetId(),
-                        exerciseSetDeleteDTO.getUserId());
+                        user.resolve(exerciseSetDeleteDTO.getUserId()));
 
         return new ResponseEntity<Object>("Set Deleted Successfully", HttpStatus.OK);
     }
@@ -0,0 +1,65 @@
+package com.ephyris.ephyris_engine.Contorller;
+
+import com.ephyris.ephyris_engine.Cache.CacheStats;
+import com.ephyris.ephyris_engine.Executor.ExecutorStats;
+import com.ephyris.ephyris_engine.Security.PasswordHashingExecutor;
+import com.ephyris.ephyris_engine.Security.VerifiedTokenCache;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsDashboard;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/metrics")
+@Controller
+public class MetricsController {
+
+    private final AnalyticsCache analyticsCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final TrainingLogCache trainingLogCache;
+    private final AnalyticsDashboard analyticsDashboard;
+
+    public MetricsController(AnalyticsCache analyticsCache, VerifiedTokenCache verifiedTokenCache,
+            PasswordHashingExecutor hashingExecutor, TrainingLogCache trainingLogCache,
+            AnalyticsDashboard analyticsDashboard) {
+        this.analyticsCache = analyticsCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.hashingExecutor = hashingExecutor;
+        this.trainingLogCache = trainingLogCache;
+        this.analyticsDashboard = analyticsDashboard;
+    }
+
+    @GetMapping("/analytics-cache")
+    public ResponseEntity<Object> getAnalyticsCacheStats() {
+        CacheStats stats = analyticsCache.stats();
+        return new ResponseEntity<Object>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping("/training-log-cache")
+    public ResponseEntity<Object> getTrainingLogCacheStats() {
+        CacheStats stats = trainingLogCache.stats();
+        return new ResponseEntity<Object>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping("/token-cache")
+    public ResponseEntity<Object> getTokenCacheStats() {
+        CacheStats stats = verifiedTokenCache.stats();
+        return new ResponseEntity<Object>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Object> getPasswordHashingStats() {
+        ExecutorStats stats = hashingExecutor.stats();
+        return new ResponseEntity<Object>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping("/dashboard-executor")
+    public ResponseEntity<Object> getDashboardExecutorStats() {
+        ExecutorStats stats = analyticsDashboard.stats();
+        return new ResponseEntity<Object>(stats, HttpStatus.OK);
+    }
+}
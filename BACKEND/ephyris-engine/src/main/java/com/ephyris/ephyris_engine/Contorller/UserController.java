@@ -2,10 +2,13 @@ package com.ephyris.ephyris_engine.Contorller;
 
 import com.ephyris.ephyris_engine.Config.ApiResponse;
 import com.ephyris.ephyris_engine.Config.LoginResponse;
+import com.ephyris.ephyris_engine.Config.RestExceptionHandler;
+import com.ephyris.ephyris_engine.Config.ServiceBusyException;
 import com.ephyris.ephyris_engine.Contorller.WrapperDTOs.LoginUserDto;
 import com.ephyris.ephyris_engine.DataTransferObject.UserDTO;
-import com.ephyris.ephyris_engine.DataTransferObject.WorkoutDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutPageDTO;
 import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Security.VerifiedTokenCache;
 import com.ephyris.ephyris_engine.Service.Impl.JwtService;
 import com.ephyris.ephyris_engine.Service.Impl.UserServiceImplementation;
 import com.ephyris.ephyris_engine.Service.Impl.ExerciseServiceImplementation;
@@ -13,32 +16,39 @@ import com.ephyris.ephyris_engine.Service.Impl.ExerciseSetServiceImplementation;
 import com.ephyris.ephyris_engine.Service.Impl.WorkoutServiceImplementation;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import jakarta.validation.Valid;
 import com.ephyris.ephyris_engine.Mapper.UserMapper;
 
 import java.nio.file.AccessDeniedException;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/auth")
 @Controller
 public class UserController {
 
+    private static final String LOGIN_MODE_PAGE = "page";
+    private static final String LOGIN_MODE_SUMMARY = "summary";
+
     private final JwtService jwtService;
     private final UserServiceImplementation userImpl;
     private final WorkoutServiceImplementation wService;
 
     private final UserMapper userMapper;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     public UserController(JwtService jwtService, UserServiceImplementation userImpl,
             WorkoutServiceImplementation wService, ExerciseServiceImplementation eService,
-            ExerciseSetServiceImplementation eSetService, UserMapper userMapper) {
+            ExerciseSetServiceImplementation eSetService, UserMapper userMapper,
+            VerifiedTokenCache verifiedTokenCache) {
         this.jwtService = jwtService;
         this.userImpl = userImpl;
         this.wService = wService;
         this.userMapper = userMapper;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @GetMapping("/index")
@@ -60,6 +70,11 @@ public class UserController {
                 return new ResponseEntity<>(response, HttpStatus.CONFLICT);
             }
 
+        } catch (ServiceBusyException e) {
+            ApiResponse response = new ApiResponse(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RestExceptionHandler.RETRY_AFTER_SECONDS)
+                    .body(response);
         } catch (Exception e) {
             ApiResponse response = new ApiResponse("Failed to register user: " + e.getMessage(),
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -68,25 +83,40 @@ public class UserController {
 
     }
 
+    // mode=summary answers with counts, last workout and streak instead of the
+    // first page of history, so login costs the same for any account age
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginUserDto request) throws AccessDeniedException {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginUserDto request,
+            @RequestParam(defaultValue = LOGIN_MODE_PAGE) String mode) throws AccessDeniedException {
         User authenticatedUser = userImpl.login(request);
 
         String jwtToken = jwtService.generateToken(authenticatedUser);
 
-        List<WorkoutDTO> workouts = wService.getWorkoutsByUserId(authenticatedUser.getId());
-
         LoginResponse loginResponse = new LoginResponse();
         loginResponse.setToken(jwtToken);
         loginResponse.setExpiresIn(jwtService.getExpirationTime());
         loginResponse.setUserData(userMapper.toDTOWithoutPassword(authenticatedUser));
-        loginResponse.setWorkouts(workouts);
+
+        if (LOGIN_MODE_SUMMARY.equals(mode)) {
+            loginResponse.setSummary(wService.getWorkoutSummary(authenticatedUser.getId()));
+        } else {
+            // Only the most recent page; the app pages further back with the cursor
+            WorkoutPageDTO workouts = wService.getWorkoutPageByUserId(authenticatedUser.getId(), null,
+                    WorkoutServiceImplementation.DEFAULT_PAGE_SIZE);
+            loginResponse.setWorkouts(workouts.getWorkouts());
+            loginResponse.setWorkoutsCursor(workouts.getNextCursor());
+        }
 
         return ResponseEntity.ok(loginResponse);
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Object> logout(@Valid @RequestBody UserDTO request) {
+    public ResponseEntity<Object> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        // The token stops working now instead of at its expiry
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            verifiedTokenCache.revoke(authHeader.substring(7));
+        }
         return new ResponseEntity<>("logout successful", HttpStatus.OK);
     };
 
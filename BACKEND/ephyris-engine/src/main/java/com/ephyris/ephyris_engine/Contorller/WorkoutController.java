@@ -4,10 +4,13 @@ import com.ephyris.ephyris_engine.Config.createWorkoutResponse;
 import com.ephyris.ephyris_engine.Contorller.WrapperDTOs.WorkoutDeleteDTO;
 import com.ephyris.ephyris_engine.Contorller.WrapperDTOs.WorkoutUpdateDTO;
 import com.ephyris.ephyris_engine.DataTransferObject.WorkoutDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutPageDTO;
 import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Security.AuthenticatedUser;
 import com.ephyris.ephyris_engine.Service.Impl.WorkoutServiceImplementation;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,8 +32,9 @@ public class WorkoutController {
     }
 
     @PostMapping("/create")
-    public ResponseEntity<Object> createWorkout(@RequestBody WorkoutDTO workoutDTO) throws AccessDeniedException {
-        WorkoutDTO newWorkout = workoutService.createWorkout(workoutDTO, workoutDTO.getUserId());
+    public ResponseEntity<Object> createWorkout(@RequestBody WorkoutDTO workoutDTO, @AuthenticationPrincipal AuthenticatedUser user)
+            throws AccessDeniedException {
+        WorkoutDTO newWorkout = workoutService.createWorkout(workoutDTO, user.resolve(workoutDTO.getUserId()));
 
         createWorkoutResponse cwResponse = new createWorkoutResponse();
 
@@ -39,36 +43,51 @@ public class WorkoutController {
     }
 
     @PutMapping("/update")
-    public ResponseEntity<Object> updateWorkout(@RequestBody WorkoutUpdateDTO workoutUpdateDTO)
-            throws AccessDeniedException {
+    public ResponseEntity<Object> updateWorkout(@RequestBody WorkoutUpdateDTO workoutUpdateDTO,
+            @AuthenticationPrincipal AuthenticatedUser user) throws AccessDeniedException {
 
         workoutService.updateWorkout(workoutUpdateDTO.getWorkoutId(),
-                workoutUpdateDTO.getUserId(),
+                user.resolve(workoutUpdateDTO.getUserId()),
                 workoutUpdateDTO.getWorkoutDTO());
         return new ResponseEntity<Object>("Workout Updated", HttpStatus.OK);
 
     }
 
     @GetMapping("/userWorkouts/{id}")
-    public ResponseEntity<Object> getUserWorkouts(@PathVariable Long id) throws AccessDeniedException {
+    public ResponseEntity<Object> getUserWorkouts(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user)
+            throws AccessDeniedException {
 
-        List<WorkoutDTO> workouts = workoutService.getWorkoutsByUserId(id);
+        List<WorkoutDTO> workouts = workoutService.getWorkoutsByUserId(user.resolve(id));
 
         return new ResponseEntity<Object>(workouts, HttpStatus.OK);
     }
 
+    @GetMapping("/userWorkouts/{id}/page")
+    public ResponseEntity<Object> getUserWorkoutPage(@PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + WorkoutServiceImplementation.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal AuthenticatedUser user)
+            throws AccessDeniedException {
+
+        WorkoutPageDTO page = workoutService.getWorkoutPageByUserId(user.resolve(id), cursor, limit);
+
+        return new ResponseEntity<Object>(page, HttpStatus.OK);
+    }
+
     @GetMapping("/userWorkouts/{id}/{period}")
-    public ResponseEntity<Object> getUserWorkoutsByPeriod(@PathVariable Long id, @PathVariable String period)
+    public ResponseEntity<Object> getUserWorkoutsByPeriod(@PathVariable Long id, @PathVariable String period,
+            @AuthenticationPrincipal AuthenticatedUser user)
             throws AccessDeniedException {
-        List<WorkoutDTO> workouts = workoutService.getWorkoutsByPeriod(id, period);
+        List<WorkoutDTO> workouts = workoutService.getWorkoutsByPeriod(user.resolve(id), period);
         return new ResponseEntity<Object>(workouts, HttpStatus.OK);
     }
 
     @DeleteMapping("/deleteWorkout")
-    public ResponseEntity<Object> deleteWorkout(@RequestBody WorkoutDeleteDTO workoutDelete)
+    public ResponseEntity<Object> deleteWorkout(@RequestBody WorkoutDeleteDTO workoutDelete,
+            @AuthenticationPrincipal AuthenticatedUser user)
             throws AccessDeniedException {
 
-        workoutService.deleteWorkout(workoutDelete.getWorkoutId(), workoutDelete.getUserId());
+        workoutService.deleteWorkout(workoutDelete.getWorkoutId(), user.resolve(workoutDelete.getUserId()));
 
         return new ResponseEntity<>("Workout Deleted", HttpStatus.OK);
     }
@@ -7,6 +7,8 @@ public class ConsistencyInsightDTO {
     private String summary;
     private int percentile;
     private int streakDays;
+    private int longestStreakDays;
+    private int activeDays;
     private String patternFindings;
     private String recommendation;
     private List<Integer> weeklyFrequency;
@@ -19,12 +21,14 @@ public class ConsistencyInsightDTO {
 
     // Constructor with all fields
     public ConsistencyInsightDTO(String title, String summary, int percentile, int streakDays,
-            String patternFindings, String recommendation,
+            int longestStreakDays, int activeDays, String patternFindings, String recommendation,
             List<Integer> weeklyFrequency, List<Integer> dailyWorkouts, int consistencyScore) {
         this.title = title;
         this.summary = summary;
         this.percentile = percentile;
         this.streakDays = streakDays;
+        this.longestStreakDays = longestStreakDays;
+        this.activeDays = activeDays;
         this.patternFindings = patternFindings;
         this.recommendation = recommendation;
         this.weeklyFrequency = weeklyFrequency;
@@ -65,6 +69,22 @@ public class ConsistencyInsightDTO {
         this.streakDays = streakDays;
     }
 
+    public int getLongestStreakDays() {
+        return longestStreakDays;
+    }
+
+    public void setLongestStreakDays(int longestStreakDays) {
+        this.longestStreakDays = longestStreakDays;
+    }
+
+    public int getActiveDays() {
+        return activeDays;
+    }
+
+    public void setActiveDays(int activeDays) {
+        this.activeDays = activeDays;
+    }
+
     public String getPatternFindings() {
         return patternFindings;
     }
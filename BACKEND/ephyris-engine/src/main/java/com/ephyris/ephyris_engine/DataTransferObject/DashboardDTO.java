@@ -0,0 +1,24 @@
+package com.ephyris.ephyris_engine.DataTransferObject;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+// Everything the analytics screen shows, in one response. Each field is what
+// the matching /api/analytics endpoint returns for the same user and range.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+    private Map<Integer, Long> workoutsPerWeek;
+    private ConsistencyInsightDTO consistencyInsight;
+    private List<PersonalRecordDTO> personalRecords;
+    private List<WeeklyVolumeDTO> weeklyVolume;
+    private MuscleVolumeDTO muscleVolume;
+    private Map<String, Object> statistics; // Completed workouts over the same weeks
+}
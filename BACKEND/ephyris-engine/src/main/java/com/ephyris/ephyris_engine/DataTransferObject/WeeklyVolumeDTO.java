@@ -4,16 +4,18 @@ public class WeeklyVolumeDTO {
     private String week;
     private double volume;
     private double changeFromPreviousWeek;
+    private int percentile;
 
     // Default constructor
     public WeeklyVolumeDTO() {
     }
 
     // Constructor with all fields
-    public WeeklyVolumeDTO(String week, double volume, double changeFromPreviousWeek) {
+    public WeeklyVolumeDTO(String week, double volume, double changeFromPreviousWeek, int percentile) {
         this.week = week;
         this.volume = volume;
         this.changeFromPreviousWeek = changeFromPreviousWeek;
+        this.percentile = percentile;
     }
 
     // Getters and Setters
@@ -40,4 +42,12 @@ public class WeeklyVolumeDTO {
     public void setChangeFromPreviousWeek(double changeFromPreviousWeek) {
         this.changeFromPreviousWeek = changeFromPreviousWeek;
     }
+
+    public int getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(int percentile) {
+        this.percentile = percentile;
+    }
 }
\ No newline at end of file
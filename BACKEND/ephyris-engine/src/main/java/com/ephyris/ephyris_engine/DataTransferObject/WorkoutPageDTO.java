@@ -0,0 +1,18 @@
+package com.ephyris.ephyris_engine.DataTransferObject;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutPageDTO {
+    private List<WorkoutDTO> workouts; // Newest first
+    private String nextCursor; // Pass back to fetch the next page, null on the last page
+    private boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.ephyris.ephyris_engine.DataTransferObject;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutSummaryDTO {
+    private long totalWorkouts;
+    private long completedWorkouts;
+    private Long lastWorkoutId; // Null until the user logs a workout
+    private String lastWorkoutName;
+    private LocalDate lastWorkoutDate;
+    private int currentStreak; // Consecutive days with a workout, ending today
+}
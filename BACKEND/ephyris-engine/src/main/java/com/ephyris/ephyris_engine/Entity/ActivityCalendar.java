@@ -0,0 +1,49 @@
+package com.ephyris.ephyris_engine.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// One year of a user's training days as a bitset: bit dayOfYear - 1 is set
+// when the user logged at least one workout that day. Maintained by
+// ActivityCalendarIndex as workouts are created and deleted, and rebuilt
+// nightly to repair any drift.
+@Entity
+@Table(name = "activity_calendars", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id",
+        "calendar_year" }))
+@Getter
+@Setter
+public class ActivityCalendar {
+
+    // 366 bits, little-endian as in java.util.BitSet.toByteArray
+    public static final int DAYS_LENGTH = 46;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "calendar_year", nullable = false)
+    private int year;
+
+    @Column(nullable = false, length = DAYS_LENGTH)
+    private byte[] days = new byte[DAYS_LENGTH];
+
+    public boolean isActive(LocalDate date) {
+        int bit = date.getDayOfYear() - 1;
+        return (days[bit >> 3] & (1 << (bit & 7))) != 0;
+    }
+
+    public void setActive(LocalDate date, boolean active) {
+        int bit = date.getDayOfYear() - 1;
+        if (active) {
+            days[bit >> 3] |= (byte) (1 << (bit & 7));
+        } else {
+            days[bit >> 3] &= (byte) ~(1 << (bit & 7));
+        }
+    }
+}
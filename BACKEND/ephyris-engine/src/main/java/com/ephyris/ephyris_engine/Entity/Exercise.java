@@ -13,7 +13,9 @@ import java.util.List;
 public class Exercise {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercises_seq")
+    @SequenceGenerator(name = "exercises_seq", sequenceName = "exercises_seq",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -11,7 +11,9 @@ import lombok.ToString;
 @Setter
 public class ExerciseSet {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercise_sets_seq")
+    @SequenceGenerator(name = "exercise_sets_seq", sequenceName = "exercise_sets_seq",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ToString.Exclude
@@ -0,0 +1,24 @@
+package com.ephyris.ephyris_engine.Entity;
+
+import java.util.Map;
+
+/**
+ * Id sequences for the tables a workout is written to.
+ *
+ * Hibernate reserves ALLOCATION_SIZE ids per sequence call, so creating a
+ * workout costs one sequence call per table and its rows can go out as JDBC
+ * batches, which identity columns rule out.
+ */
+public final class IdSequences {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    // Table name -> sequence name
+    public static final Map<String, String> BY_TABLE = Map.of(
+            "workouts", "workouts_seq",
+            "exercises", "exercises_seq",
+            "exercise_sets", "exercise_sets_seq");
+
+    private IdSequences() {
+    }
+}
@@ -0,0 +1,57 @@
+package com.ephyris.ephyris_engine.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Best completed set per user and exercise name. Maintained by
+// PersonalRecordIndex whenever sets change so the personal records
+// endpoint can read it directly instead of scanning every set.
+@Entity
+@Table(name = "personal_records", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id",
+        "exercise_name" }))
+@Getter
+@Setter
+public class PersonalRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "exercise_name", nullable = false)
+    private String exerciseName;
+
+    // The set currently holding the record
+    @Column(name = "exercise_set_id", nullable = false)
+    private Long exerciseSetId;
+
+    @Column(name = "rep_value")
+    private Integer value;
+
+    private Double weight;
+
+    @Column(nullable = false)
+    private Boolean isTimeBased = false;
+
+    @Column(nullable = false)
+    private double volume;
+
+    // Date of the workout the record was set in
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ephyris.ephyris_engine.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Marks a user whose personal records have been computed from their whole
+// history. Users without it trained before PersonalRecordIndex existed; an
+// empty personal_records table alone can't tell them from users without a
+// completed set.
+@Entity
+@Table(name = "personal_record_backfills")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PersonalRecordBackfill {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime backfilledAt;
+
+    public PersonalRecordBackfill(Long userId) {
+        this.userId = userId;
+        this.backfilledAt = LocalDateTime.now();
+    }
+}
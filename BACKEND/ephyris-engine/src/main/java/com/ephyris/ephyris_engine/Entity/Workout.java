@@ -8,13 +8,17 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "workouts")
+// Backs the (date, id) keyset pagination of a user's history
+@Table(name = "workouts", indexes = @Index(name = "idx_workouts_user_date_id", columnList = "user_id, date, id"))
 @Getter
 @Setter
 public class Workout {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence so a new workout's rows can be inserted in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workouts_seq")
+    @SequenceGenerator(name = "workouts_seq", sequenceName = "workouts_seq",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -2,11 +2,11 @@ package com.ephyris.ephyris_engine;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import io.github.cdimascio.dotenv.Dotenv;
 
 @SpringBootApplication
-@ComponentScan(basePackages = { "com.ephyris.ephyris_engine" })
+@EnableScheduling
 public class EphyrisEngineApplication {
 
 	public static void main(String[] args) {
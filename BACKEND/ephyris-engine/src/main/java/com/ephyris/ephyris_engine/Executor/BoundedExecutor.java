@@ -0,0 +1,145 @@
+package com.ephyris.ephyris_engine.Executor;
+
+import com.ephyris.ephyris_engine.Config.ServiceBusyException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed pool with a bounded queue for work that must not take over the
+ * request threads.
+ *
+ * Callers block until their task is done, so the pool caps how many run at
+ * once rather than making anything asynchronous. When the queue is full, or
+ * a task has waited longer than maxQueueWait by the time a thread reaches it,
+ * the caller gets a {@link ServiceBusyException} straight away instead of
+ * queueing behind work its client has likely given up on.
+ */
+public class BoundedExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final int queueCapacity;
+    private final long maxQueueWaitNanos;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLong maxQueueWait = new AtomicLong();
+    private final AtomicLong maxRun = new AtomicLong();
+
+    public BoundedExecutor(String name, int threads, int queueCapacity, Duration maxQueueWait) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("threads and queueCapacity must be positive");
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.queueCapacity = queueCapacity;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+    }
+
+    /**
+     * Runs the task on the pool and returns its result. Exceptions the task
+     * throws reach the caller unchanged.
+     *
+     * @throws ServiceBusyException if the pool is saturated
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        return await(submit(task));
+    }
+
+    /**
+     * Queues the task without waiting for it, for callers that fan out
+     * several tasks and then {@link #await} each of them.
+     *
+     * @throws ServiceBusyException if the queue is full
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return pool.submit(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - submittedAt;
+                if (waited > maxQueueWaitNanos) {
+                    throw new ServiceBusyException("Server is busy, try again shortly");
+                }
+                try {
+                    return task.call();
+                } finally {
+                    record(waited, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Server is busy, try again shortly");
+        }
+    }
+
+    /**
+     * Waits for a task from {@link #submit} and returns its result, with
+     * the same exceptions as {@link #call}.
+     */
+    public <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ServiceBusyException) {
+                rejected.increment();
+            }
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public ExecutorStats stats() {
+        long count = completed.sum();
+        return new ExecutorStats(
+                count,
+                rejected.sum(),
+                pool.getActiveCount(),
+                pool.getQueue().size(),
+                queueCapacity,
+                count == 0 ? 0.0 : toMillis(queueWaitNanos.sum()) / count,
+                toMillis(maxQueueWait.get()),
+                count == 0 ? 0.0 : toMillis(runNanos.sum()) / count,
+                toMillis(maxRun.get()));
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void record(long waitedNanos, long ranNanos) {
+        completed.increment();
+        queueWaitNanos.add(waitedNanos);
+        runNanos.add(ranNanos);
+        maxQueueWait.accumulateAndGet(waitedNanos, Math::max);
+        maxRun.accumulateAndGet(ranNanos, Math::max);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
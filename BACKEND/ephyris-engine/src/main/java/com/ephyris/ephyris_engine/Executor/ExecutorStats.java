@@ -0,0 +1,7 @@
+package com.ephyris.ephyris_engine.Executor;
+
+// Point-in-time counters for a BoundedExecutor. Rejected counts both full
+// queues and tasks that waited past maxQueueWait.
+public record ExecutorStats(long completed, long rejected, int active, int queued, int queueCapacity,
+        double avgQueueWaitMillis, double maxQueueWaitMillis, double avgRunMillis, double maxRunMillis) {
+}
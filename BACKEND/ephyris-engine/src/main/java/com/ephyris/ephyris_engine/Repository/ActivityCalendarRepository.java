@@ -0,0 +1,25 @@
+package com.ephyris.ephyris_engine.Repository;
+
+import com.ephyris.ephyris_engine.Entity.ActivityCalendar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ActivityCalendarRepository extends JpaRepository<ActivityCalendar, Long> {
+
+    boolean existsByUserId(Long userId);
+
+    Optional<ActivityCalendar> findByUserIdAndYear(Long userId, int year);
+
+    List<ActivityCalendar> findByUserIdOrderByYearAsc(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ActivityCalendar c WHERE c.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -24,6 +24,13 @@ public interface CanonicalExerciseRepository extends JpaRepository<CanonicalExer
             "OR EXISTS (SELECT 1 FROM c.variations v WHERE LOWER(REPLACE(v, ' ', '')) LIKE LOWER(CONCAT('%', :query, '%')))")
     List<CanonicalExercise> findByNameOrVariationOrAliasContainingIgnoreCase(@Param("query") String query);
 
+    // Whole catalog with names for CanonicalExerciseMatcher
+    @Query("SELECT DISTINCT c FROM CanonicalExercise c " +
+            "LEFT JOIN FETCH c.aliases " +
+            "LEFT JOIN FETCH c.variations " +
+            "ORDER BY c.id")
+    List<CanonicalExercise> findAllWithAliasesAndVariations();
+
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM CanonicalExercise c " +
             "LEFT JOIN c.variations v " +
             "LEFT JOIN c.aliases a " +
@@ -0,0 +1,10 @@
+package com.ephyris.ephyris_engine.Repository;
+
+// Completed set with enough identity to say which set and exercise it
+// belongs to, for indexes that track individual sets.
+public interface CompletedSetView extends SetVolumeView {
+
+    Long getSetId();
+
+    String getExerciseName();
+}
@@ -0,0 +1,12 @@
+package com.ephyris.ephyris_engine.Repository;
+
+import java.time.LocalDate;
+
+// The two fields of a completed workout that workout statistics read, so
+// they don't load Workout entities with their user and exercises.
+public interface CompletedWorkoutView {
+
+    LocalDate getDate();
+
+    Integer getDuration();
+}
@@ -0,0 +1,12 @@
+package com.ephyris.ephyris_engine.Repository;
+
+import java.time.LocalDate;
+
+// Number of workouts a user logged on one day. Consistency analytics only
+// need the calendar, so they read this instead of Workout entities.
+public interface DailyWorkoutCountView {
+
+    LocalDate getDate();
+
+    Long getWorkouts();
+}
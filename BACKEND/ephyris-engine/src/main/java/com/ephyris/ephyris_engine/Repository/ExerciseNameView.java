@@ -0,0 +1,11 @@
+package com.ephyris.ephyris_engine.Repository;
+
+// Name columns of a user's exercise, for matching new names against history
+public interface ExerciseNameView {
+
+    String getNormalizedName();
+
+    String getName();
+
+    Long getCanonicalExerciseId();
+}
@@ -2,6 +2,7 @@ package com.ephyris.ephyris_engine.Repository;
 
 import com.ephyris.ephyris_engine.Entity.Exercise;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,16 @@ public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
 
         Exercise getExerciseByName(String Exercise);
 
+        // Empty unless the user owns the exercise's workout. The workout and
+        // canonical exercise come with it, so callers need no further lookups.
+        @Query("SELECT e FROM Exercise e " +
+                        "JOIN FETCH e.workout w " +
+                        "LEFT JOIN FETCH e.canonicalExercise " +
+                        "WHERE e.id = :id AND w.user.id = :userId")
+        Optional<Exercise> findByIdAndWorkoutUserId(
+                        @Param("id") Long id,
+                        @Param("userId") Long userId);
+
         @Query("SELECT e FROM Exercise e " +
                         "JOIN e.workout w " +
                         "WHERE w.user.id = :userId " +
@@ -25,9 +36,43 @@ public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
         @Query("SELECT DISTINCT e.normalizedName FROM Exercise e WHERE e.workout.user.id = :userId")
         List<String> findDistinctExerciseNamesByUserId(@Param("userId") Long userId);
 
+        // Oldest first, so later rows win when building UserExerciseNameIndex
+        @Query("SELECT e.normalizedName AS normalizedName, e.name AS name, " +
+                        "e.canonicalExercise.id AS canonicalExerciseId " +
+                        "FROM Exercise e WHERE e.workout.user.id = :userId ORDER BY e.id")
+        List<ExerciseNameView> findNamesByUserId(@Param("userId") Long userId);
+
         @Query("SELECT e FROM Exercise e WHERE e.workout.user.id = :userId AND e.muscleGroup = :muscleGroup")
         List<Exercise> findByUserIdAndMuscleGroup(Long userId, String muscleGroup);
 
+        // Workout history loading plan, step two: initializes the sets and
+        // canonical exercise of every exercise loaded by
+        // WorkoutRepository.findWithExercisesByUserId* in the same session
+        @Query("SELECT e FROM Exercise e " +
+                        "LEFT JOIN FETCH e.sets s " +
+                        "LEFT JOIN FETCH e.canonicalExercise " +
+                        "WHERE e.workout.user.id = :userId " +
+                        "ORDER BY e.id, s.id")
+        List<Exercise> findWithSetsByUserId(@Param("userId") Long userId);
+
+        @Query("SELECT e FROM Exercise e " +
+                        "LEFT JOIN FETCH e.sets s " +
+                        "LEFT JOIN FETCH e.canonicalExercise " +
+                        "WHERE e.workout.id IN :workoutIds " +
+                        "ORDER BY e.id, s.id")
+        List<Exercise> findWithSetsByWorkoutIdIn(@Param("workoutIds") List<Long> workoutIds);
+
+        @Query("SELECT e FROM Exercise e " +
+                        "LEFT JOIN FETCH e.sets s " +
+                        "LEFT JOIN FETCH e.canonicalExercise " +
+                        "WHERE e.workout.user.id = :userId " +
+                        "AND e.workout.date BETWEEN :startDate AND :endDate " +
+                        "ORDER BY e.id, s.id")
+        List<Exercise> findWithSetsByUserIdAndWorkoutDateBetween(
+                        @Param("userId") Long userId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
         /*
          * 
          * 
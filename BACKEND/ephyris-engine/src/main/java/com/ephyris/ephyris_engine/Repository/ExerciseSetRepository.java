@@ -2,10 +2,62 @@ package com.ephyris.ephyris_engine.Repository;
 
 import com.ephyris.ephyris_engine.Entity.ExerciseSet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface ExerciseSetRepository extends JpaRepository<ExerciseSet,Long> {
 
     Optional<ExerciseSet> findById(Long aLong);
+
+    // Empty unless the user owns the set's workout. Fetches the exercise and
+    // workout the mutation paths go on to use.
+    @Query("SELECT s FROM ExerciseSet s " +
+            "JOIN FETCH s.exercise e " +
+            "JOIN FETCH e.workout w " +
+            "LEFT JOIN FETCH e.canonicalExercise " +
+            "WHERE s.id = :id AND w.user.id = :userId")
+    Optional<ExerciseSet> findByIdAndExerciseWorkoutUserId(
+            @Param("id") Long id,
+            @Param("userId") Long userId);
+
+    @Query("SELECT s.id AS setId, e.name AS exerciseName, w.date AS date, e.muscleGroup AS muscleGroup, " +
+            "s.value AS value, s.weight AS weight, s.isTimeBased AS isTimeBased " +
+            "FROM ExerciseSet s JOIN s.exercise e JOIN e.workout w " +
+            "WHERE w.user.id = :userId " +
+            "AND s.completed = true " +
+            "ORDER BY s.id")
+    List<CompletedSetView> findCompletedSetsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT s.id AS setId, e.id AS exerciseId, w.date AS date, e.muscleGroup AS muscleGroup, " +
+            "s.value AS value, s.weight AS weight, s.isTimeBased AS isTimeBased " +
+            "FROM ExerciseSet s JOIN s.exercise e JOIN e.workout w " +
+            "WHERE w.user.id = :userId " +
+            "AND s.completed = true " +
+            "ORDER BY s.id")
+    List<LoggedSetView> findLoggedSetsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT s.id AS setId, e.name AS exerciseName, w.date AS date, e.muscleGroup AS muscleGroup, " +
+            "s.value AS value, s.weight AS weight, s.isTimeBased AS isTimeBased " +
+            "FROM ExerciseSet s JOIN s.exercise e JOIN e.workout w " +
+            "WHERE w.user.id = :userId " +
+            "AND e.name = :exerciseName " +
+            "AND s.completed = true " +
+            "ORDER BY s.id")
+    List<CompletedSetView> findCompletedSetsByUserIdAndExerciseName(
+            @Param("userId") Long userId,
+            @Param("exerciseName") String exerciseName);
+
+    // Completed sets of every user in a date range, for PopulationDistribution
+    @Query("SELECT w.user.id AS userId, w.date AS date, " +
+            "s.value AS value, s.weight AS weight, s.isTimeBased AS isTimeBased " +
+            "FROM ExerciseSet s JOIN s.exercise e JOIN e.workout w " +
+            "WHERE w.date BETWEEN :startDate AND :endDate " +
+            "AND s.completed = true")
+    List<UserSetVolumeView> findCompletedSetsBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 }
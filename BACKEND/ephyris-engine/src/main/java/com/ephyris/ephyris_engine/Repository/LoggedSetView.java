@@ -0,0 +1,10 @@
+package com.ephyris.ephyris_engine.Repository;
+
+// Completed set with the exercise it belongs to, the row behind each entry
+// of the in-memory TrainingLog.
+public interface LoggedSetView extends SetVolumeView {
+
+    Long getSetId();
+
+    Long getExerciseId();
+}
@@ -0,0 +1,7 @@
+package com.ephyris.ephyris_engine.Repository;
+
+import com.ephyris.ephyris_engine.Entity.PersonalRecordBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PersonalRecordBackfillRepository extends JpaRepository<PersonalRecordBackfill, Long> {
+}
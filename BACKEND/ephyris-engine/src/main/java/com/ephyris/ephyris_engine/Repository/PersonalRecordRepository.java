@@ -0,0 +1,14 @@
+package com.ephyris.ephyris_engine.Repository;
+
+import com.ephyris.ephyris_engine.Entity.PersonalRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PersonalRecordRepository extends JpaRepository<PersonalRecord, Long> {
+
+    List<PersonalRecord> findByUserIdOrderByExerciseNameAsc(Long userId);
+
+    Optional<PersonalRecord> findByUserIdAndExerciseName(Long userId, String exerciseName);
+}
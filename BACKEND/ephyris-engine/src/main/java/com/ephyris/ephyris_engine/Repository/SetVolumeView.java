@@ -0,0 +1,19 @@
+package com.ephyris.ephyris_engine.Repository;
+
+import java.time.LocalDate;
+
+// Flat projection of a completed set joined to its exercise and workout.
+// Lets analytics read the columns they need without hydrating the
+// Workout -> Exercise -> ExerciseSet entity graph.
+public interface SetVolumeView {
+
+    LocalDate getDate();
+
+    String getMuscleGroup();
+
+    Integer getValue();
+
+    Double getWeight();
+
+    Boolean getIsTimeBased();
+}
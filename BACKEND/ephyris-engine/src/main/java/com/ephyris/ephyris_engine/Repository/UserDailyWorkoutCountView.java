@@ -0,0 +1,7 @@
+package com.ephyris.ephyris_engine.Repository;
+
+// DailyWorkoutCountView for any user, for population-wide statistics
+public interface UserDailyWorkoutCountView extends DailyWorkoutCountView {
+
+    Long getUserId();
+}
@@ -0,0 +1,18 @@
+package com.ephyris.ephyris_engine.Repository;
+
+import java.time.LocalDate;
+
+// A completed set of any user, with just the columns its volume needs, for
+// population-wide statistics
+public interface UserSetVolumeView {
+
+    Long getUserId();
+
+    LocalDate getDate();
+
+    Integer getValue();
+
+    Double getWeight();
+
+    Boolean getIsTimeBased();
+}
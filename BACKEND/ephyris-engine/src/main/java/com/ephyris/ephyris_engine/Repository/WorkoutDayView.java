@@ -0,0 +1,9 @@
+package com.ephyris.ephyris_engine.Repository;
+
+// Any workout in a date range, completed or not. The analytics dashboard
+// builds both its workout calendar and its completed-workout statistics from
+// one list of these.
+public interface WorkoutDayView extends CompletedWorkoutView {
+
+    Boolean getCompleted();
+}
@@ -1,20 +1,124 @@
 package com.ephyris.ephyris_engine.Repository;
 
 import com.ephyris.ephyris_engine.Entity.Workout;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface WorkoutRepository extends JpaRepository<Workout, Long> {
     List<Workout> findByUserId(Long userId);
 
-    List<Workout> findByUserIdOrderByDateDesc(Long userId);
+    // Empty unless the user owns the workout; ownership is part of the lookup
+    Optional<Workout> findByIdAndUserId(Long id, Long userId);
+
+    // Workout history loading plan, step one: workouts with their exercises.
+    // ExerciseRepository.findWithSetsByUserId* fills in the sets and canonical
+    // exercises, so mapping a whole history costs two statements.
+    @Query("SELECT w FROM Workout w LEFT JOIN FETCH w.exercises e " +
+            "WHERE w.user.id = :userId " +
+            "ORDER BY w.date DESC, w.id DESC, e.id")
+    List<Workout> findWithExercisesByUserIdOrderByDateDesc(@Param("userId") Long userId);
 
     boolean findByNameAndUserId(String exerciseName, Long userId);
 
     List<Workout> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 
-    List<Workout> findByUserIdAndDateBetweenOrderByDateDesc(Long userId, LocalDate startDate, LocalDate endDate);
+    @Query("SELECT w.date AS date, w.duration AS duration FROM Workout w " +
+            "WHERE w.user.id = :userId " +
+            "AND w.completed = true " +
+            "AND w.date BETWEEN :startDate AND :endDate")
+    List<CompletedWorkoutView> findCompletedByUserIdAndDateBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Every workout in a range, for AnalyticsDashboard
+    @Query("SELECT w.date AS date, w.duration AS duration, w.completed AS completed FROM Workout w " +
+            "WHERE w.user.id = :userId " +
+            "AND w.date BETWEEN :startDate AND :endDate")
+    List<WorkoutDayView> findDaysByUserIdAndDateBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // One row per day with at least one workout, for DailyWorkoutHistogram
+    @Query("SELECT w.date AS date, COUNT(w) AS workouts FROM Workout w " +
+            "WHERE w.user.id = :userId " +
+            "AND w.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY w.date")
+    List<DailyWorkoutCountView> countPerDayByUserIdAndDateBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // The same per-day counts for every user at once, for PopulationDistribution
+    @Query("SELECT w.user.id AS userId, w.date AS date, COUNT(w) AS workouts FROM Workout w " +
+            "WHERE w.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY w.user.id, w.date")
+    List<UserDailyWorkoutCountView> countPerUserAndDayBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Every day the user logged a workout, for ActivityCalendarIndex
+    @Query("SELECT DISTINCT w.date FROM Workout w WHERE w.user.id = :userId")
+    List<LocalDate> findWorkoutDatesByUserId(@Param("userId") Long userId);
+
+    boolean existsByUserIdAndDate(Long userId, LocalDate date);
+
+    // Keyset pagination over (date, id), newest first. Page ids are read first
+    // so the limit applies to workouts rather than fetch-joined rows.
+    @Query("SELECT w.id FROM Workout w " +
+            "WHERE w.user.id = :userId " +
+            "ORDER BY w.date DESC, w.id DESC")
+    List<Long> findPageIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT w.id FROM Workout w " +
+            "WHERE w.user.id = :userId " +
+            "AND (w.date < :date OR (w.date = :date AND w.id < :id)) " +
+            "ORDER BY w.date DESC, w.id DESC")
+    List<Long> findPageIdsByUserIdBefore(
+            @Param("userId") Long userId,
+            @Param("date") LocalDate date,
+            @Param("id") Long id,
+            Limit limit);
+
+    @Query("SELECT w FROM Workout w LEFT JOIN FETCH w.exercises e " +
+            "WHERE w.id IN :ids " +
+            "ORDER BY w.date DESC, w.id DESC, e.id")
+    List<Workout> findWithExercisesByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT w FROM Workout w LEFT JOIN FETCH w.exercises e " +
+            "WHERE w.user.id = :userId " +
+            "AND w.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY w.date DESC, w.id DESC, e.id")
+    List<Workout> findWithExercisesByUserIdAndDateBetweenOrderByDateDesc(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Counts, last workout and current streak in one statement, computed by
+    // the database so nothing is hydrated. The streak numbers the user's
+    // distinct workout days newest first: day n of an unbroken run ending
+    // today is exactly n - 1 days ago, and after the first gap every later
+    // day falls further behind, so the run is the days where the two agree.
+    @Query("SELECT COUNT(w.id) AS totalWorkouts, " +
+            "COALESCE(SUM(CASE WHEN w.completed = true THEN 1 ELSE 0 END), 0) AS completedWorkouts, " +
+            "(SELECT l.id FROM Workout l WHERE l.user.id = :userId " +
+            "ORDER BY l.date DESC, l.id DESC LIMIT 1) AS lastWorkoutId, " +
+            "(SELECT l.name FROM Workout l WHERE l.user.id = :userId " +
+            "ORDER BY l.date DESC, l.id DESC LIMIT 1) AS lastWorkoutName, " +
+            "MAX(w.date) AS lastWorkoutDate, " +
+            "(SELECT COUNT(*) FROM (" +
+            "SELECT d.trainedOn AS trainedOn, ROW_NUMBER() OVER (ORDER BY d.trainedOn DESC) AS dayNumber " +
+            "FROM (SELECT DISTINCT x.date AS trainedOn FROM Workout x " +
+            "WHERE x.user.id = :userId AND x.date <= :today) d) r " +
+            "WHERE ((:today - r.trainedOn) BY DAY) = r.dayNumber - 1) AS currentStreak " +
+            "FROM Workout w WHERE w.user.id = :userId")
+    WorkoutSummaryView summarizeByUserId(@Param("userId") Long userId, @Param("today") LocalDate today);
 
 }
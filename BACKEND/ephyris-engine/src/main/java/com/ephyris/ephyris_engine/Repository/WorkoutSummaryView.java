@@ -0,0 +1,21 @@
+package com.ephyris.ephyris_engine.Repository;
+
+import java.time.LocalDate;
+
+// Aggregate view of a user's history for the login summary. One row however
+// many workouts the user has; the last workout columns are null without any.
+public interface WorkoutSummaryView {
+
+    Long getTotalWorkouts();
+
+    Long getCompletedWorkouts();
+
+    Long getLastWorkoutId();
+
+    String getLastWorkoutName();
+
+    LocalDate getLastWorkoutDate();
+
+    // Consecutive days with a workout, ending today
+    Long getCurrentStreak();
+}
@@ -0,0 +1,28 @@
+package com.ephyris.ephyris_engine.Security;
+
+import java.nio.file.AccessDeniedException;
+import java.security.Principal;
+
+/**
+ * Principal of a request authenticated by JWT, built from the token's signed
+ * claims rather than a Users row. Controllers take it with
+ * {@code @AuthenticationPrincipal} and services trust its id.
+ */
+public record AuthenticatedUser(Long id, String email) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * The id to act as for a request that still names a user in its path or
+     * body. Clients may only name themselves; null means "me".
+     */
+    public Long resolve(Long requestedUserId) throws AccessDeniedException {
+        if (requestedUserId != null && !requestedUserId.equals(id)) {
+            throw new AccessDeniedException("User is not allowed to act for another user");
+        }
+        return id;
+    }
+}
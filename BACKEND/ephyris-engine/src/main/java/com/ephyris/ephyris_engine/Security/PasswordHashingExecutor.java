@@ -0,0 +1,60 @@
+package com.ephyris.ephyris_engine.Security;
+
+import com.ephyris.ephyris_engine.Config.ServiceBusyException;
+import com.ephyris.ephyris_engine.Executor.BoundedExecutor;
+import com.ephyris.ephyris_engine.Executor.ExecutorStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing (login and register) on its own small pool, so a
+ * login storm queues or is turned away with 503 here instead of taking
+ * every request thread from workout logging. Defaults to one thread per core:
+ * hashing is pure CPU and more threads only add contention.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final BoundedExecutor executor;
+
+    public PasswordHashingExecutor(
+            @Value("${security.password.executor.threads:0}") int threads,
+            @Value("${security.password.executor.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.executor.max-queue-wait-ms:2000}") long maxQueueWaitMillis) {
+        this.executor = new BoundedExecutor("password-hashing",
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity, Duration.ofMillis(maxQueueWaitMillis));
+    }
+
+    /**
+     * Runs the hashing task and returns its result; its exceptions, such as
+     * bad credentials, reach the caller unchanged.
+     *
+     * @throws com.ephyris.ephyris_engine.Config.ServiceBusyException if the pool is saturated
+     */
+    public <T> T run(Supplier<T> task) {
+        try {
+            return executor.call(task::get);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            throw new ServiceBusyException("Interrupted while waiting to hash a password");
+        } catch (Exception e) {
+            // Suppliers throw nothing checked
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public ExecutorStats stats() {
+        return executor.stats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,160 @@
+package com.ephyris.ephyris_engine.Security;
+
+import com.ephyris.ephyris_engine.Entity.RevokedToken;
+import com.ephyris.ephyris_engine.Repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token ids (jti) that were logged out before they expired.
+ *
+ * Every authenticated request asks isRevoked, so the check is lock-free and
+ * allocates nothing: a bloom filter answers "no" for almost every token, and
+ * only its rare "maybe" goes on to the exact set. Revocations are written to
+ * revoked_tokens so they survive restarts; the periodic refresh drops
+ * expired entries, picks up revocations made by other instances and rebuilds
+ * the filter, which can't delete.
+ */
+@Component
+public class TokenRevocationList {
+
+    // Seven hashes at ~10 bits per entry keep false positives near 1%
+    private static final int HASHES = 7;
+    private static final int BITS_PER_ENTRY = 10;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+
+    // jti -> token expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    // Serializes writers. A lock rather than synchronized because both
+    // writers hold it across JDBC calls, which would pin a virtual thread.
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+            @Value("${security.jwt.revocation.expected-entries:10000}") int expectedEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.filter = new BloomFilter(expectedEntries);
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Revokes a token until its expiry. Tokens without a jti (issued before
+     * the claim existed) can't be revoked and stay valid until they expire.
+     */
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            revokedTokenRepository.save(new RevokedToken(jti, expiresAt.toInstant()));
+            // The exact set first, so a reader that sees the filter bit finds the entry
+            revoked.put(jti, expiresAt.getTime());
+            filter.add(jti);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-ms:60000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        Instant nowInstant = Instant.ofEpochMilli(now);
+
+        writeLock.lock();
+        try {
+            revokedTokenRepository.deleteExpired(nowInstant);
+            for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(nowInstant)) {
+                revoked.put(token.getJti(), token.getExpiresAt().toEpochMilli());
+            }
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+            BloomFilter next = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2));
+            revoked.keySet().forEach(next::add);
+            filter = next;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+
+        BloomFilter(int expectedEntries) {
+            int words = Math.max(1, (int) (((long) expectedEntries * BITS_PER_ENTRY + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * 64;
+        }
+
+        void add(String key) {
+            long h1 = hash(key);
+            long h2 = mix(h1);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                bits.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h1 = hash(key);
+            long h2 = mix(h1);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a over the chars, no intermediate byte array
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        // Second, independent-enough hash for double hashing (murmur3 finalizer)
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash | 1;
+        }
+    }
+}
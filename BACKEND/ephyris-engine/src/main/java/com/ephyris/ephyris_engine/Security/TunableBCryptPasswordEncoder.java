@@ -0,0 +1,81 @@
+package com.ephyris.ephyris_engine.Security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt at a configured work factor that treats any hash of a different
+ * cost as outdated, so raising or lowering the factor takes effect for each
+ * user at their next login (see {@code upgradeEncoding}). Spring's encoder
+ * only upgrades hashes that are too cheap, which would leave a deployment
+ * that lowers its cost paying the old price forever.
+ */
+public class TunableBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(TunableBCryptPasswordEncoder.class);
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final int strength;
+
+    public TunableBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    /**
+     * Highest work factor in [minStrength, maxStrength] whose hash fits the
+     * budget on this machine. Times one hash at the minimum and doubles from
+     * there, as each step of the factor does, so startup never pays for a
+     * slow hash.
+     */
+    public static int calibrate(Duration budget, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        // The first hash pays for class loading and JIT warm-up
+        probe.encode(CALIBRATION_PASSWORD);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long estimate = best;
+        while (strength < maxStrength && estimate * 2 <= budget.toNanos()) {
+            strength++;
+            estimate *= 2;
+        }
+
+        log.info("BCrypt work factor {} (about {} ms per hash, budget {} ms)", strength,
+                Duration.ofNanos(estimate).toMillis(), budget.toMillis());
+        return strength;
+    }
+
+    // Cost field of a $2a$/$2b$/$2y$ hash, or -1 if it isn't one
+    private static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
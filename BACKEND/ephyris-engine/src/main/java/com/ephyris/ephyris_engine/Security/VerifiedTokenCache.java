@@ -0,0 +1,102 @@
+package com.ephyris.ephyris_engine.Security;
+
+import com.ephyris.ephyris_engine.Cache.CacheStats;
+import com.ephyris.ephyris_engine.Cache.LruTtlCache;
+import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Repository.UserRepository;
+import com.ephyris.ephyris_engine.Service.Impl.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Turns bearer tokens into principals, remembering recently verified tokens.
+ *
+ * A token seen before is answered from memory without checking its signature
+ * again: only a token that verified can be in the cache, and the exact string
+ * is the key. Entries are dropped once the token itself expires, whatever is
+ * left of the cache's own time to live. Revocation is checked on every call,
+ * cached or not, against the in-memory {@link TokenRevocationList}.
+ *
+ * Principals come from the token's uid and subject claims. Tokens issued
+ * before the uid claim existed cost one user lookup when first seen.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private record VerifiedToken(AuthenticatedUser user, String jti, long expiresAtMillis) {
+    }
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+    private final TokenRevocationList revocationList;
+    private final LruTtlCache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtService jwtService, UserRepository userRepository,
+            TokenRevocationList revocationList,
+            @Value("${security.jwt.principal-cache.max-entries:10000}") int maxEntries,
+            @Value("${security.jwt.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.revocationList = revocationList;
+        this.cache = new LruTtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * @throws io.jsonwebtoken.JwtException if the token does not verify, has
+     *                                      expired or was revoked
+     * @throws UsernameNotFoundException    if a token without a uid claim names
+     *                                      no user
+     */
+    public AuthenticatedUser authenticate(String token) {
+        VerifiedToken verified = cache.get(token, () -> verify(token));
+
+        if (verified.expiresAtMillis() <= System.currentTimeMillis()) {
+            cache.invalidate(token);
+            // Fails with the same expired-token error an uncached token would
+            jwtService.parseToken(token);
+        }
+        if (revocationList.isRevoked(verified.jti())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return verified.user();
+    }
+
+    /**
+     * Revokes a token for the rest of its lifetime. Tokens that no longer
+     * verify need no revoking and are ignored.
+     */
+    public void revoke(String token) {
+        Claims claims;
+        try {
+            claims = jwtService.parseToken(token);
+        } catch (JwtException e) {
+            return;
+        }
+        revocationList.revoke(claims.getId(), claims.getExpiration());
+        cache.invalidate(token);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims claims = jwtService.parseToken(token);
+        String email = claims.getSubject();
+
+        Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            userId = user.getId();
+        }
+
+        return new VerifiedToken(new AuthenticatedUser(userId, email), claims.getId(),
+                claims.getExpiration().getTime());
+    }
+}
@@ -0,0 +1,133 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Entity.ActivityCalendar;
+import com.ephyris.ephyris_engine.Repository.ActivityCalendarRepository;
+import com.ephyris.ephyris_engine.Repository.UserRepository;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains activity_calendars: one bit per day a user logged a workout, a
+ * row per (user, year).
+ *
+ * A day is active when it has at least one workout, the same rule the
+ * consistency analytics always used. Creating a workout sets its day's bit;
+ * deleting one clears it once no other workout is left on that day. Reads
+ * load every year of the user at 46 bytes each, so streaks and active-day
+ * counts cover the whole history instead of the requested report window. A
+ * nightly rebuild recomputes every user from their workout dates to repair
+ * drift from races or writes that bypass the services.
+ */
+@Service
+public class ActivityCalendarIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityCalendarIndex.class);
+
+    private final ActivityCalendarRepository calendarRepo;
+    private final WorkoutRepository wRepo;
+    private final UserRepository userRepository;
+
+    public ActivityCalendarIndex(ActivityCalendarRepository calendarRepo, WorkoutRepository wRepo,
+            UserRepository userRepository) {
+        this.calendarRepo = calendarRepo;
+        this.wRepo = wRepo;
+        this.userRepository = userRepository;
+    }
+
+    public ActivityDays getActivity(Long userId) {
+        // Users with history from before the calendars existed are backfilled on first read
+        if (!calendarRepo.existsByUserId(userId)) {
+            rebuild(userId);
+        }
+        return ActivityDays.of(calendarRepo.findByUserIdOrderByYearAsc(userId));
+    }
+
+    // Call after the workout has been committed
+    public void onWorkoutCreated(Long userId, LocalDate date) {
+        setActive(userId, date, true);
+    }
+
+    // Call after the workout has been deleted
+    public void onWorkoutDeleted(Long userId, LocalDate date) {
+        if (wRepo.existsByUserIdAndDate(userId, date)) {
+            return;
+        }
+        setActive(userId, date, false);
+    }
+
+    private void setActive(Long userId, LocalDate date, boolean active) {
+        // Without any calendar yet the user's older days are missing too, and a
+        // rebuild picks up this write along with them
+        if (!calendarRepo.existsByUserId(userId)) {
+            rebuild(userId);
+            return;
+        }
+
+        ActivityCalendar calendar = calendarRepo.findByUserIdAndYear(userId, date.getYear()).orElse(null);
+        if (calendar == null) {
+            if (!active) {
+                return;
+            }
+            calendar = new ActivityCalendar();
+            calendar.setUserId(userId);
+            calendar.setYear(date.getYear());
+            calendar.setActive(date, true);
+            try {
+                calendarRepo.save(calendar);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Another request created the year in between, update it instead
+                calendar = calendarRepo.findByUserIdAndYear(userId, date.getYear()).orElseThrow();
+            }
+        }
+
+        if (calendar.isActive(date) == active) {
+            return;
+        }
+        calendar.setActive(date, active);
+        calendarRepo.save(calendar);
+    }
+
+    /**
+     * Recomputes a user's calendars from their workout dates.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        Map<Integer, ActivityCalendar> byYear = new TreeMap<>();
+        for (LocalDate date : wRepo.findWorkoutDatesByUserId(userId)) {
+            byYear.computeIfAbsent(date.getYear(), year -> {
+                ActivityCalendar calendar = new ActivityCalendar();
+                calendar.setUserId(userId);
+                calendar.setYear(year);
+                return calendar;
+            }).setActive(date, true);
+        }
+
+        calendarRepo.deleteByUserId(userId);
+        calendarRepo.saveAll(byYear.values());
+    }
+
+    @Scheduled(cron = "${analytics.activity.rebuild-cron:0 45 3 * * *}")
+    public void rebuildAll() {
+        List<Long> userIds = userRepository.findAllIds();
+        log.info("Rebuilding activity calendars for {} users", userIds.size());
+
+        for (Long userId : userIds) {
+            try {
+                rebuild(userId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to rebuild activity calendar for user {}", userId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Entity.ActivityCalendar;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A user's whole training history as one bit per day, stitched together from
+ * their yearly {@link ActivityCalendar}s.
+ *
+ * Streaks and active-day counts are word-wise bit scans and popcounts, so
+ * they cost the same whatever horizon is asked for and never touch workout
+ * rows. Days outside the stored years count as inactive.
+ */
+public final class ActivityDays {
+
+    private static final ActivityDays NONE = new ActivityDays(LocalDate.EPOCH, new BitSet());
+
+    private final LocalDate start;
+    private final BitSet bits;
+
+    private ActivityDays(LocalDate start, BitSet bits) {
+        this.start = start;
+        this.bits = bits;
+    }
+
+    /**
+     * @param years calendars of a single user, in ascending year order
+     */
+    public static ActivityDays of(List<ActivityCalendar> years) {
+        if (years.isEmpty()) {
+            return NONE;
+        }
+
+        LocalDate start = LocalDate.of(years.get(0).getYear(), 1, 1);
+        BitSet bits = new BitSet();
+        for (ActivityCalendar year : years) {
+            LocalDate yearStart = LocalDate.of(year.getYear(), 1, 1);
+            int offset = (int) ChronoUnit.DAYS.between(start, yearStart);
+            BitSet yearBits = BitSet.valueOf(year.getDays());
+            for (int day = yearBits.nextSetBit(0); day >= 0 && day < yearStart.lengthOfYear();
+                    day = yearBits.nextSetBit(day + 1)) {
+                bits.set(offset + day);
+            }
+        }
+        return new ActivityDays(start, bits);
+    }
+
+    public boolean isActive(LocalDate day) {
+        long index = ChronoUnit.DAYS.between(start, day);
+        return index >= 0 && index < Integer.MAX_VALUE && bits.get((int) index);
+    }
+
+    /**
+     * Consecutive active days, counting back from the given day. Zero if that
+     * day was not active.
+     */
+    public int streakEndingAt(LocalDate day) {
+        if (!isActive(day)) {
+            return 0;
+        }
+        int index = (int) ChronoUnit.DAYS.between(start, day);
+        return index - bits.previousClearBit(index);
+    }
+
+    /**
+     * The longest run of consecutive active days ever recorded.
+     */
+    public int longestStreak() {
+        int longest = 0;
+        for (int from = bits.nextSetBit(0); from >= 0; ) {
+            int to = bits.nextClearBit(from);
+            longest = Math.max(longest, to - from);
+            from = bits.nextSetBit(to);
+        }
+        return longest;
+    }
+
+    /**
+     * Active days from one day to another, both inclusive.
+     */
+    public int activeDays(LocalDate from, LocalDate to) {
+        long first = Math.max(0, ChronoUnit.DAYS.between(start, from));
+        long last = Math.min(bits.length() - 1L, ChronoUnit.DAYS.between(start, to));
+        return first > last ? 0 : bits.get((int) first, (int) last + 1).cardinality();
+    }
+}
@@ -0,0 +1,66 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Cache.CacheStats;
+import com.ephyris.ephyris_engine.Cache.LruTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Caches analytics results per user until that user writes a workout,
+ * exercise or set.
+ *
+ * Entries are keyed by (user, endpoint, params, day). Every analytics window
+ * is anchored on today's date, so the day is part of the key and results
+ * never carry over midnight. Entries are grouped by user, so a write drops
+ * only that user's entries and loads.
+ *
+ * Every hit hands out the same instance, so list and map results are stored
+ * as read-only copies; a caller changing one would change it for everyone
+ * after them. Loaders keep the collections inside DTOs read-only too.
+ */
+@Service
+public class AnalyticsCache {
+
+    private record Key(Long userId, String endpoint, Object params, LocalDate day) {
+    }
+
+    private final LruTtlCache<Key, Object> cache;
+
+    public AnalyticsCache(@Value("${analytics.cache.max-entries:10000}") int maxEntries,
+            @Value("${analytics.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new LruTtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds), Key::userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String endpoint, Object params, Supplier<T> loader) {
+        return (T) cache.get(new Key(userId, endpoint, params, LocalDate.now()), () -> snapshot(loader.get()));
+    }
+
+    public void invalidateUser(Long userId) {
+        cache.invalidateGroup(userId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // Copies keep the loader's order and allow nulls, unlike List.copyOf and Map.copyOf
+    private static Object snapshot(Object value) {
+        if (value instanceof List<?> list) {
+            return Collections.unmodifiableList(new ArrayList<>(list));
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+        }
+        return value;
+    }
+}
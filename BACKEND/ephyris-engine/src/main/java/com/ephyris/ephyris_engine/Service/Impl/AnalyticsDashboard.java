@@ -0,0 +1,129 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Config.ServiceBusyException;
+import com.ephyris.ephyris_engine.DataTransferObject.DashboardDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.PersonalRecordDTO;
+import com.ephyris.ephyris_engine.Executor.BoundedExecutor;
+import com.ephyris.ephyris_engine.Executor.ExecutorStats;
+import com.ephyris.ephyris_engine.Repository.WorkoutDayView;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Builds the whole analytics screen for one request.
+ *
+ * The user's data is loaded once and every metric is computed from it:
+ * - the training log, for weekly and muscle group volume;
+ * - one query for the workouts of the report range, for workouts per week,
+ *   the consistency insight and the workout statistics;
+ * - the activity calendar, for streaks;
+ * - the personal record index.
+ * The four loads are independent, so they run side by side on a small
+ * bounded pool. When the pool is saturated the caller gets 503 instead of a
+ * partial dashboard.
+ */
+@Service
+public class AnalyticsDashboard {
+
+    private final AnalyticsServiceImplementation analyticsService;
+    private final TrainingLogCache trainingLogCache;
+    private final WorkoutRepository workoutRepository;
+    private final ActivityCalendarIndex activityCalendarIndex;
+    private final PersonalRecordIndex personalRecordIndex;
+    private final BoundedExecutor executor;
+
+    public AnalyticsDashboard(AnalyticsServiceImplementation analyticsService,
+            TrainingLogCache trainingLogCache,
+            WorkoutRepository workoutRepository,
+            ActivityCalendarIndex activityCalendarIndex,
+            PersonalRecordIndex personalRecordIndex,
+            @Value("${analytics.dashboard.executor.threads:8}") int threads,
+            @Value("${analytics.dashboard.executor.queue-capacity:256}") int queueCapacity,
+            @Value("${analytics.dashboard.executor.max-queue-wait-ms:2000}") long maxQueueWaitMillis) {
+        this.analyticsService = analyticsService;
+        this.trainingLogCache = trainingLogCache;
+        this.workoutRepository = workoutRepository;
+        this.activityCalendarIndex = activityCalendarIndex;
+        this.personalRecordIndex = personalRecordIndex;
+        this.executor = new BoundedExecutor("analytics-dashboard", threads, queueCapacity,
+                Duration.ofMillis(maxQueueWaitMillis));
+    }
+
+    /**
+     * @throws ServiceBusyException if the pool can't take the request
+     */
+    public DashboardDTO getDashboard(Long userId, int weeksBack) throws Exception {
+        LocalDate now = LocalDate.now();
+        LocalDate start = AnalyticsServiceImplementation.reportStart(now, weeksBack);
+        LocalDate first = AnalyticsServiceImplementation.reportHistogramStart(now, weeksBack);
+        LocalDate last = AnalyticsServiceImplementation.reportHistogramEnd(now);
+
+        List<Future<?>> submitted = new ArrayList<>();
+        TrainingLog log;
+        List<WorkoutDayView> workouts;
+        ActivityDays activity;
+        List<PersonalRecordDTO> personalRecords;
+        try {
+            Future<TrainingLog> logLoad = submit(submitted, () -> trainingLogCache.get(userId));
+            Future<List<WorkoutDayView>> workoutsLoad = submit(submitted,
+                    () -> workoutRepository.findDaysByUserIdAndDateBetween(userId, first, last));
+            Future<ActivityDays> activityLoad = submit(submitted, () -> activityCalendarIndex.getActivity(userId));
+            Future<List<PersonalRecordDTO>> recordsLoad = submit(submitted,
+                    () -> personalRecordIndex.getPersonalRecords(userId));
+
+            log = executor.await(logLoad);
+            workouts = executor.await(workoutsLoad);
+            activity = executor.await(activityLoad);
+            personalRecords = executor.await(recordsLoad);
+        } catch (Exception e) {
+            // Nobody will read the rest; free their threads for other requests
+            for (Future<?> task : submitted) {
+                task.cancel(true);
+            }
+            throw e;
+        }
+
+        DailyWorkoutHistogram histogram = DailyWorkoutHistogram.ofWorkouts(first, last, workouts);
+
+        // Statistics cover the completed workouts of the report range up to today
+        List<WorkoutDayView> completed = new ArrayList<>();
+        for (WorkoutDayView workout : workouts) {
+            if (Boolean.TRUE.equals(workout.getCompleted()) && !workout.getDate().isBefore(start)
+                    && !workout.getDate().isAfter(now)) {
+                completed.add(workout);
+            }
+        }
+
+        return new DashboardDTO(
+                analyticsService.workoutsPerWeekOfYear(histogram, now, weeksBack),
+                analyticsService.consistencyInsight(histogram, activity, now, weeksBack),
+                personalRecords,
+                analyticsService.weeklyVolume(log, now, weeksBack),
+                analyticsService.muscleGroupVolume(log, now),
+                WorkoutServiceImplementation.statistics(completed, start, now));
+    }
+
+    public ExecutorStats stats() {
+        return executor.stats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(List<Future<?>> submitted, Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        submitted.add(future);
+        return future;
+    }
+}
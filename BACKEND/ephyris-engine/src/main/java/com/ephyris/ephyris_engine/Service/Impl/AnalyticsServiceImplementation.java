@@ -1,11 +1,6 @@
 package com.ephyris.ephyris_engine.Service.Impl;
 
 import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
-import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
-import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
-import com.ephyris.ephyris_engine.Entity.Workout;
-import com.ephyris.ephyris_engine.Entity.Exercise;
-import com.ephyris.ephyris_engine.Entity.ExerciseSet;
 import com.ephyris.ephyris_engine.Service.AnalyticsService;
 import com.ephyris.ephyris_engine.DataTransferObject.ConsistencyInsightDTO;
 import com.ephyris.ephyris_engine.DataTransferObject.PersonalRecordDTO;
@@ -14,32 +9,82 @@ import com.ephyris.ephyris_engine.DataTransferObject.MuscleVolumeDTO;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.time.temporal.WeekFields;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class AnalyticsServiceImplementation implements AnalyticsService {
 
     private final WorkoutRepository workoutRepository;
-    private final ExerciseRepository exerciseRepository;
-    private final ExerciseSetRepository exerciseSetRepository;
+    private final TrainingLogCache trainingLogCache;
+    private final PersonalRecordIndex personalRecordIndex;
+    private final ActivityCalendarIndex activityCalendarIndex;
+    private final PopulationDistribution populationDistribution;
+    private final AnalyticsCache analyticsCache;
 
     public AnalyticsServiceImplementation(WorkoutRepository workoutRepository,
-            ExerciseRepository exerciseRepository,
-            ExerciseSetRepository exerciseSetRepository) {
+            TrainingLogCache trainingLogCache,
+            PersonalRecordIndex personalRecordIndex,
+            ActivityCalendarIndex activityCalendarIndex,
+            PopulationDistribution populationDistribution,
+            AnalyticsCache analyticsCache) {
         this.workoutRepository = workoutRepository;
-        this.exerciseRepository = exerciseRepository;
-        this.exerciseSetRepository = exerciseSetRepository;
+        this.trainingLogCache = trainingLogCache;
+        this.personalRecordIndex = personalRecordIndex;
+        this.activityCalendarIndex = activityCalendarIndex;
+        this.populationDistribution = populationDistribution;
+        this.analyticsCache = analyticsCache;
     }
 
+    // Every result below is cached per user by AnalyticsCache and dropped when
+    // the user writes a workout, exercise or set. Each is computed by a
+    // package-private method from data loaded by the caller, which
+    // AnalyticsDashboard uses to compute all of them from one load.
+
     @Override
     public Map<Integer, Long> getWorkoutsPerWeekOfYear(Long userId, int weeksBack) {
-        LocalDate now = LocalDate.now();
-        LocalDate start = now.minusWeeks(weeksBack - 1).with(java.time.DayOfWeek.MONDAY);
-        LocalDate end = now;
+        return analyticsCache.get(userId, "workouts-per-week", weeksBack,
+                () -> loadWorkoutsPerWeekOfYear(userId, weeksBack));
+    }
 
-        List<Workout> workouts = workoutRepository.findByUserIdAndDateBetween(userId, start, end);
+    @Override
+    public ConsistencyInsightDTO getConsistencyInsight(Long userId, int weeksBack) {
+        return analyticsCache.get(userId, "consistency-insight", weeksBack,
+                () -> loadConsistencyInsight(userId, weeksBack));
+    }
+
+    @Override
+    public List<Integer> getDailyWorkoutsForCurrentWeek(Long userId) {
+        return analyticsCache.get(userId, "daily-workouts", null,
+                () -> loadDailyWorkoutsForCurrentWeek(userId));
+    }
+
+    @Override
+    public List<PersonalRecordDTO> getPersonalRecords(Long userId) {
+        // Served from the per-user record index kept up to date by set writes
+        return analyticsCache.get(userId, "personal-records", null,
+                () -> personalRecordIndex.getPersonalRecords(userId));
+    }
+
+    @Override
+    public List<WeeklyVolumeDTO> getWeeklyVolume(Long userId, int weeksBack) {
+        return analyticsCache.get(userId, "weekly-volume", weeksBack,
+                () -> loadWeeklyVolume(userId, weeksBack));
+    }
+
+    @Override
+    public MuscleVolumeDTO getMuscleGroupVolume(Long userId) {
+        return analyticsCache.get(userId, "muscle-volume", null,
+                () -> loadMuscleGroupVolume(userId));
+    }
+
+    private Map<Integer, Long> loadWorkoutsPerWeekOfYear(Long userId, int weeksBack) {
+        return workoutsPerWeekOfYear(getReportHistogram(userId, weeksBack), LocalDate.now(), weeksBack);
+    }
+
+    Map<Integer, Long> workoutsPerWeekOfYear(DailyWorkoutHistogram histogram, LocalDate now, int weeksBack) {
+        LocalDate start = reportStart(now, weeksBack);
 
         WeekFields weekFields = WeekFields.of(Locale.getDefault());
         Map<Integer, Long> weekToCount = new LinkedHashMap<>();
@@ -49,41 +94,51 @@ public class AnalyticsServiceImplementation implements AnalyticsService {
             weekToCount.put(week, 0L);
         }
 
-        for (Workout workout : workouts) {
-            int week = workout.getDate().get(weekFields.weekOfWeekBasedYear());
-            weekToCount.put(week, weekToCount.getOrDefault(week, 0L) + 1);
+        for (LocalDate day = start; !day.isAfter(now); day = day.plusDays(1)) {
+            int count = histogram.count(day);
+            if (count > 0) {
+                weekToCount.merge(day.get(weekFields.weekOfWeekBasedYear()), (long) count, Long::sum);
+            }
         }
 
         return weekToCount;
     }
 
-    @Override
-    public ConsistencyInsightDTO getConsistencyInsight(Long userId, int weeksBack) {
-        LocalDate now = LocalDate.now();
-        LocalDate start = now.minusWeeks(weeksBack - 1).with(java.time.DayOfWeek.MONDAY);
-        LocalDate end = now;
+    private ConsistencyInsightDTO loadConsistencyInsight(Long userId, int weeksBack) {
+        return consistencyInsight(getReportHistogram(userId, weeksBack), activityCalendarIndex.getActivity(userId),
+                LocalDate.now(), weeksBack);
+    }
 
-        List<Workout> workouts = workoutRepository.findByUserIdAndDateBetween(userId, start, end);
+    /**
+     * @param histogram the report histogram, see {@link #reportHistogramStart}
+     * @param activity  the user's whole activity calendar
+     */
+    ConsistencyInsightDTO consistencyInsight(DailyWorkoutHistogram histogram, ActivityDays activity, LocalDate now,
+            int weeksBack) {
+        LocalDate start = reportStart(now, weeksBack);
+        LocalDate weekStart = currentWeekStart(now);
 
         // Calculate weekly frequency
-        List<Integer> weeklyFrequency = calculateWeeklyFrequency(workouts, weeksBack);
+        List<Integer> weeklyFrequency = calculateWeeklyFrequency(histogram, now, weeksBack);
 
         // Calculate daily workouts for current week
-        List<Integer> dailyWorkouts = getDailyWorkoutsForCurrentWeek(userId);
+        List<Integer> dailyWorkouts = dailyCounts(histogram, weekStart);
 
-        // Calculate streak days
-        int streakDays = calculateStreakDays(workouts);
+        // Streaks come from the activity calendar, which spans the user's
+        // whole history rather than the report range
+        int streakDays = activity.streakEndingAt(now);
+        int longestStreakDays = activity.longestStreak();
+        int activeDays = activity.activeDays(start, now);
 
         // Calculate consistency score
         int consistencyScore = calculateConsistencyScore(weeklyFrequency);
 
-        // Calculate percentile (simplified - in a real app, this would compare against
-        // other users)
-        int percentile = calculatePercentile(consistencyScore);
+        // Ranked against every user's score from the last population refresh
+        int percentile = populationDistribution.consistencyTopPercent(consistencyScore);
 
         // Generate insights and recommendations
         String summary = generateSummary(weeklyFrequency, streakDays);
-        String patternFindings = analyzePatterns(workouts);
+        String patternFindings = analyzePatterns(histogram, start, now);
         String recommendation = generateRecommendation(weeklyFrequency, streakDays);
 
         return new ConsistencyInsightDTO(
@@ -91,58 +146,74 @@ public class AnalyticsServiceImplementation implements AnalyticsService {
                 summary,
                 percentile,
                 streakDays,
+                longestStreakDays,
+                activeDays,
                 patternFindings,
                 recommendation,
-                weeklyFrequency,
-                dailyWorkouts,
+                Collections.unmodifiableList(weeklyFrequency),
+                Collections.unmodifiableList(dailyWorkouts),
                 consistencyScore);
     }
 
-    private List<Integer> calculateWeeklyFrequency(List<Workout> workouts, int weeksBack) {
-        LocalDate now = LocalDate.now();
-        List<Integer> frequency = new ArrayList<>();
+    // One query covers the report range and the Sunday-Saturday week. Cached
+    // on its own, so workouts per week and the consistency insight for the
+    // same range read the workout calendar once between them.
+    private DailyWorkoutHistogram getReportHistogram(Long userId, int weeksBack) {
+        return analyticsCache.get(userId, "report-histogram", weeksBack, () -> {
+            LocalDate now = LocalDate.now();
+            return loadHistogram(userId, reportHistogramStart(now, weeksBack), reportHistogramEnd(now));
+        });
+    }
 
-        for (int i = 0; i < weeksBack; i++) {
-            LocalDate weekStart = now.minusWeeks(i).with(java.time.DayOfWeek.MONDAY);
-            LocalDate weekEnd = weekStart.plusDays(6);
+    // The Monday that starts the report range
+    static LocalDate reportStart(LocalDate now, int weeksBack) {
+        return now.minusWeeks(weeksBack - 1).with(java.time.DayOfWeek.MONDAY);
+    }
 
-            long count = workouts.stream()
-                    .filter(w -> !w.getDate().isBefore(weekStart) && !w.getDate().isAfter(weekEnd))
-                    .count();
+    static LocalDate reportHistogramStart(LocalDate now, int weeksBack) {
+        LocalDate start = reportStart(now, weeksBack);
+        LocalDate weekStart = currentWeekStart(now);
+        return weekStart.isBefore(start) ? weekStart : start;
+    }
 
-            frequency.add(0, (int) count); // Add to beginning to maintain chronological order
-        }
+    static LocalDate reportHistogramEnd(LocalDate now) {
+        return currentWeekStart(now).plusDays(6);
+    }
 
-        return frequency;
+    private DailyWorkoutHistogram loadHistogram(Long userId, LocalDate start, LocalDate end) {
+        return DailyWorkoutHistogram.of(start, end,
+                workoutRepository.countPerDayByUserIdAndDateBetween(userId, start, end));
     }
 
-    private int calculateStreakDays(List<Workout> workouts) {
-        if (workouts.isEmpty())
-            return 0;
+    // The Sunday that starts the current Sunday-Saturday week
+    private static LocalDate currentWeekStart(LocalDate now) {
+        return now.with(TemporalAdjusters.previousOrSame(java.time.DayOfWeek.SUNDAY));
+    }
 
-        // Sort workouts by date in descending order
-        workouts.sort((w1, w2) -> w2.getDate().compareTo(w1.getDate()));
+    private List<Integer> dailyCounts(DailyWorkoutHistogram histogram, LocalDate weekStart) {
+        List<Integer> dailyWorkouts = new ArrayList<>(7);
+        for (int i = 0; i < 7; i++) {
+            dailyWorkouts.add(histogram.count(weekStart.plusDays(i)));
+        }
+        return dailyWorkouts;
+    }
 
-        LocalDate currentDate = LocalDate.now();
-        int streak = 0;
+    // Shared with PopulationDistribution, which scores every user the same way
+    static List<Integer> calculateWeeklyFrequency(DailyWorkoutHistogram histogram, LocalDate now, int weeksBack) {
+        List<Integer> frequency = new ArrayList<>();
 
-        // Check consecutive days backwards from today
-        while (true) {
-            LocalDate checkDate = currentDate.minusDays(streak);
-            boolean hasWorkout = workouts.stream()
-                    .anyMatch(w -> w.getDate().equals(checkDate));
+        for (int i = weeksBack - 1; i >= 0; i--) {
+            LocalDate weekStart = now.minusWeeks(i).with(java.time.DayOfWeek.MONDAY);
+            LocalDate weekEnd = weekStart.plusDays(6);
 
-            if (hasWorkout) {
-                streak++;
-            } else {
-                break;
-            }
+            // Nothing after today counts towards the report
+            frequency.add(histogram.sum(weekStart, weekEnd.isAfter(now) ? now : weekEnd));
         }
 
-        return streak;
+        return frequency;
     }
 
-    private int calculateConsistencyScore(List<Integer> weeklyFrequency) {
+    static int calculateConsistencyScore(List<Integer> weeklyFrequency) {
         if (weeklyFrequency.isEmpty())
             return 0;
 
@@ -163,29 +234,6 @@ public class AnalyticsServiceImplementation implements AnalyticsService {
         return Math.max(0, score);
     }
 
-    private int calculatePercentile(int consistencyScore) {
-        // Simplified percentile calculation
-        // In a real application, this would compare against other users' scores
-        if (consistencyScore >= 90)
-            return 10;
-        else if (consistencyScore >= 80)
-            return 20;
-        else if (consistencyScore >= 70)
-            return 30;
-        else if (consistencyScore >= 60)
-            return 40;
-        else if (consistencyScore >= 50)
-            return 50;
-        else if (consistencyScore >= 40)
-            return 60;
-        else if (consistencyScore >= 30)
-            return 70;
-        else if (consistencyScore >= 20)
-            return 80;
-        else
-            return 90;
-    }
-
     private String generateSummary(List<Integer> weeklyFrequency, int streakDays) {
         if (weeklyFrequency.isEmpty()) {
             return "No workout data available for analysis.";
@@ -207,19 +255,13 @@ public class AnalyticsServiceImplementation implements AnalyticsService {
         }
     }
 
-    private String analyzePatterns(List<Workout> workouts) {
-        if (workouts.size() < 2) {
+    private String analyzePatterns(DailyWorkoutHistogram histogram, LocalDate start, LocalDate end) {
+        if (histogram.sum(start, end) < 2) {
             return "Not enough data to identify patterns yet.";
         }
 
         // Analyze day of week patterns
-        Map<java.time.DayOfWeek, Long> dayCounts = workouts.stream()
-                .collect(Collectors.groupingBy(w -> w.getDate().getDayOfWeek(), Collectors.counting()));
-
-        java.time.DayOfWeek mostFrequentDay = dayCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(java.time.DayOfWeek.MONDAY);
+        java.time.DayOfWeek mostFrequentDay = histogram.busiestDayOfWeek(start, end);
 
         return String.format("You're most consistent on %s. Try to maintain this pattern for better results.",
                 mostFrequentDay.toString().toLowerCase());
@@ -244,118 +286,11 @@ public class AnalyticsServiceImplementation implements AnalyticsService {
         }
     }
 
-    @Override
-    public List<Integer> getDailyWorkoutsForCurrentWeek(Long userId) {
-        LocalDate now = LocalDate.now();
-        LocalDate startOfWeek = now.with(java.time.DayOfWeek.SUNDAY);
-        LocalDate endOfWeek = startOfWeek.plusDays(6);
-
-        List<Workout> workouts = workoutRepository.findByUserIdAndDateBetween(userId, startOfWeek, endOfWeek);
+    private List<Integer> loadDailyWorkoutsForCurrentWeek(Long userId) {
+        LocalDate startOfWeek = currentWeekStart(LocalDate.now());
 
-        List<Integer> dailyWorkouts = new ArrayList<>();
-
-        // Generate data for each day of the current week (Sunday to Saturday)
-        for (int i = 0; i < 7; i++) {
-            LocalDate day = startOfWeek.plusDays(i);
-            long count = workouts.stream()
-                    .filter(w -> w.getDate().equals(day))
-                    .count();
-            dailyWorkouts.add((int) count);
-        }
-
-        return dailyWorkouts;
-    }
-
-    @Override
-    public List<PersonalRecordDTO> getPersonalRecords(Long userId) {
-        // Get all workouts for the user first
-        List<Workout> workouts = workoutRepository.findByUserId(userId);
-        List<PersonalRecordDTO> personalRecords = new ArrayList<>();
-
-        // Group exercises by name to find the best set for each exercise
-        Map<String, List<Exercise>> exercisesByName = new HashMap<>();
-
-        for (Workout workout : workouts) {
-            List<Exercise> exercises = exerciseRepository.findAll().stream()
-                    .filter(e -> e.getWorkout().getId().equals(workout.getId()))
-                    .collect(Collectors.toList());
-
-            for (Exercise exercise : exercises) {
-                exercisesByName.computeIfAbsent(exercise.getName(), k -> new ArrayList<>()).add(exercise);
-            }
-        }
-
-        for (Map.Entry<String, List<Exercise>> entry : exercisesByName.entrySet()) {
-            String exerciseName = entry.getKey();
-            List<Exercise> exerciseList = entry.getValue();
-
-            // Get all sets for this exercise
-            List<ExerciseSet> allSets = new ArrayList<>();
-            for (Exercise exercise : exerciseList) {
-                List<ExerciseSet> sets = exerciseSetRepository.findAll().stream()
-                        .filter(set -> set.getExercise().getId().equals(exercise.getId()))
-                        .collect(Collectors.toList());
-                allSets.addAll(sets);
-            }
-
-            // Find the best set (highest volume)
-            Optional<ExerciseSet> bestSet = allSets.stream()
-                    .filter(set -> set.getCompleted())
-                    .max(Comparator.comparingDouble(set -> calculateSetVolume(set)));
-
-            if (bestSet.isPresent()) {
-                ExerciseSet set = bestSet.get();
-                // For time-based exercises, use duration as "reps" and weight as 0
-                double weight = set.getIsTimeBased() ? 0.0 : (set.getWeight() != null ? set.getWeight() : 0.0);
-                int reps = set.getValue() != null ? set.getValue() : 0;
-
-                personalRecords.add(new PersonalRecordDTO(
-                        exerciseName,
-                        weight,
-                        reps,
-                        set.getExercise().getWorkout().getDate(),
-                        false // TODO: Implement logic to detect if this is a new PR
-                ));
-            }
-        }
-
-        return personalRecords;
-    }
-
-    /**
-     * Estimates volume for time-based exercises
-     * Uses bodyweight estimation and time duration to calculate approximate volume
-     * 
-     * Formula: Volume = (Duration in minutes) × (Estimated Weight) × (Intensity
-     * Multiplier)
-     * 
-     * @param set The exercise set to calculate volume for
-     * @return Estimated volume in pounds
-     */
-    private double estimateTimeBasedVolume(ExerciseSet set) {
-        if (set.getValue() == null || set.getValue() <= 0) {
-            return 0.0;
-        }
-
-        // For time-based exercises, we estimate volume based on:
-        // 1. Duration (in seconds)
-        // 2. Estimated bodyweight or exercise intensity
-        // 3. Exercise type (if available)
-
-        int durationSeconds = set.getValue();
-        double estimatedWeight = 150.0; // Default bodyweight estimate in lbs
-
-        // If weight is provided (e.g., weighted planks), use it
-        if (set.getWeight() != null && set.getWeight() > 0) {
-            estimatedWeight = set.getWeight();
-        }
-
-        // Calculate volume based on duration and estimated weight
-        // Formula: (duration in minutes) * (estimated weight) * (intensity multiplier)
-        double durationMinutes = durationSeconds / 60.0;
-        double intensityMultiplier = 0.5; // Conservative estimate for time-based exercises
-
-        return durationMinutes * estimatedWeight * intensityMultiplier;
+        // Each day of the current week, Sunday to Saturday
+        return dailyCounts(loadHistogram(userId, startOfWeek, startOfWeek.plusDays(6)), startOfWeek);
     }
 
     /**
@@ -382,143 +317,68 @@ public class AnalyticsServiceImplementation implements AnalyticsService {
         }
     }
 
-    /**
-     * Calculates volume for a single exercise set using the correct industry
-     * standard formula
-     * 
-     * Volume Calculation Rules:
-     * 1. For weight-based exercises: Volume = Weight × Reps
-     * 2. For bodyweight exercises: Volume = (Estimated Bodyweight × 0.5) × Reps
-     * 3. For time-based exercises: Volume = (Duration in minutes) × (Estimated
-     * Weight) × 0.5
-     * 
-     * @param set The exercise set to calculate volume for
-     * @return Volume in pounds
-     */
-    private double calculateSetVolume(ExerciseSet set) {
-        if (set.getValue() == null || set.getValue() <= 0) {
-            return 0.0;
+    private List<WeeklyVolumeDTO> loadWeeklyVolume(Long userId, int weeksBack) {
+        if (weeksBack <= 0) {
+            return new ArrayList<>();
         }
+        return weeklyVolume(trainingLogCache.get(userId), LocalDate.now(), weeksBack);
+    }
 
-        if (set.getIsTimeBased()) {
-            return estimateTimeBasedVolume(set);
-        } else {
-            // For weight-based exercises: Volume = Weight × Reps
-            if (set.getWeight() != null && set.getWeight() > 0) {
-                return set.getWeight() * set.getValue();
-            } else {
-                // Bodyweight exercises - estimate based on reps and bodyweight
-                double estimatedBodyweight = 150.0; // Default bodyweight estimate
-                return estimatedBodyweight * set.getValue() * 0.5; // 50% of bodyweight for bodyweight exercises
-            }
+    List<WeeklyVolumeDTO> weeklyVolume(TrainingLog log, LocalDate now, int weeksBack) {
+        if (weeksBack <= 0) {
+            return new ArrayList<>();
         }
-    }
 
-    @Override
-    public List<WeeklyVolumeDTO> getWeeklyVolume(Long userId, int weeksBack) {
-        LocalDate now = LocalDate.now();
-        List<WeeklyVolumeDTO> weeklyVolumes = new ArrayList<>();
+        LocalDate currentWeekStart = now.with(java.time.DayOfWeek.MONDAY);
+        LocalDate oldestWeekStart = currentWeekStart.minusWeeks(weeksBack - 1);
+
+        // A scan of the user's in-memory training log, oldest week first
+        double[] oldestFirst = log.volumeByWeek(oldestWeekStart, weeksBack);
 
+        // Index 0 is the current week, index i is i weeks ago
+        double[] volumes = new double[weeksBack];
         for (int i = 0; i < weeksBack; i++) {
-            LocalDate weekStart = now.minusWeeks(i).with(java.time.DayOfWeek.MONDAY);
-            LocalDate weekEnd = weekStart.plusDays(6);
+            volumes[i] = oldestFirst[weeksBack - 1 - i];
+        }
 
-            // Get workouts for this week
-            List<Workout> weekWorkouts = workoutRepository.findByUserIdAndDateBetween(userId, weekStart, weekEnd);
-
-            // Calculate total volume for the week using correct formula
-            double weeklyVolume = 0.0;
-            for (Workout workout : weekWorkouts) {
-                List<Exercise> exercises = exerciseRepository.findAll().stream()
-                        .filter(e -> e.getWorkout().getId().equals(workout.getId()))
-                        .collect(Collectors.toList());
-
-                for (Exercise exercise : exercises) {
-                    List<ExerciseSet> sets = exerciseSetRepository.findAll().stream()
-                            .filter(set -> set.getExercise().getId().equals(exercise.getId()))
-                            .filter(set -> set.getCompleted()) // Only count completed sets
-                            .collect(Collectors.toList());
-
-                    for (ExerciseSet set : sets) {
-                        weeklyVolume += calculateSetVolume(set);
-                    }
-                }
-            }
+        List<WeeklyVolumeDTO> weeklyVolumes = new ArrayList<>(weeksBack);
+
+        // Build oldest first to keep chronological order
+        for (int i = weeksBack - 1; i >= 0; i--) {
+            LocalDate weekStart = currentWeekStart.minusWeeks(i);
+            LocalDate weekEnd = weekStart.plusDays(6);
 
-            // Calculate change from previous week
+            // Change is measured against the neighbouring, more recent week; the
+            // current week always reports 0
             double changeFromPrevious = 0.0;
-            if (i > 0) {
-                LocalDate prevWeekStart = now.minusWeeks(i - 1).with(java.time.DayOfWeek.MONDAY);
-                LocalDate prevWeekEnd = prevWeekStart.plusDays(6);
-                List<Workout> prevWeekWorkouts = workoutRepository.findByUserIdAndDateBetween(userId, prevWeekStart,
-                        prevWeekEnd);
-
-                double prevWeeklyVolume = 0.0;
-                for (Workout workout : prevWeekWorkouts) {
-                    List<Exercise> exercises = exerciseRepository.findAll().stream()
-                            .filter(e -> e.getWorkout().getId().equals(workout.getId()))
-                            .collect(Collectors.toList());
-
-                    for (Exercise exercise : exercises) {
-                        List<ExerciseSet> sets = exerciseSetRepository.findAll().stream()
-                                .filter(set -> set.getExercise().getId().equals(exercise.getId()))
-                                .filter(set -> set.getCompleted()) // Only count completed sets
-                                .collect(Collectors.toList());
-
-                        for (ExerciseSet set : sets) {
-                            prevWeeklyVolume += calculateSetVolume(set);
-                        }
-                    }
-                }
-
-                if (prevWeeklyVolume > 0) {
-                    changeFromPrevious = ((weeklyVolume - prevWeeklyVolume) / prevWeeklyVolume) * 100;
-                }
+            if (i > 0 && volumes[i - 1] > 0) {
+                changeFromPrevious = ((volumes[i] - volumes[i - 1]) / volumes[i - 1]) * 100;
             }
 
             // Create meaningful date range label
             String weekLabel = createDateRangeLabel(weekStart, weekEnd);
-            weeklyVolumes.add(0, new WeeklyVolumeDTO(weekLabel, weeklyVolume, changeFromPrevious));
+            weeklyVolumes.add(new WeeklyVolumeDTO(weekLabel, volumes[i], changeFromPrevious,
+                    populationDistribution.weeklyVolumeTopPercent(volumes[i])));
         }
 
         return weeklyVolumes;
     }
 
-    @Override
-    public MuscleVolumeDTO getMuscleGroupVolume(Long userId) {
-        LocalDate now = LocalDate.now();
+    private MuscleVolumeDTO loadMuscleGroupVolume(Long userId) {
+        return muscleGroupVolume(trainingLogCache.get(userId), LocalDate.now());
+    }
+
+    // Volume per muscle group over the last four weeks
+    MuscleVolumeDTO muscleGroupVolume(TrainingLog log, LocalDate now) {
         LocalDate fourWeeksAgo = now.minusWeeks(4);
 
-        // Get workouts from the last 4 weeks
-        List<Workout> workouts = workoutRepository.findByUserIdAndDateBetween(userId, fourWeeksAgo, now);
+        Map<String, Double> muscleVolumes = log.volumeByMuscleGroup(fourWeeksAgo, now);
 
-        Map<String, Double> muscleVolumes = new HashMap<>();
         double totalVolume = 0.0;
-
-        for (Workout workout : workouts) {
-            List<Exercise> exercises = exerciseRepository.findAll().stream()
-                    .filter(e -> e.getWorkout().getId().equals(workout.getId()))
-                    .collect(Collectors.toList());
-
-            for (Exercise exercise : exercises) {
-                String muscleGroup = exercise.getMuscleGroup();
-                if (muscleGroup == null || muscleGroup.isEmpty()) {
-                    muscleGroup = "Other";
-                }
-
-                List<ExerciseSet> sets = exerciseSetRepository.findAll().stream()
-                        .filter(set -> set.getExercise().getId().equals(exercise.getId()))
-                        .filter(set -> set.getCompleted()) // Only count completed sets
-                        .collect(Collectors.toList());
-
-                for (ExerciseSet set : sets) {
-                    double volume = calculateSetVolume(set);
-                    muscleVolumes.merge(muscleGroup, volume, Double::sum);
-                    totalVolume += volume;
-                }
-            }
+        for (double volume : muscleVolumes.values()) {
+            totalVolume += volume;
         }
 
-        return new MuscleVolumeDTO(muscleVolumes, totalVolume);
+        return new MuscleVolumeDTO(Collections.unmodifiableMap(muscleVolumes), totalVolume);
     }
 }
@@ -0,0 +1,231 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Entity.CanonicalExercise;
+import com.ephyris.ephyris_engine.Repository.CanonicalExerciseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Matches exercise names against the canonical exercise catalog in memory.
+ *
+ * The catalog is small and maintained outside the app, so it is loaded whole
+ * into an immutable index and swapped for a fresh one on a fixed delay
+ * (exercise.catalog.refresh-ms). Lookups never touch the database.
+ *
+ * Names, aliases and variations are normalized the same way exercise names
+ * are (lower case, no whitespace). Substring search narrows candidates with
+ * trigram postings and confirms them with String.contains; queries shorter
+ * than a trigram scan the keys directly.
+ */
+@Service
+public class CanonicalExerciseMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CanonicalExerciseMatcher.class);
+
+    private static final int GRAM = 3;
+
+    private final CanonicalExerciseRepository canonicalRepo;
+
+    private volatile CatalogIndex index;
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public CanonicalExerciseMatcher(CanonicalExerciseRepository canonicalRepo) {
+        this.canonicalRepo = canonicalRepo;
+    }
+
+    /**
+     * Exact match on the normalized canonical name first, then the first
+     * canonical exercise whose name, alias or variation contains the input.
+     */
+    public Optional<CanonicalExercise> findMatch(String exerciseName) {
+        String normalizedInput = normalize(exerciseName);
+        CatalogIndex current = index();
+
+        CanonicalExercise exactMatch = current.byName.get(normalizedInput);
+        if (exactMatch != null) {
+            return Optional.of(exactMatch);
+        }
+
+        List<CanonicalExercise> matches = current.search(normalizedInput);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+    }
+
+    /**
+     * Canonical exercises whose name, alias or variation contains the
+     * normalized query, in catalog order.
+     */
+    public List<CanonicalExercise> search(String query) {
+        return index().search(normalize(query));
+    }
+
+    /**
+     * Looks the exercise up in the catalog, falling back to the database for
+     * exercises added since the last refresh.
+     */
+    public Optional<CanonicalExercise> findById(Long id) {
+        CanonicalExercise canonical = index().byId.get(id);
+        return canonical != null ? Optional.of(canonical) : canonicalRepo.findById(id);
+    }
+
+    @Scheduled(fixedDelayString = "${exercise.catalog.refresh-ms:600000}")
+    public void refresh() {
+        List<CanonicalExercise> catalog = canonicalRepo.findAllWithAliasesAndVariations();
+        index = new CatalogIndex(catalog);
+        log.debug("Loaded {} canonical exercises", catalog.size());
+    }
+
+    private CatalogIndex index() {
+        CatalogIndex current = index;
+        if (current == null) {
+            // A lock, not synchronized: the first load is a JDBC call and
+            // would pin a virtual thread to its carrier
+            loadLock.lock();
+            try {
+                if (index == null) {
+                    refresh();
+                }
+                current = index;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    static String normalize(String name) {
+        return name.toLowerCase().replaceAll("\\s+", "");
+    }
+
+    private static final class CatalogIndex {
+
+        // Normalized canonical name -> exercise, lowest id wins
+        private final Map<String, CanonicalExercise> byName = new HashMap<>();
+
+        private final Map<Long, CanonicalExercise> byId = new HashMap<>();
+
+        // Every normalized name, alias and variation, and the exercise it belongs to
+        private final String[] keys;
+        private final CanonicalExercise[] owners;
+
+        // Trigram -> ascending indexes into keys
+        private final Map<String, int[]> postings;
+
+        CatalogIndex(List<CanonicalExercise> catalog) {
+            List<String> keyList = new ArrayList<>();
+            List<CanonicalExercise> ownerList = new ArrayList<>();
+
+            for (CanonicalExercise canonical : catalog) {
+                String name = normalize(canonical.getName());
+                byName.putIfAbsent(name, canonical);
+                byId.put(canonical.getId(), canonical);
+
+                Set<String> names = new LinkedHashSet<>();
+                names.add(name);
+                addAll(names, canonical.getAliases());
+                addAll(names, canonical.getVariations());
+                for (String key : names) {
+                    keyList.add(key);
+                    ownerList.add(canonical);
+                }
+            }
+
+            keys = keyList.toArray(new String[0]);
+            owners = ownerList.toArray(new CanonicalExercise[0]);
+
+            Map<String, List<Integer>> grams = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                for (String gram : grams(keys[i])) {
+                    grams.computeIfAbsent(gram, g -> new ArrayList<>()).add(i);
+                }
+            }
+            postings = new HashMap<>();
+            grams.forEach((gram, posting) -> postings.put(gram,
+                    posting.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        List<CanonicalExercise> search(String query) {
+            // Keys are in catalog (id) order and candidates ascend, so results come
+            // out in catalog order; exercises matched through several keys appear once
+            Map<Long, CanonicalExercise> matches = new LinkedHashMap<>();
+            for (int candidate : candidates(query)) {
+                if (keys[candidate].contains(query)) {
+                    matches.putIfAbsent(owners[candidate].getId(), owners[candidate]);
+                }
+            }
+            return new ArrayList<>(matches.values());
+        }
+
+        // Keys that contain every trigram of the query
+        private int[] candidates(String query) {
+            if (query.length() < GRAM) {
+                int[] all = new int[keys.length];
+                Arrays.setAll(all, i -> i);
+                return all;
+            }
+
+            int[] result = null;
+            for (String gram : grams(query)) {
+                int[] posting = postings.get(gram);
+                if (posting == null) {
+                    return new int[0];
+                }
+                result = result == null ? posting : intersect(result, posting);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        private static Set<String> grams(String key) {
+            Set<String> grams = new LinkedHashSet<>();
+            for (int i = 0; i + GRAM <= key.length(); i++) {
+                grams.add(key.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+
+        private static void addAll(Set<String> names, Collection<String> values) {
+            if (values != null) {
+                for (String value : values) {
+                    if (value != null) {
+                        names.add(normalize(value));
+                    }
+                }
+            }
+        }
+    }
+}
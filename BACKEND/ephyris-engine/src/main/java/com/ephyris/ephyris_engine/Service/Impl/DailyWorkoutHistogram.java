@@ -0,0 +1,112 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Repository.DailyWorkoutCountView;
+import com.ephyris.ephyris_engine.Repository.WorkoutDayView;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Workouts per calendar day over a fixed date range, one int per day.
+ *
+ * Built from a single grouped date query, so the consistency analytics never
+ * hydrate workouts. Weekly and daily counts and day-of-week patterns are all
+ * plain walks over the array. Days outside the range count as zero.
+ */
+public final class DailyWorkoutHistogram {
+
+    private final LocalDate start;
+    private final int[] counts;
+
+    private DailyWorkoutHistogram(LocalDate start, int[] counts) {
+        this.start = start;
+        this.counts = counts;
+    }
+
+    /**
+     * @param start first day covered, inclusive
+     * @param end   last day covered, inclusive
+     * @param days  per-day counts; days outside the range are ignored
+     */
+    public static DailyWorkoutHistogram of(LocalDate start, LocalDate end,
+            List<? extends DailyWorkoutCountView> days) {
+        int length = (int) Math.max(0, ChronoUnit.DAYS.between(start, end) + 1);
+        int[] counts = new int[length];
+        for (DailyWorkoutCountView day : days) {
+            long index = ChronoUnit.DAYS.between(start, day.getDate());
+            if (index >= 0 && index < length) {
+                counts[(int) index] += day.getWorkouts().intValue();
+            }
+        }
+        return new DailyWorkoutHistogram(start, counts);
+    }
+
+    /**
+     * @param start    first day covered, inclusive
+     * @param end      last day covered, inclusive
+     * @param workouts one entry per workout; days outside the range are ignored
+     */
+    public static DailyWorkoutHistogram ofWorkouts(LocalDate start, LocalDate end,
+            List<? extends WorkoutDayView> workouts) {
+        int length = (int) Math.max(0, ChronoUnit.DAYS.between(start, end) + 1);
+        int[] counts = new int[length];
+        for (WorkoutDayView workout : workouts) {
+            long index = ChronoUnit.DAYS.between(start, workout.getDate());
+            if (index >= 0 && index < length) {
+                counts[(int) index]++;
+            }
+        }
+        return new DailyWorkoutHistogram(start, counts);
+    }
+
+    public int count(LocalDate day) {
+        long index = ChronoUnit.DAYS.between(start, day);
+        return index >= 0 && index < counts.length ? counts[(int) index] : 0;
+    }
+
+    /**
+     * Workouts from one day to another, both inclusive.
+     */
+    public int sum(LocalDate from, LocalDate to) {
+        int first = (int) Math.max(0, ChronoUnit.DAYS.between(start, from));
+        int last = (int) Math.min(counts.length - 1, ChronoUnit.DAYS.between(start, to));
+        int sum = 0;
+        for (int i = first; i <= last; i++) {
+            sum += counts[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Workouts per day of the week between two days, both inclusive, indexed
+     * by {@code DayOfWeek.getValue() - 1} (Monday first).
+     */
+    public int[] countsByDayOfWeek(LocalDate from, LocalDate to) {
+        int[] byDay = new int[7];
+        int first = (int) Math.max(0, ChronoUnit.DAYS.between(start, from));
+        int last = (int) Math.min(counts.length - 1, ChronoUnit.DAYS.between(start, to));
+        int dayOfWeek = start.plusDays(first).getDayOfWeek().getValue() - 1;
+        for (int i = first; i <= last; i++) {
+            byDay[dayOfWeek] += counts[i];
+            dayOfWeek = dayOfWeek == 6 ? 0 : dayOfWeek + 1;
+        }
+        return byDay;
+    }
+
+    /**
+     * The day of the week with the most workouts between two days; the
+     * earliest in the week wins a tie.
+     */
+    public DayOfWeek busiestDayOfWeek(LocalDate from, LocalDate to) {
+        int[] byDay = countsByDayOfWeek(from, to);
+        int busiest = 0;
+        for (int i = 1; i < byDay.length; i++) {
+            if (byDay[i] > byDay[busiest]) {
+                busiest = i;
+            }
+        }
+        return DayOfWeek.of(busiest + 1);
+    }
+}
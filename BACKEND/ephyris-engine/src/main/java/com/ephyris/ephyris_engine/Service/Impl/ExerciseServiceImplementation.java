@@ -9,13 +9,12 @@ import com.ephyris.ephyris_engine.Entity.Exercise;
 import com.ephyris.ephyris_engine.Entity.ExerciseSet;
 import com.ephyris.ephyris_engine.Entity.Workout;
 import com.ephyris.ephyris_engine.Mapper.ExerciseSetMapper;
-import com.ephyris.ephyris_engine.Repository.CanonicalExerciseRepository;
 import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
 import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
 import com.ephyris.ephyris_engine.Service.ExerciseService;
+import com.ephyris.ephyris_engine.Service.Impl.UserExerciseNameIndex.HistoryMatch;
 import com.ephyris.ephyris_engine.Mapper.ExerciseMapper;
 import org.springframework.stereotype.Service;
-import org.apache.commons.text.similarity.LevenshteinDistance;
 
 import java.nio.file.AccessDeniedException;
 import java.util.*;
@@ -31,22 +30,34 @@ public class ExerciseServiceImplementation implements ExerciseService {
 
     private final ExerciseSetMapper esMapper;
 
-    private final CanonicalExerciseRepository canonicalRepo;
+    private final CanonicalExerciseMatcher canonicalMatcher;
 
     private final ExerciseSetServiceImplementation exerciseSetService;
 
-    private final LevenshteinDistance levenshteinDistance = LevenshteinDistance.getDefaultInstance();
+    private final PersonalRecordIndex personalRecordIndex;
+
+    private final TrainingLogCache trainingLogCache;
+
+    private final AnalyticsCache analyticsCache;
+
+    private final UserExerciseNameIndex exerciseNameIndex;
 
     public ExerciseServiceImplementation(WorkoutRepository wRepo,
             ExerciseRepository eRepo,
             ExerciseMapper eMapper, ExerciseSetMapper esMapper, ExerciseSetServiceImplementation exerciseSetService,
-            CanonicalExerciseRepository canonicalRepo) {
+            CanonicalExerciseMatcher canonicalMatcher, PersonalRecordIndex personalRecordIndex,
+            TrainingLogCache trainingLogCache, AnalyticsCache analyticsCache,
+            UserExerciseNameIndex exerciseNameIndex) {
         this.wRepo = wRepo;
         this.eRepo = eRepo;
         this.eMapper = eMapper;
         this.esMapper = esMapper;
         this.exerciseSetService = exerciseSetService;
-        this.canonicalRepo = canonicalRepo;
+        this.canonicalMatcher = canonicalMatcher;
+        this.personalRecordIndex = personalRecordIndex;
+        this.trainingLogCache = trainingLogCache;
+        this.analyticsCache = analyticsCache;
+        this.exerciseNameIndex = exerciseNameIndex;
     }
 
     @Override
@@ -58,12 +69,8 @@ public class ExerciseServiceImplementation implements ExerciseService {
         }
 
         // Verify workout exists and belongs to user
-        Workout workout = wRepo.findById(exerciseDTO.getWorkoutId())
-                .orElseThrow(() -> new ResourceNotFoundException("Workout not found"));
-
-        if (!workout.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User is not authorized to add exercises to this workout");
-        }
+        Workout workout = findOwnedWorkout(exerciseDTO.getWorkoutId(), userId,
+                "User is not authorized to add exercises to this workout");
 
         // Create a deep copy of the sets
         List<ExerciseSetDTO> sets = new ArrayList<>(exerciseDTO.getSets());
@@ -73,24 +80,14 @@ public class ExerciseServiceImplementation implements ExerciseService {
 
         // Map the DTO to entity
         Exercise exercise = eMapper.toEntity(exerciseDTO);
-
-        // Try to find match in user's history first
-        Optional<Exercise> historicalMatch = findMatchInUserHistory(exercise.getName(), userId);
-
-        if (historicalMatch.isPresent()) {
-            // Suggest the historical match
-            exercise.setCanonicalExercise(historicalMatch.get().getCanonicalExercise());
-        } else {
-            // Try to find a canonical match
-            Optional<CanonicalExercise> canonicalMatch = findCanonicalMatch(exercise.getName());
-            canonicalMatch.ifPresent(exercise::setCanonicalExercise);
-        }
+        exercise.setCanonicalExercise(resolveCanonicalExercise(exercise.getName(), userId));
 
         // Set the workout
         exercise.setWorkout(workout);
 
         // Save the exercise first
         Exercise savedExercise = eRepo.save(exercise);
+        exerciseNameIndex.onExerciseSaved(userId, savedExercise);
 
         // Handle sets if any
         if (!sets.isEmpty()) {
@@ -105,18 +102,49 @@ public class ExerciseServiceImplementation implements ExerciseService {
             savedExercise = eRepo.save(savedExercise);
         }
 
+        analyticsCache.invalidateUser(userId);
+
         return eMapper.toDto(savedExercise);
     }
 
-    @Override
-    public ExerciseDTO getExerciseById(Long exerciseId, Long userId) throws AccessDeniedException {
-        Exercise exercise = eRepo.findById(exerciseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Exercise not found"));
+    /**
+     * Builds a new exercise and its sets for a workout that is being created,
+     * without touching the database. Canonical matches come from the
+     * in-memory indexes; persisting is left to the workout's cascade so the
+     * whole aggregate goes out in batched inserts.
+     */
+    public Exercise newExercise(ExerciseDTO exerciseDTO, Workout workout, Long userId) {
+        if (exerciseDTO == null) {
+            throw new IllegalArgumentException("Invalid exercise data");
+        }
+
+        List<ExerciseSetDTO> setDTOs = exerciseDTO.getSets() != null ? exerciseDTO.getSets()
+                : Collections.emptyList();
 
-        // Verify user owns this exercise
-        if (!exercise.getWorkout().getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User not authorized to access this exercise");
+        // Sets are mapped separately below, see createExercise
+        exerciseDTO.setSets(Collections.emptyList());
+        Exercise exercise = eMapper.toEntity(exerciseDTO);
+        exerciseDTO.setSets(setDTOs);
+
+        exercise.setId(null);
+        exercise.setWorkout(workout);
+        exercise.setCanonicalExercise(resolveCanonicalExercise(exercise.getName(), userId));
+
+        List<ExerciseSet> sets = new ArrayList<>(setDTOs.size());
+        for (ExerciseSetDTO setDTO : setDTOs) {
+            ExerciseSet set = esMapper.toEntity(setDTO);
+            set.setId(null);
+            set.setExercise(exercise);
+            sets.add(set);
         }
+        exercise.setSets(sets);
+
+        return exercise;
+    }
+
+    @Override
+    public ExerciseDTO getExerciseById(Long exerciseId, Long userId) throws AccessDeniedException {
+        Exercise exercise = findOwnedExercise(exerciseId, userId, "User not authorized to access this exercise");
 
         return eMapper.toDto(exercise);
     }
@@ -124,11 +152,9 @@ public class ExerciseServiceImplementation implements ExerciseService {
     @Override
     public List<ExerciseDTO> getExercisesByWorkoutId(Long workoutId, Long userId) {
 
-        Optional<Workout> workout = wRepo.findById(workoutId);
+        Optional<Workout> workout = wRepo.findByIdAndUserId(workoutId, userId);
 
-        if (workout.isPresent() &&
-                workout.get().getUser()
-                        .getId().equals(userId)) {
+        if (workout.isPresent()) {
 
             return eMapper.toDtoList(workout.get().getExercises());
         }
@@ -141,41 +167,41 @@ public class ExerciseServiceImplementation implements ExerciseService {
 
     @Override
     public ExerciseDTO updateExercise(Long userId, ExerciseDTO exerciseDTO) throws AccessDeniedException {
-        // Verify exercise exists
-        Exercise existingExercise = eRepo.findById(exerciseDTO.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Exercise not found"));
-
-        // Verify workout exists
-        Workout workout = wRepo.findById(exerciseDTO.getWorkoutId())
-                .orElseThrow(() -> new ResourceNotFoundException("Workout not found"));
-
-        // Verify user owns the workout
-        if (!workout.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User not authorized to update this exercise");
-        }
+        // Verify exercise exists and the user owns its workout
+        Exercise existingExercise = findOwnedExercise(exerciseDTO.getId(), userId,
+                "User not authorized to update this exercise");
 
         // Verify exercise belongs to the specified workout
         if (!existingExercise.getWorkout().getId().equals(exerciseDTO.getWorkoutId())) {
             throw new IllegalArgumentException("Exercise does not belong to the specified workout");
         }
 
+        String previousName = existingExercise.getName();
+
         Exercise updatedExercise = mergeExercise(exerciseDTO, existingExercise, userId);
+        Exercise savedExercise = eRepo.save(updatedExercise);
 
-        return eMapper.toDto(eRepo.save(updatedExercise));
+        // Renaming moves the exercise's sets between personal records
+        if (!previousName.equals(savedExercise.getName())) {
+            personalRecordIndex.onExercisesChanged(userId, List.of(previousName, savedExercise.getName()));
+            exerciseNameIndex.onExercisesRemoved(userId);
+        }
+        trainingLogCache.onExerciseSaved(userId, savedExercise);
+        analyticsCache.invalidateUser(userId);
+
+        return eMapper.toDto(savedExercise);
 
     }
 
     @Override
     public void deleteExercise(Long exerciseId, Long userId) throws AccessDeniedException {
-        Exercise exercise = eRepo.findById(exerciseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Exercise not found"));
-
-        // Verify user owns the exercise through workout
-        if (!exercise.getWorkout().getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User not authorized to delete this exercise");
-        }
+        Exercise exercise = findOwnedExercise(exerciseId, userId, "User not authorized to delete this exercise");
 
         eRepo.delete(exercise);
+        personalRecordIndex.onExercisesChanged(userId, List.of(exercise.getName()));
+        trainingLogCache.onExerciseRemoved(userId, exercise.getId());
+        exerciseNameIndex.onExercisesRemoved(userId);
+        analyticsCache.invalidateUser(userId);
 
     }
 
@@ -189,15 +215,14 @@ public class ExerciseServiceImplementation implements ExerciseService {
         String normalizedInput = input.toLowerCase().replaceAll("\\s+", "");
 
         // Get user history matches
-        Optional<Exercise> historicalMatch = findMatchInUserHistory(input, userId);
-        historicalMatch.ifPresent(exercise -> suggestions.add(new ExerciseSuggestionDTO(
-                exercise.getName(),
-                exercise.getCanonicalExercise() != null ? exercise.getCanonicalExercise().getName() : null,
+        Optional<HistoryMatch> historicalMatch = exerciseNameIndex.findMatch(userId, input);
+        historicalMatch.ifPresent(match -> suggestions.add(new ExerciseSuggestionDTO(
+                match.name(),
+                match.canonicalExercise() != null ? match.canonicalExercise().getName() : null,
                 true)));
 
         // Get canonical matches
-        List<CanonicalExercise> canonicalMatches = canonicalRepo
-                .findByNameOrVariationOrAliasContainingIgnoreCase(normalizedInput);
+        List<CanonicalExercise> canonicalMatches = canonicalMatcher.search(normalizedInput);
         for (CanonicalExercise canonical : canonicalMatches) {
             if (suggestions.stream().noneMatch(s -> s.getCanonicalName() != null &&
                     s.getCanonicalName().equals(canonical.getName()))) {
@@ -218,17 +243,8 @@ public class ExerciseServiceImplementation implements ExerciseService {
             // Set the new name
             exercise.setName(exerciseDTO.getName());
 
-            // Try to find match in user's history first
-            Optional<Exercise> historicalMatch = findMatchInUserHistory(exerciseDTO.getName(), userId);
-
-            if (historicalMatch.isPresent()) {
-                // Update canonical exercise based on historical match
-                exercise.setCanonicalExercise(historicalMatch.get().getCanonicalExercise());
-            } else {
-                // Try to find a canonical match
-                Optional<CanonicalExercise> canonicalMatch = findCanonicalMatch(exerciseDTO.getName());
-                exercise.setCanonicalExercise(canonicalMatch.orElse(null)); // Set or clear canonical reference
-            }
+            // Set or clear the canonical reference
+            exercise.setCanonicalExercise(resolveCanonicalExercise(exerciseDTO.getName(), userId));
         }
 
         // Handle isTimeBased changes
@@ -306,72 +322,20 @@ public class ExerciseServiceImplementation implements ExerciseService {
         return exercise;
     }
 
-    private Optional<CanonicalExercise> findCanonicalMatch(String exerciseName) {
-        String normalizedInput = exerciseName.toLowerCase().replaceAll("\\s+", "");
-
-        // First try exact match
-        Optional<CanonicalExercise> exactMatch = canonicalRepo.findByNameIgnoreCase(normalizedInput);
-        if (exactMatch.isPresent()) {
-            return exactMatch;
-        }
-
-        // If no exact match, try searching variations and aliases
-        List<CanonicalExercise> matches = canonicalRepo
-                .findByNameOrVariationOrAliasContainingIgnoreCase(normalizedInput);
-        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
-    }
-
-    private Optional<Exercise> findMatchInUserHistory(String exerciseName, Long userId) {
-        // Normalize input
-        String normalizedInput = exerciseName.toLowerCase().replaceAll("\\s+", "");
-
-        // Determine appropriate fuzzy matching threshold
-        int maxDistance = determineLevenshteinThreshold(normalizedInput.length());
-
-        // Skip fuzzy matching for very short inputs
-        if (normalizedInput.length() <= 2) {
-            return eRepo.findByUserIdAndNameIgnoreCase(userId, normalizedInput);
-        }
-
-        // Get all normalized exercise names for the user
-        List<String> userExerciseNames = eRepo.findDistinctExerciseNamesByUserId(userId);
-
-        // First try exact match on normalized name
-        Optional<String> exactMatch = userExerciseNames.stream()
-                .filter(name -> name.equals(normalizedInput))
-                .findFirst();
-
-        if (exactMatch.isPresent()) {
-            return eRepo.findByUserIdAndNameIgnoreCase(userId, exactMatch.get());
-        }
-
-        // Fuzzy matching with dynamic threshold
-        Optional<String> fuzzyMatch = userExerciseNames.stream()
-                .map(name -> {
-                    int distance = levenshteinDistance.apply(normalizedInput, name);
-                    double similarityPercentage = 1.0
-                            - (distance / (double) Math.max(normalizedInput.length(), name.length()));
-                    return new AbstractMap.SimpleEntry<>(name,
-                            new AbstractMap.SimpleEntry<>(distance, similarityPercentage));
-                })
-                .filter(entry -> entry.getValue().getKey() <= maxDistance &&
-                        entry.getValue().getValue() >= 0.75)
-                .max(Comparator.comparingDouble(entry -> entry.getValue().getValue()))
-                .map(Map.Entry::getKey);
-
-        if (fuzzyMatch.isPresent()) {
-            return eRepo.findByUserIdAndNameIgnoreCase(userId, fuzzyMatch.get());
+    // A match in the user's history wins, even when it has no canonical
+    // exercise; otherwise the catalog is searched
+    private CanonicalExercise resolveCanonicalExercise(String exerciseName, Long userId) {
+        Optional<HistoryMatch> historicalMatch = exerciseNameIndex.findMatch(userId, exerciseName);
+        if (historicalMatch.isPresent()) {
+            return historicalMatch.get().canonicalExercise();
         }
-
-        return Optional.empty();
+        return findCanonicalMatch(exerciseName).orElse(null);
     }
 
-    private int determineLevenshteinThreshold(int inputLength) {
-        if (inputLength <= 4)
-            return 1;
-        if (inputLength <= 7)
-            return 2;
-        return 3;
+    private Optional<CanonicalExercise> findCanonicalMatch(String exerciseName) {
+        // Exact name first, then names, variations and aliases containing the
+        // input; answered from the in-memory catalog
+        return canonicalMatcher.findMatch(exerciseName);
     }
 
     @Override
@@ -380,16 +344,9 @@ public class ExerciseServiceImplementation implements ExerciseService {
             throw new IllegalArgumentException("Invalid input parameters");
         }
 
-        // Get all exercises for the user and filter by muscle group
+        // Only the user's exercises, the query filters by owner
         List<Exercise> exercises = eRepo.findByUserIdAndMuscleGroup(userId, muscleGroup);
 
-        // Verify user has access to all exercises
-        for (Exercise exercise : exercises) {
-            if (!exercise.getWorkout().getUser().getId().equals(userId)) {
-                throw new AccessDeniedException("User is not authorized to access one or more exercises");
-            }
-        }
-
         return eMapper.toDtoList(exercises);
     }
 
@@ -420,4 +377,30 @@ public class ExerciseServiceImplementation implements ExerciseService {
          */
     }
 
+    // Ownership is checked by the lookup itself. Only when it comes back empty
+    // does a second query tell a missing row from someone else's.
+    private Exercise findOwnedExercise(Long exerciseId, Long userId, String deniedMessage)
+            throws AccessDeniedException {
+        Optional<Exercise> exercise = eRepo.findByIdAndWorkoutUserId(exerciseId, userId);
+        if (exercise.isPresent()) {
+            return exercise.get();
+        }
+        if (eRepo.existsById(exerciseId)) {
+            throw new AccessDeniedException(deniedMessage);
+        }
+        throw new ResourceNotFoundException("Exercise not found");
+    }
+
+    private Workout findOwnedWorkout(Long workoutId, Long userId, String deniedMessage)
+            throws AccessDeniedException {
+        Optional<Workout> workout = wRepo.findByIdAndUserId(workoutId, userId);
+        if (workout.isPresent()) {
+            return workout.get();
+        }
+        if (wRepo.existsById(workoutId)) {
+            throw new AccessDeniedException(deniedMessage);
+        }
+        throw new ResourceNotFoundException("Workout not found");
+    }
+
 }
@@ -9,10 +9,16 @@ import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
 import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
 import com.ephyris.ephyris_engine.Service.ExerciseSetService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.file.AccessDeniedException;
 import java.util.List;
+import java.util.Optional;
 
+// Each write saves the set and updates the personal records in one
+// transaction, so a failing index write rolls the set back instead of
+// leaving the index wrong. In-memory caches are patched after the commit.
 @Service
 public class ExerciseSetServiceImplementation implements ExerciseSetService {
 
@@ -22,49 +28,49 @@ public class ExerciseSetServiceImplementation implements ExerciseSetService {
 
     private final ExerciseRepository eRepo;
 
+    private final PersonalRecordIndex personalRecordIndex;
+
+    private final TrainingLogCache trainingLogCache;
+
+    private final AnalyticsCache analyticsCache;
+
+    private final TransactionTemplate transactionTemplate;
+
     public ExerciseSetServiceImplementation(ExerciseSetRepository eSRepo, ExerciseSetMapper eSMapper,
-            ExerciseRepository eRepo) {
+            ExerciseRepository eRepo, PersonalRecordIndex personalRecordIndex,
+            TrainingLogCache trainingLogCache, AnalyticsCache analyticsCache,
+            PlatformTransactionManager transactionManager) {
         this.eSRepo = eSRepo;
         this.eSMapper = eSMapper;
         this.eRepo = eRepo;
+        this.personalRecordIndex = personalRecordIndex;
+        this.trainingLogCache = trainingLogCache;
+        this.analyticsCache = analyticsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // Note for exercise suggest to user that one is already created instead of
     // creating a new one
     @Override
     public ExerciseSetDTO createExerciseSet(ExerciseSetDTO exerciseSetDTO, Long userId) throws AccessDeniedException {
-        System.out.println("Starting createExerciseSet with exerciseId: " + exerciseSetDTO.getExerciseId());
-
         if (exerciseSetDTO == null || exerciseSetDTO.getExerciseId() == null) {
-            System.out.println("Invalid exercise set data - DTO or exerciseId is null");
             throw new IllegalArgumentException("Invalid exercise set data");
         }
 
-        Exercise exercise = eRepo.findById(exerciseSetDTO.getExerciseId())
-                .orElseThrow(() -> {
-                    System.out.println("Exercise not found with ID: " + exerciseSetDTO.getExerciseId());
-                    return new ResourceNotFoundException("Exercise does not exist");
-                });
+        Exercise exercise = findOwnedExercise(exerciseSetDTO.getExerciseId(), userId,
+                "User is not permitted to make changes to this exercise");
 
-        if (!exercise.getWorkout().getUser().getId().equals(userId)) {
-            System.out.println("User " + userId + " not authorized to modify exercise " + exercise.getId());
-            throw new AccessDeniedException("User is not permitted to make changes to this exercise");
-        }
-
-        System.out.println("Mapping DTO to entity");
         ExerciseSet exSet = eSMapper.toEntity(exerciseSetDTO);
         exSet.setExercise(exercise);
 
-        System.out.println("Saving exercise set");
-        ExerciseSet savedSet = eSRepo.save(exSet);
-        System.out.println("Exercise set saved with ID: " + savedSet.getId());
+        ExerciseSet savedSet = transactionTemplate.execute(status -> {
+            ExerciseSet saved = eSRepo.save(exSet);
+            personalRecordIndex.onSetSaved(saved, userId);
+            return saved;
+        });
 
-        // Update the exercise's sets list
-        System.out.println("Adding set to exercise's sets list");
-        exercise.getSets().add(savedSet);
-        System.out.println("Saving exercise with updated sets list");
-        eRepo.save(exercise);
-        System.out.println("Exercise saved successfully");
+        trainingLogCache.onSetSaved(userId, savedSet);
+        analyticsCache.invalidateUser(userId);
 
         return eSMapper.toDTO(savedSet);
     }
@@ -75,15 +81,7 @@ public class ExerciseSetServiceImplementation implements ExerciseSetService {
             throw new IllegalArgumentException("Invalid exercise set data");
         }
 
-        ExerciseSet exerciseSet = eSRepo.findById(exerciseSetId).orElseThrow(
-                () -> new ResourceNotFoundException("Set does not exist"));
-
-        Exercise exercise = eRepo.findById(exerciseSet.getExercise().getId()).orElseThrow(
-                () -> new ResourceNotFoundException("Exercise does not exist"));
-
-        if (!exercise.getWorkout().getId().equals(userId)) {
-            throw new AccessDeniedException("User does not have access to this Exercise user_id = ");
-        }
+        ExerciseSet exerciseSet = findOwnedSet(exerciseSetId, userId, "User does not have access to this Exercise");
 
         return eSMapper.toDTO(exerciseSet);
 
@@ -95,12 +93,7 @@ public class ExerciseSetServiceImplementation implements ExerciseSetService {
             throw new IllegalArgumentException("Invalid exercise set data");
         }
 
-        Exercise exercise = eRepo.findById(exerciseId).orElseThrow(
-                () -> new ResourceNotFoundException("Exercise does not exist"));
-
-        if (!exercise.getWorkout().getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User does not have access to this Exercise");
-        }
+        Exercise exercise = findOwnedExercise(exerciseId, userId, "User does not have access to this Exercise");
 
         return eSMapper.toDtoList(exercise.getSets());
     }
@@ -112,22 +105,34 @@ public class ExerciseSetServiceImplementation implements ExerciseSetService {
             throw new IllegalArgumentException("Invalid exercise set data");
         }
 
-        ExerciseSet exerciseSet = eSRepo.findById(exerciseSetDTO.getId()).orElseThrow(
-                () -> new ResourceNotFoundException("Set does not exist"));
+        // Both the set and the exercise it ends up in must be the user's; a set
+        // that stays put needs only the one lookup
+        ExerciseSet exerciseSet = findOwnedSet(exerciseSetDTO.getId(), userId,
+                "User does not have access to this Exercise");
 
-        Exercise exercise = eRepo.findById(exerciseSetDTO.getExerciseId()).orElseThrow(
-                () -> new ResourceNotFoundException("Exercise does not exist"));
-
-        if (!exercise.getWorkout().getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User does not have access to this Exercise uid = "
-                    + exercise.getWorkout().getUser().getId());
-        }
+        Exercise previous = exerciseSet.getExercise();
+        Exercise exercise = exerciseSetDTO.getExerciseId() == null
+                || exerciseSetDTO.getExerciseId().equals(previous.getId()) ? previous
+                        : findOwnedExercise(exerciseSetDTO.getExerciseId(), userId,
+                                "User does not have access to this Exercise");
 
         ExerciseSet updatedExerciseSet = mergeExerciseSet(exerciseSetDTO, exerciseSet);
 
         updatedExerciseSet.setExercise(exercise);
 
-        return eSMapper.toDTO(eSRepo.save(updatedExerciseSet));
+        ExerciseSet savedSet = transactionTemplate.execute(status -> {
+            ExerciseSet saved = eSRepo.save(updatedExerciseSet);
+            if (previous != exercise) {
+                // If the set held the old exercise's record, that record moves on
+                personalRecordIndex.onSetDeleted(saved.getId(), previous.getName(), userId);
+            }
+            personalRecordIndex.onSetSaved(saved, userId);
+            return saved;
+        });
+        trainingLogCache.onSetSaved(userId, savedSet);
+        analyticsCache.invalidateUser(userId);
+
+        return eSMapper.toDTO(savedSet);
     }
 
     private ExerciseSet mergeExerciseSet(ExerciseSetDTO exerciseSetDTO, ExerciseSet existingExerciseSet) {
@@ -160,18 +165,15 @@ public class ExerciseSetServiceImplementation implements ExerciseSetService {
     @Override
     public void deleteExerciseSet(Long exerciseSetId, Long userId) throws AccessDeniedException {
 
-        ExerciseSet exerciseSet = eSRepo.findById(exerciseSetId).orElseThrow(
-                () -> new ResourceNotFoundException("Set does not exist"));
-
-        Exercise exercise = eRepo.findById(exerciseSet.getExercise().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Exercise not found"));
-
-        // Verify user owns the exercise through workout
-        if (!exercise.getWorkout().getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User not authorized to delete this exercise");
-        }
+        ExerciseSet exerciseSet = findOwnedSet(exerciseSetId, userId, "User not authorized to delete this exercise");
+        Exercise exercise = exerciseSet.getExercise();
 
-        eSRepo.delete(exerciseSet);
+        transactionTemplate.executeWithoutResult(status -> {
+            eSRepo.delete(exerciseSet);
+            personalRecordIndex.onSetDeleted(exerciseSet.getId(), exercise.getName(), userId);
+        });
+        trainingLogCache.onSetDeleted(userId, exerciseSet.getId());
+        analyticsCache.invalidateUser(userId);
     }
 
     @Override
@@ -181,17 +183,18 @@ public class ExerciseSetServiceImplementation implements ExerciseSetService {
             throw new IllegalArgumentException("Invalid input data");
         }
 
-        ExerciseSet exerciseSet = eSRepo.findById(setId).orElseThrow(
-                () -> new ResourceNotFoundException("Set does not exist"));
-
-        Exercise exercise = exerciseSet.getExercise();
-
-        if (!exercise.getWorkout().getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User does not have access to this Exercise");
-        }
+        ExerciseSet exerciseSet = findOwnedSet(setId, userId, "User does not have access to this Exercise");
 
         exerciseSet.setCompleted(completed);
-        return eSMapper.toDTO(eSRepo.save(exerciseSet));
+        ExerciseSet savedSet = transactionTemplate.execute(status -> {
+            ExerciseSet saved = eSRepo.save(exerciseSet);
+            personalRecordIndex.onSetSaved(saved, userId);
+            return saved;
+        });
+        trainingLogCache.onSetSaved(userId, savedSet);
+        analyticsCache.invalidateUser(userId);
+
+        return eSMapper.toDTO(savedSet);
     }
 
     @Override
@@ -200,15 +203,35 @@ public class ExerciseSetServiceImplementation implements ExerciseSetService {
             throw new IllegalArgumentException("Invalid input data");
         }
 
-        Exercise exercise = eRepo.findById(exerciseId).orElseThrow(
-                () -> new ResourceNotFoundException("Exercise does not exist"));
-
-        if (!exercise.getWorkout().getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User does not have access to this Exercise");
-        }
+        Exercise exercise = findOwnedExercise(exerciseId, userId, "User does not have access to this Exercise");
 
         return (int) exercise.getSets().stream()
                 .filter(set -> Boolean.TRUE.equals(set.getCompleted()))
                 .count();
     }
+
+    // Ownership is checked by the lookup itself. Only when it comes back empty
+    // does a second query tell a missing row from someone else's.
+    private ExerciseSet findOwnedSet(Long setId, Long userId, String deniedMessage) throws AccessDeniedException {
+        Optional<ExerciseSet> exerciseSet = eSRepo.findByIdAndExerciseWorkoutUserId(setId, userId);
+        if (exerciseSet.isPresent()) {
+            return exerciseSet.get();
+        }
+        if (eSRepo.existsById(setId)) {
+            throw new AccessDeniedException(deniedMessage);
+        }
+        throw new ResourceNotFoundException("Set does not exist");
+    }
+
+    private Exercise findOwnedExercise(Long exerciseId, Long userId, String deniedMessage)
+            throws AccessDeniedException {
+        Optional<Exercise> exercise = eRepo.findByIdAndWorkoutUserId(exerciseId, userId);
+        if (exercise.isPresent()) {
+            return exercise.get();
+        }
+        if (eRepo.existsById(exerciseId)) {
+            throw new AccessDeniedException(deniedMessage);
+        }
+        throw new ResourceNotFoundException("Exercise does not exist");
+    }
 }
@@ -0,0 +1,284 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.DataTransferObject.PersonalRecordDTO;
+import com.ephyris.ephyris_engine.Entity.ExerciseSet;
+import com.ephyris.ephyris_engine.Entity.PersonalRecord;
+import com.ephyris.ephyris_engine.Entity.PersonalRecordBackfill;
+import com.ephyris.ephyris_engine.Repository.CompletedSetView;
+import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
+import com.ephyris.ephyris_engine.Repository.PersonalRecordBackfillRepository;
+import com.ephyris.ephyris_engine.Repository.PersonalRecordRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the personal_records table in step with exercise set writes.
+ *
+ * A record is the completed set with the highest volume for a given user and
+ * exercise name. Writes that can only raise a record are applied directly;
+ * writes that may lower one (deleting, un-completing or shrinking the record
+ * set, renaming or deleting its exercise) recompute that single exercise
+ * from the user's completed sets.
+ *
+ * A user's first read or write computes all their records from their whole
+ * history and marks them in personal_record_backfills, so history from
+ * before the index existed is picked up exactly once.
+ *
+ * Set writes call the hooks inside their own transaction, so the records
+ * commit or roll back together with the set. Called outside a transaction,
+ * each repository call commits on its own and a concurrent insert of the
+ * same record only costs a re-read.
+ */
+@Service
+public class PersonalRecordIndex {
+
+    // Records set within this many days are flagged as new
+    static final int NEW_RECORD_WINDOW_DAYS = 7;
+
+    private final PersonalRecordRepository prRepo;
+    private final ExerciseSetRepository eSRepo;
+    private final PersonalRecordBackfillRepository backfillRepo;
+
+    public PersonalRecordIndex(PersonalRecordRepository prRepo, ExerciseSetRepository eSRepo,
+            PersonalRecordBackfillRepository backfillRepo) {
+        this.prRepo = prRepo;
+        this.eSRepo = eSRepo;
+        this.backfillRepo = backfillRepo;
+    }
+
+    public List<PersonalRecordDTO> getPersonalRecords(Long userId) {
+        // Users with history from before the index existed are backfilled on first read
+        List<PersonalRecord> records = backfillRepo.existsById(userId)
+                ? prRepo.findByUserIdOrderByExerciseNameAsc(userId)
+                : rebuild(userId);
+
+        LocalDate newSince = LocalDate.now().minusDays(NEW_RECORD_WINDOW_DAYS);
+        List<PersonalRecordDTO> dtos = new ArrayList<>(records.size());
+        for (PersonalRecord record : records) {
+            // For time-based exercises, use duration as "reps" and weight as 0
+            double weight = Boolean.TRUE.equals(record.getIsTimeBased()) ? 0.0
+                    : (record.getWeight() != null ? record.getWeight() : 0.0);
+            int reps = record.getValue() != null ? record.getValue() : 0;
+
+            dtos.add(new PersonalRecordDTO(
+                    record.getExerciseName(),
+                    weight,
+                    reps,
+                    record.getDate(),
+                    !record.getDate().isBefore(newSince)));
+        }
+        return dtos;
+    }
+
+    /**
+     * Applies a created or updated set. The set must be attached to its
+     * exercise and workout.
+     */
+    public void onSetSaved(ExerciseSet set, Long userId) {
+        if (backfill(userId)) {
+            return;
+        }
+
+        String exerciseName = set.getExercise().getName();
+        Optional<PersonalRecord> current = prRepo.findByUserIdAndExerciseName(userId, exerciseName);
+        boolean completed = Boolean.TRUE.equals(set.getCompleted());
+        double volume = VolumeCalculator.setVolume(set.getValue(), set.getWeight(), set.getIsTimeBased());
+
+        if (current.isPresent() && current.get().getExerciseSetId().equals(set.getId())) {
+            if (completed && volume >= current.get().getVolume()) {
+                PersonalRecord record = current.get();
+                apply(record, set.getId(), set.getExercise().getWorkout().getDate(), set.getValue(),
+                        set.getWeight(), set.getIsTimeBased(), volume);
+                prRepo.save(record);
+            } else {
+                // The record set got weaker, another set may hold the record now
+                rebuild(userId, exerciseName);
+            }
+            return;
+        }
+
+        if (completed && (current.isEmpty() || volume > current.get().getVolume())) {
+            PersonalRecord record = current.orElseGet(() -> newRecord(userId, exerciseName));
+            apply(record, set.getId(), set.getExercise().getWorkout().getDate(), set.getValue(),
+                    set.getWeight(), set.getIsTimeBased(), volume);
+            try {
+                prRepo.save(record);
+            } catch (DataIntegrityViolationException e) {
+                // Another request created the record first
+                rebuild(userId, exerciseName);
+            }
+        }
+    }
+
+    /**
+     * Applies sets created together, e.g. a whole new workout. Only the
+     * strongest completed set per exercise name can change a record, so that
+     * is the only one looked up.
+     */
+    public void onSetsCreated(Collection<ExerciseSet> sets, Long userId) {
+        if (backfill(userId)) {
+            return;
+        }
+
+        Map<String, ExerciseSet> bestByExercise = new LinkedHashMap<>();
+        Map<String, Double> bestVolumes = new HashMap<>();
+        for (ExerciseSet set : sets) {
+            if (!Boolean.TRUE.equals(set.getCompleted())) {
+                continue;
+            }
+            String exerciseName = set.getExercise().getName();
+            double volume = VolumeCalculator.setVolume(set.getValue(), set.getWeight(), set.getIsTimeBased());
+            Double bestVolume = bestVolumes.get(exerciseName);
+            if (bestVolume == null || volume > bestVolume) {
+                bestByExercise.put(exerciseName, set);
+                bestVolumes.put(exerciseName, volume);
+            }
+        }
+
+        for (ExerciseSet set : bestByExercise.values()) {
+            onSetSaved(set, userId);
+        }
+    }
+
+    public void onSetDeleted(Long setId, String exerciseName, Long userId) {
+        Optional<PersonalRecord> current = prRepo.findByUserIdAndExerciseName(userId, exerciseName);
+
+        if (current.isPresent() && current.get().getExerciseSetId().equals(setId)) {
+            rebuild(userId, exerciseName);
+        }
+    }
+
+    // Recomputes the records for exercises whose sets were removed or renamed
+    // in bulk (exercise or workout deletes, renames)
+    public void onExercisesChanged(Long userId, Collection<String> exerciseNames) {
+        for (String exerciseName : new HashSet<>(exerciseNames)) {
+            rebuild(userId, exerciseName);
+        }
+    }
+
+    /**
+     * Recomputes a single exercise's record from the user's completed sets.
+     */
+    public void rebuild(Long userId, String exerciseName) {
+        CompletedSetView best = bestSet(eSRepo.findCompletedSetsByUserIdAndExerciseName(userId, exerciseName));
+        Optional<PersonalRecord> current = prRepo.findByUserIdAndExerciseName(userId, exerciseName);
+
+        if (best == null) {
+            current.ifPresent(prRepo::delete);
+            return;
+        }
+
+        PersonalRecord record = current.orElseGet(() -> newRecord(userId, exerciseName));
+        apply(record, best);
+        try {
+            prRepo.save(record);
+        } catch (DataIntegrityViolationException e) {
+            // Lost an insert race; the winner saw the same sets
+        }
+    }
+
+    /**
+     * Recomputes every record for a user from one query over their completed
+     * sets.
+     */
+    public List<PersonalRecord> rebuild(Long userId) {
+        Map<String, List<CompletedSetView>> setsByExercise = new LinkedHashMap<>();
+        for (CompletedSetView set : eSRepo.findCompletedSetsByUserId(userId)) {
+            setsByExercise.computeIfAbsent(set.getExerciseName(), k -> new ArrayList<>()).add(set);
+        }
+
+        Map<String, PersonalRecord> existing = new LinkedHashMap<>();
+        for (PersonalRecord record : prRepo.findByUserIdOrderByExerciseNameAsc(userId)) {
+            existing.put(record.getExerciseName(), record);
+        }
+
+        List<PersonalRecord> records = new ArrayList<>();
+        for (Map.Entry<String, List<CompletedSetView>> entry : setsByExercise.entrySet()) {
+            PersonalRecord record = existing.remove(entry.getKey());
+            if (record == null) {
+                record = newRecord(userId, entry.getKey());
+            }
+            apply(record, bestSet(entry.getValue()));
+            records.add(record);
+        }
+
+        prRepo.deleteAll(existing.values());
+        try {
+            records = prRepo.saveAll(records);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent rebuild got there first
+            records = prRepo.findByUserIdOrderByExerciseNameAsc(userId);
+        }
+
+        markBackfilled(userId);
+
+        records.sort(Comparator.comparing(PersonalRecord::getExerciseName));
+        return records;
+    }
+
+    // Before the backfill the user's older sets are missing from the index
+    // too, and writing just this one would look like a complete index. A
+    // rebuild picks up the write along with them.
+    private boolean backfill(Long userId) {
+        if (backfillRepo.existsById(userId)) {
+            return false;
+        }
+        rebuild(userId);
+        return true;
+    }
+
+    private void markBackfilled(Long userId) {
+        try {
+            backfillRepo.save(new PersonalRecordBackfill(userId));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent rebuild marked the user first
+        }
+    }
+
+    // Highest volume wins, the earliest set keeps the record on ties
+    private CompletedSetView bestSet(List<CompletedSetView> sets) {
+        CompletedSetView best = null;
+        double bestVolume = 0.0;
+        for (CompletedSetView set : sets) {
+            double volume = VolumeCalculator.setVolume(set.getValue(), set.getWeight(), set.getIsTimeBased());
+            if (best == null || volume > bestVolume) {
+                best = set;
+                bestVolume = volume;
+            }
+        }
+        return best;
+    }
+
+    private PersonalRecord newRecord(Long userId, String exerciseName) {
+        PersonalRecord record = new PersonalRecord();
+        record.setUserId(userId);
+        record.setExerciseName(exerciseName);
+        return record;
+    }
+
+    private void apply(PersonalRecord record, CompletedSetView set) {
+        apply(record, set.getSetId(), set.getDate(), set.getValue(), set.getWeight(), set.getIsTimeBased(),
+                VolumeCalculator.setVolume(set.getValue(), set.getWeight(), set.getIsTimeBased()));
+    }
+
+    private void apply(PersonalRecord record, Long setId, LocalDate date, Integer value, Double weight,
+            Boolean isTimeBased, double volume) {
+        record.setExerciseSetId(setId);
+        record.setDate(date);
+        record.setValue(value);
+        record.setWeight(weight);
+        record.setIsTimeBased(Boolean.TRUE.equals(isTimeBased));
+        record.setVolume(volume);
+    }
+}
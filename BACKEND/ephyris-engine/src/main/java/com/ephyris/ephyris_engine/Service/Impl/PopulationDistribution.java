@@ -0,0 +1,157 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
+import com.ephyris.ephyris_engine.Repository.UserDailyWorkoutCountView;
+import com.ephyris.ephyris_engine.Repository.UserRepository;
+import com.ephyris.ephyris_engine.Repository.UserSetVolumeView;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * How a user's numbers rank against everyone else's.
+ *
+ * Consistency scores and weekly volumes of all users are folded into two
+ * {@link PopulationHistogram}s, which are swapped for fresh ones on a fixed
+ * delay (analytics.population.refresh-ms). A refresh is two queries over
+ * the reference window; requests only do a bucket lookup.
+ *
+ * Scores are computed over the last {@value #REFERENCE_WEEKS} weeks, the
+ * default report range, and every user counts, including those who have not
+ * trained in that time. Volumes are one sample per user and complete
+ * Monday-Sunday week with training in the same number of weeks, summed
+ * from the completed sets with {@link VolumeCalculator}.
+ */
+@Service
+public class PopulationDistribution {
+
+    private static final Logger log = LoggerFactory.getLogger(PopulationDistribution.class);
+
+    static final int REFERENCE_WEEKS = 7;
+
+    private static final double MAX_WEEKLY_VOLUME = 10_000_000.0;
+    private static final double VOLUME_RELATIVE_ERROR = 0.01;
+
+    private final WorkoutRepository workoutRepository;
+    private final ExerciseSetRepository eSRepo;
+    private final UserRepository userRepository;
+
+    private volatile Snapshot snapshot;
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public PopulationDistribution(WorkoutRepository workoutRepository, ExerciseSetRepository eSRepo,
+            UserRepository userRepository) {
+        this.workoutRepository = workoutRepository;
+        this.eSRepo = eSRepo;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Share of users with the same or a better consistency score, 1 to 100
+     * (1 is the top 1%), or 0 when there is nobody to rank against yet.
+     */
+    public int consistencyTopPercent(int consistencyScore) {
+        PopulationHistogram scores = snapshot().consistencyScores();
+        return scores.isEmpty() ? 0 : scores.topPercent(consistencyScore);
+    }
+
+    /**
+     * Share of training weeks with the same or a higher volume, 1 to 100, or
+     * 0 for a week without volume or when there is nobody to rank against.
+     */
+    public int weeklyVolumeTopPercent(double volume) {
+        PopulationHistogram volumes = snapshot().weeklyVolumes();
+        return volume <= 0 || volumes.isEmpty() ? 0 : volumes.topPercent(volume);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.population.refresh-ms:900000}")
+    public void refresh() {
+        LocalDate now = LocalDate.now();
+        Snapshot fresh = new Snapshot(loadConsistencyScores(now), loadWeeklyVolumes(now));
+        snapshot = fresh;
+        log.debug("Ranked {} consistency scores and {} weekly volumes", fresh.consistencyScores().total(),
+                fresh.weeklyVolumes().total());
+    }
+
+    private PopulationHistogram loadConsistencyScores(LocalDate now) {
+        LocalDate start = now.minusWeeks(REFERENCE_WEEKS - 1).with(DayOfWeek.MONDAY);
+
+        Map<Long, List<UserDailyWorkoutCountView>> byUser = new HashMap<>();
+        for (UserDailyWorkoutCountView day : workoutRepository.countPerUserAndDayBetween(start, now)) {
+            byUser.computeIfAbsent(day.getUserId(), id -> new ArrayList<>()).add(day);
+        }
+
+        PopulationHistogram.Builder scores = PopulationHistogram.linear(100);
+        for (List<UserDailyWorkoutCountView> days : byUser.values()) {
+            scores.add(consistencyScore(DailyWorkoutHistogram.of(start, now, days), now));
+        }
+
+        // Everyone else scores like an empty calendar
+        long inactiveUsers = userRepository.count() - byUser.size();
+        if (inactiveUsers > 0) {
+            scores.add(consistencyScore(DailyWorkoutHistogram.of(start, now, List.of()), now), inactiveUsers);
+        }
+        return scores.build();
+    }
+
+    private static int consistencyScore(DailyWorkoutHistogram histogram, LocalDate now) {
+        return AnalyticsServiceImplementation.calculateConsistencyScore(
+                AnalyticsServiceImplementation.calculateWeeklyFrequency(histogram, now, REFERENCE_WEEKS));
+    }
+
+    private PopulationHistogram loadWeeklyVolumes(LocalDate now) {
+        LocalDate end = now.with(DayOfWeek.MONDAY).minusDays(1);
+        LocalDate start = end.plusDays(1).minusWeeks(REFERENCE_WEEKS);
+
+        // Week i of the window per user, oldest first
+        Map<Long, double[]> byUser = new HashMap<>();
+        for (UserSetVolumeView set : eSRepo.findCompletedSetsBetween(start, end)) {
+            int week = (int) (ChronoUnit.DAYS.between(start, set.getDate()) / 7);
+            byUser.computeIfAbsent(set.getUserId(), id -> new double[REFERENCE_WEEKS])[week] += VolumeCalculator
+                    .setVolume(set.getValue(), set.getWeight(), set.getIsTimeBased());
+        }
+
+        PopulationHistogram.Builder volumes = PopulationHistogram.logarithmic(MAX_WEEKLY_VOLUME,
+                VOLUME_RELATIVE_ERROR);
+        for (double[] weeks : byUser.values()) {
+            for (double volume : weeks) {
+                if (volume > 0) {
+                    volumes.add(volume);
+                }
+            }
+        }
+        return volumes.build();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // A lock, not synchronized: the first load is a JDBC call and
+            // would pin a virtual thread to its carrier
+            loadLock.lock();
+            try {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(PopulationHistogram consistencyScores, PopulationHistogram weeklyVolumes) {
+    }
+}
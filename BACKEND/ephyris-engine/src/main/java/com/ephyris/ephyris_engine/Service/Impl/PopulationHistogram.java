@@ -0,0 +1,106 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+/**
+ * Distribution of one metric over all users, in a fixed number of buckets.
+ *
+ * Linear histograms give every integer from 0 to a maximum its own bucket,
+ * which is exact for scores. Logarithmic ones grow each bucket by a relative
+ * error, HDR-style, so unbounded values like volume fit in a couple of
+ * thousand buckets with a known precision. Memory depends only on the
+ * bucketing, never on the number of users, and a rank lookup is one bucket
+ * index plus one array read.
+ */
+public final class PopulationHistogram {
+
+    private final Bucketing bucketing;
+
+    // Samples in the bucket or any bucket above it
+    private final long[] atOrAbove;
+
+    private PopulationHistogram(Bucketing bucketing, long[] atOrAbove) {
+        this.bucketing = bucketing;
+        this.atOrAbove = atOrAbove;
+    }
+
+    /**
+     * One bucket per integer in [0, max]; values are truncated and clamped.
+     */
+    public static Builder linear(int max) {
+        return new Builder(new Bucketing(0.0, max + 1));
+    }
+
+    /**
+     * Values below 1 share the first bucket; every other bucket spans
+     * [b, b × (1 + relativeError)). Values above max share the last bucket.
+     */
+    public static Builder logarithmic(double max, double relativeError) {
+        double logBase = Math.log1p(relativeError);
+        return new Builder(new Bucketing(logBase, 2 + (int) Math.ceil(Math.log(max) / logBase)));
+    }
+
+    public long total() {
+        return atOrAbove[0];
+    }
+
+    public boolean isEmpty() {
+        return total() == 0;
+    }
+
+    /**
+     * The share of the population at or above the value, as a whole percent
+     * from 1 to 100: 1 means top 1%. Samples in the value's own bucket count
+     * as at or above it.
+     */
+    public int topPercent(double value) {
+        if (isEmpty()) {
+            throw new IllegalStateException("Empty population");
+        }
+        long ranked = atOrAbove[bucketing.index(value)];
+        int percent = (int) Math.ceil(100.0 * ranked / total());
+        return Math.max(1, Math.min(100, percent));
+    }
+
+    public static final class Builder {
+
+        private final Bucketing bucketing;
+        private final long[] counts;
+
+        private Builder(Bucketing bucketing) {
+            this.bucketing = bucketing;
+            this.counts = new long[bucketing.buckets];
+        }
+
+        public Builder add(double value) {
+            return add(value, 1);
+        }
+
+        public Builder add(double value, long count) {
+            counts[bucketing.index(value)] += count;
+            return this;
+        }
+
+        public PopulationHistogram build() {
+            long[] atOrAbove = new long[counts.length];
+            long sum = 0;
+            for (int i = counts.length - 1; i >= 0; i--) {
+                sum += counts[i];
+                atOrAbove[i] = sum;
+            }
+            return new PopulationHistogram(bucketing, atOrAbove);
+        }
+    }
+
+    // logBase is 0 for linear bucketing
+    private record Bucketing(double logBase, int buckets) {
+
+        int index(double value) {
+            int index;
+            if (logBase == 0.0) {
+                index = (int) value;
+            } else {
+                index = value < 1.0 ? 0 : 1 + (int) (Math.log(value) / logBase);
+            }
+            return Math.max(0, Math.min(buckets - 1, index));
+        }
+    }
+}
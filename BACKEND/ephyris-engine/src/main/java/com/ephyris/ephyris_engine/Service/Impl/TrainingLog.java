@@ -0,0 +1,270 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Repository.LoggedSetView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A user's completed sets as parallel primitive arrays, one column per field
+ * and one entry per set, ordered by set id.
+ *
+ * Analytics scan the columns they need with no entity, proxy or boxed value
+ * in sight. Muscle groups are stored as ordinals into a per-log dictionary
+ * and volumes follow {@link VolumeCalculator}. Writes patch the columns in
+ * place; new sets have the highest ids and land at the end.
+ *
+ * Scans hold the read lock and patches the write lock, so a log can be
+ * shared by concurrent requests of the same user.
+ */
+public final class TrainingLog {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final byte TIME_BASED = 1;
+
+    // Muscle group of exercises logged without one
+    static final String DEFAULT_MUSCLE_GROUP = "Other";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Muscle group names, indexed by the ordinals in the muscleGroups column
+    private final List<String> muscleGroupNames = new ArrayList<>();
+    private final Map<String, Short> muscleGroupOrdinals = new HashMap<>();
+
+    private long[] setIds;
+    private long[] exerciseIds;
+    private int[] epochDays;
+    private short[] muscleGroups;
+    private double[] weights;
+    private int[] values;
+    private byte[] flags;
+    private int size;
+
+    private TrainingLog(int capacity) {
+        capacity = Math.max(INITIAL_CAPACITY, capacity);
+        setIds = new long[capacity];
+        exerciseIds = new long[capacity];
+        epochDays = new int[capacity];
+        muscleGroups = new short[capacity];
+        weights = new double[capacity];
+        values = new int[capacity];
+        flags = new byte[capacity];
+    }
+
+    /**
+     * @param sets completed sets of a single user, ideally in set id order
+     */
+    public static TrainingLog of(List<? extends LoggedSetView> sets) {
+        TrainingLog log = new TrainingLog(sets.size());
+        for (LoggedSetView set : sets) {
+            log.put(set.getSetId(), set.getExerciseId(), set.getDate(), set.getMuscleGroup(), set.getValue(),
+                    set.getWeight(), set.getIsTimeBased());
+        }
+        return log;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a completed set, or replaces it if the log already has its id.
+     */
+    public void put(long setId, long exerciseId, LocalDate date, String muscleGroup, Integer value, Double weight,
+            Boolean isTimeBased) {
+        lock.writeLock().lock();
+        try {
+            int index = indexOf(setId);
+            if (index < 0) {
+                index = -index - 1;
+                insertAt(index);
+                setIds[index] = setId;
+            }
+            exerciseIds[index] = exerciseId;
+            epochDays[index] = (int) date.toEpochDay();
+            muscleGroups[index] = ordinalOf(muscleGroup);
+            weights[index] = weight != null ? weight : 0.0;
+            values[index] = value != null ? value : 0;
+            flags[index] = Boolean.TRUE.equals(isTimeBased) ? TIME_BASED : 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long setId) {
+        lock.writeLock().lock();
+        try {
+            int index = indexOf(setId);
+            if (index >= 0) {
+                removeRange(index, index + 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every set of an exercise.
+     */
+    public void removeExercise(long exerciseId) {
+        lock.writeLock().lock();
+        try {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (exerciseIds[i] != exerciseId) {
+                    if (kept != i) {
+                        copy(i, kept);
+                    }
+                    kept++;
+                }
+            }
+            size = kept;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Volume per week for consecutive weeks, oldest first.
+     *
+     * @param firstWeekStart first day of the oldest week
+     * @param weeks          number of weeks
+     */
+    public double[] volumeByWeek(LocalDate firstWeekStart, int weeks) {
+        double[] byWeek = new double[Math.max(0, weeks)];
+        long first = firstWeekStart.toEpochDay();
+        long end = first + 7L * byWeek.length;
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                int day = epochDays[i];
+                if (day >= first && day < end) {
+                    byWeek[(int) ((day - first) / 7)] += volumeAt(i);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return byWeek;
+    }
+
+    /**
+     * Volume per muscle group between two days, both inclusive. Groups with
+     * completed sets are listed even if their volume is zero.
+     */
+    public Map<String, Double> volumeByMuscleGroup(LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            double[] byGroup = new double[muscleGroupNames.size()];
+            int[] setsByGroup = new int[muscleGroupNames.size()];
+            for (int i = 0; i < size; i++) {
+                int day = epochDays[i];
+                if (day >= first && day <= last) {
+                    byGroup[muscleGroups[i]] += volumeAt(i);
+                    setsByGroup[muscleGroups[i]]++;
+                }
+            }
+
+            Map<String, Double> volumes = new HashMap<>();
+            for (int group = 0; group < byGroup.length; group++) {
+                if (setsByGroup[group] > 0) {
+                    volumes.put(muscleGroupNames.get(group), byGroup[group]);
+                }
+            }
+            return volumes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double volumeAt(int index) {
+        return VolumeCalculator.setVolume(values[index], weights[index], (flags[index] & TIME_BASED) != 0);
+    }
+
+    // Binary search on the set id column, same contract as Arrays.binarySearch
+    private int indexOf(long setId) {
+        // New sets have the highest ids, check the end first
+        if (size == 0 || setIds[size - 1] < setId) {
+            return -size - 1;
+        }
+        return Arrays.binarySearch(setIds, 0, size, setId);
+    }
+
+    private short ordinalOf(String muscleGroup) {
+        String name = (muscleGroup == null || muscleGroup.isEmpty())
+                ? DEFAULT_MUSCLE_GROUP
+                : muscleGroup;
+        Short ordinal = muscleGroupOrdinals.get(name);
+        if (ordinal == null) {
+            ordinal = (short) muscleGroupNames.size();
+            muscleGroupNames.add(name);
+            muscleGroupOrdinals.put(name, ordinal);
+        }
+        return ordinal;
+    }
+
+    private void insertAt(int index) {
+        if (size == setIds.length) {
+            grow();
+        }
+        if (index < size) {
+            int tail = size - index;
+            System.arraycopy(setIds, index, setIds, index + 1, tail);
+            System.arraycopy(exerciseIds, index, exerciseIds, index + 1, tail);
+            System.arraycopy(epochDays, index, epochDays, index + 1, tail);
+            System.arraycopy(muscleGroups, index, muscleGroups, index + 1, tail);
+            System.arraycopy(weights, index, weights, index + 1, tail);
+            System.arraycopy(values, index, values, index + 1, tail);
+            System.arraycopy(flags, index, flags, index + 1, tail);
+        }
+        size++;
+    }
+
+    private void removeRange(int from, int to) {
+        int tail = size - to;
+        System.arraycopy(setIds, to, setIds, from, tail);
+        System.arraycopy(exerciseIds, to, exerciseIds, from, tail);
+        System.arraycopy(epochDays, to, epochDays, from, tail);
+        System.arraycopy(muscleGroups, to, muscleGroups, from, tail);
+        System.arraycopy(weights, to, weights, from, tail);
+        System.arraycopy(values, to, values, from, tail);
+        System.arraycopy(flags, to, flags, from, tail);
+        size -= to - from;
+    }
+
+    private void copy(int from, int to) {
+        setIds[to] = setIds[from];
+        exerciseIds[to] = exerciseIds[from];
+        epochDays[to] = epochDays[from];
+        muscleGroups[to] = muscleGroups[from];
+        weights[to] = weights[from];
+        values[to] = values[from];
+        flags[to] = flags[from];
+    }
+
+    private void grow() {
+        int capacity = setIds.length + (setIds.length >> 1);
+        setIds = Arrays.copyOf(setIds, capacity);
+        exerciseIds = Arrays.copyOf(exerciseIds, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        muscleGroups = Arrays.copyOf(muscleGroups, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        values = Arrays.copyOf(values, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+}
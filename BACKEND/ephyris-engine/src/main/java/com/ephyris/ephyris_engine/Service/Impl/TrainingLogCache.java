@@ -0,0 +1,103 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Cache.CacheStats;
+import com.ephyris.ephyris_engine.Cache.LruTtlCache;
+import com.ephyris.ephyris_engine.Entity.Exercise;
+import com.ephyris.ephyris_engine.Entity.ExerciseSet;
+import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Holds a {@link TrainingLog} per recently active user.
+ *
+ * A log is built from one projection query over the user's completed sets
+ * and then kept current by the same set, exercise and workout writes that
+ * update the other analytics indexes. Writes for users without a cached log
+ * only drop any load in flight, so a log read before the write is never
+ * stored. Logs expire after analytics.training-log.ttl-seconds as a backstop
+ * for writes that bypass the services.
+ */
+@Service
+public class TrainingLogCache {
+
+    private final ExerciseSetRepository eSRepo;
+    private final LruTtlCache<Long, TrainingLog> cache;
+
+    public TrainingLogCache(ExerciseSetRepository eSRepo,
+            @Value("${analytics.training-log.max-users:1000}") int maxUsers,
+            @Value("${analytics.training-log.ttl-seconds:3600}") long ttlSeconds) {
+        this.eSRepo = eSRepo;
+        this.cache = new LruTtlCache<>(maxUsers, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public TrainingLog get(Long userId) {
+        return cache.get(userId, () -> TrainingLog.of(eSRepo.findLoggedSetsByUserId(userId)));
+    }
+
+    /**
+     * Applies a created or updated set. The set must be attached to its
+     * exercise and workout.
+     */
+    public void onSetSaved(Long userId, ExerciseSet set) {
+        TrainingLog log = cachedOrInvalidate(userId);
+        if (log != null) {
+            put(log, set);
+        }
+    }
+
+    public void onSetDeleted(Long userId, Long setId) {
+        TrainingLog log = cachedOrInvalidate(userId);
+        if (log != null) {
+            log.remove(setId);
+        }
+    }
+
+    /**
+     * Re-applies every set of a created or updated exercise, whose muscle
+     * group may have changed. The exercise must be attached to its workout.
+     */
+    public void onExerciseSaved(Long userId, Exercise exercise) {
+        TrainingLog log = cachedOrInvalidate(userId);
+        if (log != null && exercise.getSets() != null) {
+            for (ExerciseSet set : exercise.getSets()) {
+                put(log, set);
+            }
+        }
+    }
+
+    public void onExerciseRemoved(Long userId, Long exerciseId) {
+        TrainingLog log = cachedOrInvalidate(userId);
+        if (log != null) {
+            log.removeExercise(exerciseId);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private TrainingLog cachedOrInvalidate(Long userId) {
+        TrainingLog log = cache.getIfPresent(userId);
+        if (log == null) {
+            cache.invalidate(userId);
+        }
+        return log;
+    }
+
+    private static void put(TrainingLog log, ExerciseSet set) {
+        if (!Boolean.TRUE.equals(set.getCompleted())) {
+            log.remove(set.getId());
+            return;
+        }
+        Exercise exercise = set.getExercise();
+        log.put(set.getId(), exercise.getId(), exercise.getWorkout().getDate(), exercise.getMuscleGroup(),
+                set.getValue(), set.getWeight(), set.getIsTimeBased());
+    }
+}
@@ -0,0 +1,196 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+import com.ephyris.ephyris_engine.Cache.LruTtlCache;
+import com.ephyris.ephyris_engine.Entity.CanonicalExercise;
+import com.ephyris.ephyris_engine.Entity.Exercise;
+import com.ephyris.ephyris_engine.Repository.ExerciseNameView;
+import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Matches exercise names against the names a user has already logged.
+ *
+ * Each user's distinct normalized names sit in a BK-tree, so a fuzzy lookup
+ * only measures distance to the branches that can still be within the
+ * threshold instead of to every name. Indexes are cached per user, grow as
+ * new names are saved and are dropped when exercises are deleted or renamed,
+ * since a name can disappear from history then.
+ *
+ * Matching keeps the rules ExerciseServiceImplementation always used: exact
+ * normalized match first, otherwise the most similar name within
+ * determineLevenshteinThreshold edits and at least 75% similar. Inputs of two
+ * characters or fewer only match exactly.
+ */
+@Service
+public class UserExerciseNameIndex {
+
+    static final double MIN_SIMILARITY = 0.75;
+
+    private final ExerciseRepository eRepo;
+    private final CanonicalExerciseMatcher canonicalMatcher;
+    private final LruTtlCache<Long, NameIndex> indexes;
+
+    public UserExerciseNameIndex(ExerciseRepository eRepo, CanonicalExerciseMatcher canonicalMatcher,
+            @Value("${exercise.history-index.max-users:1000}") int maxUsers,
+            @Value("${exercise.history-index.ttl-minutes:30}") long ttlMinutes) {
+        this.eRepo = eRepo;
+        this.canonicalMatcher = canonicalMatcher;
+        this.indexes = new LruTtlCache<>(maxUsers, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * The closest name in the user's history, with the canonical exercise of
+     * the most recent exercise logged under it.
+     */
+    public record HistoryMatch(String name, CanonicalExercise canonicalExercise) {
+    }
+
+    public Optional<HistoryMatch> findMatch(Long userId, String exerciseName) {
+        String normalizedInput = exerciseName.toLowerCase().replaceAll("\\s+", "");
+        NameIndex index = indexes.get(userId, () -> load(userId));
+
+        NameEntry match = index.find(normalizedInput);
+        if (match == null) {
+            return Optional.empty();
+        }
+
+        CanonicalExercise canonical = match.canonicalExerciseId() == null ? null
+                : canonicalMatcher.findById(match.canonicalExerciseId()).orElse(null);
+        return Optional.of(new HistoryMatch(match.name(), canonical));
+    }
+
+    // Records a created exercise, or the new name of a renamed one
+    public void onExerciseSaved(Long userId, Exercise exercise) {
+        NameIndex index = indexes.getIfPresent(userId);
+        if (index == null) {
+            // Not cached: the next load reads the new row, and a load already in
+            // flight must not be stored without it
+            onExercisesRemoved(userId);
+            return;
+        }
+
+        Long canonicalId = exercise.getCanonicalExercise() != null ? exercise.getCanonicalExercise().getId() : null;
+        index.put(exercise.getNormalizedName(), exercise.getName(), canonicalId);
+    }
+
+    // Deletes and renames can remove a name from history, so the index is rebuilt
+    public void onExercisesRemoved(Long userId) {
+        indexes.invalidate(userId);
+    }
+
+    private NameIndex load(Long userId) {
+        NameIndex index = new NameIndex();
+        for (ExerciseNameView view : eRepo.findNamesByUserId(userId)) {
+            index.put(view.getNormalizedName(), view.getName(), view.getCanonicalExerciseId());
+        }
+        return index;
+    }
+
+    static int determineLevenshteinThreshold(int inputLength) {
+        if (inputLength <= 4)
+            return 1;
+        if (inputLength <= 7)
+            return 2;
+        return 3;
+    }
+
+    // Most recent display name and canonical exercise for a normalized name
+    private record NameEntry(String normalizedName, String name, Long canonicalExerciseId) {
+    }
+
+    private static final class NameIndex {
+
+        private static final LevenshteinDistance LEVENSHTEIN = LevenshteinDistance.getDefaultInstance();
+
+        private final Map<String, NameEntry> byName = new HashMap<>();
+
+        private BkNode root;
+
+        synchronized void put(String normalizedName, String name, Long canonicalExerciseId) {
+            if (normalizedName == null) {
+                return;
+            }
+            NameEntry previous = byName.put(normalizedName,
+                    new NameEntry(normalizedName, name, canonicalExerciseId));
+            if (previous == null) {
+                insert(normalizedName);
+            }
+        }
+
+        synchronized NameEntry find(String normalizedInput) {
+            NameEntry exact = byName.get(normalizedInput);
+            if (exact != null || normalizedInput.length() <= 2) {
+                return exact;
+            }
+
+            int maxDistance = determineLevenshteinThreshold(normalizedInput.length());
+            Candidate best = new Candidate();
+            search(root, normalizedInput, maxDistance, best);
+            return best.name == null ? null : byName.get(best.name);
+        }
+
+        private void insert(String name) {
+            if (root == null) {
+                root = new BkNode(name);
+                return;
+            }
+            BkNode node = root;
+            while (true) {
+                int distance = LEVENSHTEIN.apply(name, node.name);
+                BkNode child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new BkNode(name));
+                    return;
+                }
+                node = child;
+            }
+        }
+
+        // Only children whose edge distance is within maxDistance of this
+        // node's distance can hold a match (triangle inequality)
+        private void search(BkNode node, String input, int maxDistance, Candidate best) {
+            if (node == null) {
+                return;
+            }
+            int distance = LEVENSHTEIN.apply(input, node.name);
+            if (distance <= maxDistance) {
+                double similarity = 1.0 - (distance / (double) Math.max(input.length(), node.name.length()));
+                if (similarity >= MIN_SIMILARITY && best.isBeatenBy(node.name, similarity)) {
+                    best.name = node.name;
+                    best.similarity = similarity;
+                }
+            }
+            for (int edge = Math.max(0, distance - maxDistance); edge <= distance + maxDistance; edge++) {
+                search(node.children.get(edge), input, maxDistance, best);
+            }
+        }
+    }
+
+    private static final class BkNode {
+        private final String name;
+        private final Map<Integer, BkNode> children = new HashMap<>();
+
+        BkNode(String name) {
+            this.name = name;
+        }
+    }
+
+    // Most similar name so far; ties go to the alphabetically first name so
+    // results don't depend on insertion order
+    private static final class Candidate {
+        private String name;
+        private double similarity;
+
+        boolean isBeatenBy(String otherName, double otherSimilarity) {
+            return name == null || otherSimilarity > similarity
+                    || (otherSimilarity == similarity && otherName.compareTo(name) < 0);
+        }
+    }
+}
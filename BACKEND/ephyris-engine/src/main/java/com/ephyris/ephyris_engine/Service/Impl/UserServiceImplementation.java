@@ -4,11 +4,13 @@ import com.ephyris.ephyris_engine.Contorller.WrapperDTOs.LoginUserDto;
 import com.ephyris.ephyris_engine.DataTransferObject.UserDTO;
 import com.ephyris.ephyris_engine.Entity.User;
 import com.ephyris.ephyris_engine.Repository.UserRepository;
+import com.ephyris.ephyris_engine.Security.PasswordHashingExecutor;
 import com.ephyris.ephyris_engine.Service.UserService;
 import com.ephyris.ephyris_engine.Mapper.UserMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.ephyris.ephyris_engine.Config.ResourceNotFoundException;
@@ -26,12 +28,15 @@ public class UserServiceImplementation implements UserService {
 
     private final AuthenticationManager authenticationManager;
 
+    private final PasswordHashingExecutor hashingExecutor;
+
     public UserServiceImplementation(UserRepository userRepository, UserMapper uMapper, PasswordEncoder passwordEncoder,
-            AuthenticationManager authenticationManager) {
+            AuthenticationManager authenticationManager, PasswordHashingExecutor hashingExecutor) {
         this.userRepository = userRepository;
         this.uMapper = uMapper;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
+        this.hashingExecutor = hashingExecutor;
     }
 
     @Override
@@ -41,7 +46,8 @@ public class UserServiceImplementation implements UserService {
             throw new ResourceNotFoundException("User already exists with email: " + DTO.getEmail());
         }
 
-        DTO.setPassword(passwordEncoder.encode(DTO.getPassword()));
+        String rawPassword = DTO.getPassword();
+        DTO.setPassword(hashingExecutor.run(() -> passwordEncoder.encode(rawPassword)));
 
         User user = uMapper.toEntity(DTO);
 
@@ -102,11 +108,16 @@ public class UserServiceImplementation implements UserService {
 
     @Override
     public User login(LoginUserDto user) {
-        authenticationManager.authenticate(
+        // The password check (and any rehash) runs on the hashing pool
+        Authentication authentication = hashingExecutor.run(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         user.getEmail(),
-                        user.getPassword()));
+                        user.getPassword())));
 
+        // The provider already loaded the user to check the password
+        if (authentication.getPrincipal() instanceof User authenticatedUser) {
+            return authenticatedUser;
+        }
         return userRepository.findByEmail(user.getEmail())
                 .orElseThrow();
     }
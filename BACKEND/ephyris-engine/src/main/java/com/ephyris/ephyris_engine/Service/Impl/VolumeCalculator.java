@@ -0,0 +1,88 @@
+package com.ephyris.ephyris_engine.Service.Impl;
+
+/**
+ * Volume rules shared by every analytics path that turns sets into pounds
+ * lifted. Kept free of entity types so projection queries and in-memory
+ * indexes can use the same numbers as the entity-based code.
+ *
+ * See VOLUME_CALCULATION_IMPROVEMENTS.md for the reasoning behind the
+ * constants.
+ */
+public final class VolumeCalculator {
+
+    // Default bodyweight estimate in lbs
+    public static final double ESTIMATED_BODYWEIGHT = 150.0;
+
+    // 50% of bodyweight for bodyweight exercises
+    public static final double BODYWEIGHT_MULTIPLIER = 0.5;
+
+    // Conservative estimate for time-based exercises
+    public static final double TIME_BASED_INTENSITY_MULTIPLIER = 0.5;
+
+    private VolumeCalculator() {
+    }
+
+    /**
+     * Calculates volume for a single exercise set
+     *
+     * Volume Calculation Rules:
+     * 1. For weight-based exercises: Volume = Weight × Reps
+     * 2. For bodyweight exercises: Volume = (Estimated Bodyweight × 0.5) × Reps
+     * 3. For time-based exercises: Volume = (Duration in minutes) × (Estimated
+     * Weight) × 0.5
+     *
+     * @param value       Reps, or duration in seconds for time-based sets
+     * @param weight      Weight in lbs, null or zero for bodyweight
+     * @param isTimeBased Whether value is a duration
+     * @return Volume in pounds
+     */
+    public static double setVolume(Integer value, Double weight, Boolean isTimeBased) {
+        return setVolume(value != null ? value : 0, weight != null ? weight : 0.0, Boolean.TRUE.equals(isTimeBased));
+    }
+
+    /**
+     * Same rules on primitives, with 0 standing in for a missing value or
+     * weight, for column scans that must not box.
+     */
+    public static double setVolume(int value, double weight, boolean isTimeBased) {
+        if (value <= 0) {
+            return 0.0;
+        }
+
+        if (isTimeBased) {
+            return timeBasedVolume(value, weight);
+        }
+
+        if (weight > 0) {
+            return weight * value;
+        }
+
+        return ESTIMATED_BODYWEIGHT * value * BODYWEIGHT_MULTIPLIER;
+    }
+
+    /**
+     * Estimates volume for time-based exercises
+     *
+     * Formula: Volume = (Duration in minutes) × (Estimated Weight) × (Intensity
+     * Multiplier)
+     *
+     * @param durationSeconds Duration of the set in seconds
+     * @param weight          Added weight (e.g. weighted planks), or null
+     * @return Estimated volume in pounds
+     */
+    public static double timeBasedVolume(Integer durationSeconds, Double weight) {
+        return timeBasedVolume(durationSeconds != null ? durationSeconds : 0, weight != null ? weight : 0.0);
+    }
+
+    public static double timeBasedVolume(int durationSeconds, double weight) {
+        if (durationSeconds <= 0) {
+            return 0.0;
+        }
+
+        // If weight is provided (e.g., weighted planks), use it
+        double estimatedWeight = weight > 0 ? weight : ESTIMATED_BODYWEIGHT;
+        double durationMinutes = durationSeconds / 60.0;
+
+        return durationMinutes * estimatedWeight * TIME_BASED_INTENSITY_MULTIPLIER;
+    }
+}
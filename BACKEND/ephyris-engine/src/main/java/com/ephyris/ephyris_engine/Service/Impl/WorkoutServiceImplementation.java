@@ -2,26 +2,34 @@ package com.ephyris.ephyris_engine.Service.Impl;
 
 import com.ephyris.ephyris_engine.Config.ResourceNotFoundException;
 import com.ephyris.ephyris_engine.DataTransferObject.ExerciseDTO;
-import com.ephyris.ephyris_engine.DataTransferObject.UserDTO;
 import com.ephyris.ephyris_engine.DataTransferObject.WorkoutDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutPageDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutSummaryDTO;
 import com.ephyris.ephyris_engine.Entity.Exercise;
+import com.ephyris.ephyris_engine.Entity.ExerciseSet;
 import com.ephyris.ephyris_engine.Entity.Workout;
+import com.ephyris.ephyris_engine.Repository.CompletedWorkoutView;
 import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
 import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Repository.WorkoutSummaryView;
 import com.ephyris.ephyris_engine.Service.WorkoutService;
 import com.ephyris.ephyris_engine.Mapper.WorkoutMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.persistence.criteria.CriteriaBuilder.Case;
-
+import java.nio.charset.StandardCharsets;
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.stream.Collectors;
 import java.util.HashMap;
@@ -32,22 +40,44 @@ import java.time.temporal.WeekFields;
 @Service
 public class WorkoutServiceImplementation implements WorkoutService {
 
+    // Page sizes for getWorkoutPageByUserId
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final WorkoutRepository wRepo;
-    private final UserServiceImplementation userService;
     private final ExerciseServiceImplementation exerciseService;
     private final ExerciseRepository eRepo;
     private final WorkoutMapper wMapper;
+    private final PersonalRecordIndex personalRecordIndex;
+
+    private final ActivityCalendarIndex activityCalendarIndex;
+
+    private final TrainingLogCache trainingLogCache;
+
+    private final AnalyticsCache analyticsCache;
+
+    private final UserExerciseNameIndex exerciseNameIndex;
+
+    private final TransactionTemplate transactionTemplate;
 
     public WorkoutServiceImplementation(WorkoutRepository wRepo,
-            UserServiceImplementation userService,
             ExerciseServiceImplementation exerciseService,
             ExerciseRepository eRepo,
-            WorkoutMapper wMapper) {
+            WorkoutMapper wMapper,
+            PersonalRecordIndex personalRecordIndex, ActivityCalendarIndex activityCalendarIndex,
+            TrainingLogCache trainingLogCache,
+            AnalyticsCache analyticsCache, UserExerciseNameIndex exerciseNameIndex,
+            PlatformTransactionManager transactionManager) {
         this.wRepo = wRepo;
-        this.userService = userService;
         this.exerciseService = exerciseService;
         this.eRepo = eRepo;
         this.wMapper = wMapper;
+        this.personalRecordIndex = personalRecordIndex;
+        this.activityCalendarIndex = activityCalendarIndex;
+        this.trainingLogCache = trainingLogCache;
+        this.analyticsCache = analyticsCache;
+        this.exerciseNameIndex = exerciseNameIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -57,58 +87,146 @@ public class WorkoutServiceImplementation implements WorkoutService {
             throw new IllegalArgumentException("Invalid workout data");
         }
 
-        // check if user exists
-        UserDTO user = userService.getUserById(userId);
-        user.getId();
+        // The workout, its exercises and their sets are persisted together in
+        // one transaction; ids come from pooled sequences so the inserts are
+        // batched per table instead of one round-trip per row
+        Workout savedWorkout = transactionTemplate.execute(status -> persistNewWorkout(workoutDTO, userId));
 
-        if (userService.getUserById(userId) == null) {
-            throw new IllegalArgumentException("User does not exist");
+        // Derived data is updated outside the transaction, like every other write
+        List<ExerciseSet> sets = new ArrayList<>();
+        for (Exercise exercise : savedWorkout.getExercises()) {
+            exerciseNameIndex.onExerciseSaved(userId, exercise);
+            trainingLogCache.onExerciseSaved(userId, exercise);
+            sets.addAll(exercise.getSets());
         }
+        personalRecordIndex.onSetsCreated(sets, userId);
+        activityCalendarIndex.onWorkoutCreated(userId, savedWorkout.getDate());
+        analyticsCache.invalidateUser(userId);
 
-        List<ExerciseDTO> exercises = new ArrayList<>(workoutDTO.getExercises());
+        return wMapper.toDTO(savedWorkout);
 
-        workoutDTO.setExercises(Collections.<ExerciseDTO>emptyList());
+    }
 
+    private Workout persistNewWorkout(WorkoutDTO workoutDTO, Long userId) {
+        List<ExerciseDTO> exerciseDTOs = workoutDTO.getExercises() != null ? workoutDTO.getExercises()
+                : Collections.emptyList();
+
+        // Exercises are built separately, the mapper can't link new sets
+        workoutDTO.setExercises(Collections.emptyList());
         Workout workout = wMapper.toEntity(workoutDTO);
-        Workout savedWorkout = wRepo.save(workout);
+        workoutDTO.setExercises(exerciseDTOs);
 
-        ArrayList<ExerciseDTO> newExercises = new ArrayList<ExerciseDTO>();
-        if (!exercises.isEmpty()) {
-            for (ExerciseDTO ex : exercises) {
+        // Always owned by the user it is being created for
+        workout.setId(null);
+        workout.setUser(wMapper.map(userId));
 
-                ex.setWorkoutId(savedWorkout.getId());
-                ExerciseDTO newExercise = exerciseService.createExercise(ex, userId);
-                newExercises.add(newExercise);
-            }
+        List<Exercise> exercises = new ArrayList<>(exerciseDTOs.size());
+        for (ExerciseDTO exerciseDTO : exerciseDTOs) {
+            exercises.add(exerciseService.newExercise(exerciseDTO, workout, userId));
+        }
+        workout.setExercises(exercises);
+
+        return wRepo.save(workout);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<WorkoutDTO> getWorkoutsByUserId(Long userId) throws AccessDeniedException {
+        if (userId == null) {
+            throw new IllegalArgumentException("Invalid workout data");
         }
 
-        WorkoutDTO savedDTO = wMapper.toDTO(savedWorkout);
+        return loadWorkoutsByUserId(userId);
 
-        savedDTO.getExercises().addAll(newExercises);
+    }
 
-        return savedDTO;
+    // Needs a transaction from the caller, so the second statement's sets are
+    // still attached when the mapper walks them
+    private List<WorkoutDTO> loadWorkoutsByUserId(Long userId) {
+        // Two statements for the whole history; the second one initializes the
+        // sets the mapper walks
+        List<Workout> workouts = wRepo.findWithExercisesByUserIdOrderByDateDesc(userId);
+        eRepo.findWithSetsByUserId(userId);
 
+        return wMapper.toDTOList(workouts);
     }
 
     @Override
-    public List<WorkoutDTO> getWorkoutsByUserId(Long userId) throws AccessDeniedException {
+    @Transactional(readOnly = true)
+    public WorkoutPageDTO getWorkoutPageByUserId(Long userId, String cursor, int limit)
+            throws AccessDeniedException {
         if (userId == null) {
             throw new IllegalArgumentException("Invalid workout data");
         }
 
-        List<Workout> workouts = wRepo.findByUserIdOrderByDateDesc(userId);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
 
-        for (Workout workout : workouts) {
-            if (!workout.getUser().getId().equals(userId)) {
-                throw new AccessDeniedException("User is not allowed to access one or more requested Workouts");
+        // One extra id tells us whether another page follows
+        List<Long> ids;
+        if (cursor == null || cursor.isEmpty()) {
+            ids = wRepo.findPageIdsByUserId(userId, Limit.of(pageSize + 1));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            ids = wRepo.findPageIdsByUserIdBefore(userId, after.date(), after.id(), Limit.of(pageSize + 1));
+        }
 
-            }
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+        if (ids.isEmpty()) {
+            return new WorkoutPageDTO(new ArrayList<>(), null, false);
+        }
+
+        List<Workout> workouts = wRepo.findWithExercisesByIdIn(ids);
+        eRepo.findWithSetsByWorkoutIdIn(ids);
 
+        String nextCursor = null;
+        if (hasMore) {
+            Workout last = workouts.get(workouts.size() - 1);
+            nextCursor = new PageCursor(last.getDate(), last.getId()).encode();
         }
 
-        return wMapper.toDTOList(workouts);
+        return new WorkoutPageDTO(wMapper.toDTOList(workouts), nextCursor, hasMore);
+    }
 
+    @Override
+    public WorkoutSummaryDTO getWorkoutSummary(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("Invalid workout data");
+        }
+
+        WorkoutSummaryView summary = wRepo.summarizeByUserId(userId, LocalDate.now());
+
+        // The streak is a scalar subquery, which a database may return as
+        // null rather than 0 when the user has no workouts
+        Long currentStreak = summary.getCurrentStreak();
+
+        return new WorkoutSummaryDTO(
+                summary.getTotalWorkouts(),
+                summary.getCompletedWorkouts(),
+                summary.getLastWorkoutId(),
+                summary.getLastWorkoutName(),
+                summary.getLastWorkoutDate(),
+                currentStreak == null ? 0 : currentStreak.intValue());
+    }
+
+    // Position of the last workout on a page. Opaque to clients.
+    private record PageCursor(LocalDate date, Long id) {
+
+        String encode() {
+            String position = date + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+                return new PageCursor(LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
     }
 
     @Override
@@ -118,19 +236,13 @@ public class WorkoutServiceImplementation implements WorkoutService {
             throw new IllegalArgumentException("Invalid workout data");
         }
 
-        // Verify workout exists
-        Workout workout = wRepo.findById(workoutId)
-                .orElseThrow(() -> new ResourceNotFoundException("Workout does not exist"));
-
-        // Verify user owns workout
-        if (!workout.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User is not allowed requested Workouts");
-
-        }
+        Workout workout = findOwnedWorkout(workoutId, userId, "User is not allowed requested Workouts");
 
         Workout updatedWorkout = mergeWorkout(workoutDTO, workout, userId);
+        Workout savedWorkout = wRepo.save(updatedWorkout);
+        analyticsCache.invalidateUser(userId);
 
-        return wMapper.toDTO(wRepo.save(updatedWorkout));
+        return wMapper.toDTO(savedWorkout);
 
     }
 
@@ -160,6 +272,8 @@ public class WorkoutServiceImplementation implements WorkoutService {
 
             // Delete exercises and their sets
             for (Exercise exerciseToDelete : exercisesToDelete) {
+                trainingLogCache.onExerciseRemoved(userId, exerciseToDelete.getId());
+
                 // Delete all sets first
                 exerciseToDelete.getSets().clear();
                 eRepo.save(exerciseToDelete);
@@ -167,6 +281,12 @@ public class WorkoutServiceImplementation implements WorkoutService {
                 eRepo.delete(exerciseToDelete);
             }
 
+            if (!exercisesToDelete.isEmpty()) {
+                personalRecordIndex.onExercisesChanged(userId,
+                        exercisesToDelete.stream().map(Exercise::getName).collect(Collectors.toList()));
+                exerciseNameIndex.onExercisesRemoved(userId);
+            }
+
             // Handle remaining exercises (create or update)
             for (ExerciseDTO exerciseDTO : newExercises) {
                 exerciseDTO.setWorkoutId(workout.getId());
@@ -186,21 +306,21 @@ public class WorkoutServiceImplementation implements WorkoutService {
 
     @Override
     public void deleteWorkout(Long workoutId, Long userId) throws AccessDeniedException {
-        // check if workout exists
-        Workout workout = wRepo.findById(workoutId)
-                .orElseThrow(() -> new ResourceNotFoundException("workout does not exist"));
+        Workout workout = findOwnedWorkout(workoutId, userId, "user does not own this workout");
 
-        @SuppressWarnings("unused")
-        // check if user exists
-        UserDTO user = userService.getUserById(userId);
-
-        // check if user owns workout
-
-        if (!workout.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("user does not own this workout");
-        }
+        List<String> exerciseNames = workout.getExercises() == null ? List.of()
+                : workout.getExercises().stream().map(Exercise::getName).collect(Collectors.toList());
 
         wRepo.delete(workout);
+        personalRecordIndex.onExercisesChanged(userId, exerciseNames);
+        if (workout.getExercises() != null) {
+            for (Exercise exercise : workout.getExercises()) {
+                trainingLogCache.onExerciseRemoved(userId, exercise.getId());
+            }
+        }
+        exerciseNameIndex.onExercisesRemoved(userId);
+        activityCalendarIndex.onWorkoutDeleted(userId, workout.getDate());
+        analyticsCache.invalidateUser(userId);
     }
 
     @Override
@@ -209,12 +329,7 @@ public class WorkoutServiceImplementation implements WorkoutService {
             throw new IllegalArgumentException("Invalid input data");
         }
 
-        Workout workout = wRepo.findById(workoutId).orElseThrow(
-                () -> new ResourceNotFoundException("Workout not found"));
-
-        if (!workout.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User is not allowed to access this workout");
-        }
+        Workout workout = findOwnedWorkout(workoutId, userId, "User is not allowed to access this workout");
 
         // Set the start time to now
         workout.setStartTime(LocalDateTime.now());
@@ -229,12 +344,7 @@ public class WorkoutServiceImplementation implements WorkoutService {
             throw new IllegalArgumentException("Invalid input data");
         }
 
-        Workout workout = wRepo.findById(workoutId).orElseThrow(
-                () -> new ResourceNotFoundException("Workout not found"));
-
-        if (!workout.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User is not allowed to access this workout");
-        }
+        Workout workout = findOwnedWorkout(workoutId, userId, "User is not allowed to access this workout");
 
         // Set the end time to now
         LocalDateTime endTime = LocalDateTime.now();
@@ -257,17 +367,13 @@ public class WorkoutServiceImplementation implements WorkoutService {
             throw new IllegalArgumentException("Invalid input data");
         }
 
-        Workout workout = wRepo.findById(workoutId)
-                .orElseThrow(() -> new ResourceNotFoundException("Workout not found"));
-
-        if (!workout.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User is not allowed to access this workout");
-        }
+        Workout workout = findOwnedWorkout(workoutId, userId, "User is not allowed to access this workout");
 
         return wMapper.toDTO(workout);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<WorkoutDTO> getWorkoutsByDateRange(Long userId, LocalDate startDate, LocalDate endDate)
             throws AccessDeniedException {
         if (userId == null || startDate == null || endDate == null) {
@@ -278,17 +384,14 @@ public class WorkoutServiceImplementation implements WorkoutService {
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
 
-        // Check if user exists
-        userService.getUserById(userId);
+        return loadWorkoutsByDateRange(userId, startDate, endDate);
+    }
 
-        List<Workout> workouts = wRepo.findByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate);
-
-        // Verify user has access to all workouts
-        for (Workout workout : workouts) {
-            if (!workout.getUser().getId().equals(userId)) {
-                throw new AccessDeniedException("User is not allowed to access one or more requested Workouts");
-            }
-        }
+    // Needs a transaction from the caller, like loadWorkoutsByUserId
+    private List<WorkoutDTO> loadWorkoutsByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<Workout> workouts = wRepo.findWithExercisesByUserIdAndDateBetweenOrderByDateDesc(userId, startDate,
+                endDate);
+        eRepo.findWithSetsByUserIdAndWorkoutDateBetween(userId, startDate, endDate);
 
         return wMapper.toDTOList(workouts);
     }
@@ -303,12 +406,7 @@ public class WorkoutServiceImplementation implements WorkoutService {
             throw new IllegalArgumentException("Duration must be positive");
         }
 
-        Workout workout = wRepo.findById(workoutId)
-                .orElseThrow(() -> new ResourceNotFoundException("Workout not found"));
-
-        if (!workout.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User is not allowed to modify this workout");
-        }
+        Workout workout = findOwnedWorkout(workoutId, userId, "User is not allowed to modify this workout");
 
         workout.setDuration(duration);
         return wMapper.toDTO(wRepo.save(workout));
@@ -320,12 +418,7 @@ public class WorkoutServiceImplementation implements WorkoutService {
             throw new IllegalArgumentException("Invalid input data");
         }
 
-        Workout workout = wRepo.findById(workoutId)
-                .orElseThrow(() -> new ResourceNotFoundException("Workout not found"));
-
-        if (!workout.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("User is not allowed to modify this workout");
-        }
+        Workout workout = findOwnedWorkout(workoutId, userId, "User is not allowed to modify this workout");
 
         workout.setNotes(notes);
         return wMapper.toDTO(wRepo.save(workout));
@@ -346,16 +439,15 @@ public class WorkoutServiceImplementation implements WorkoutService {
             endDate = LocalDate.now();
         }
 
-        // Check if user exists
-        userService.getUserById(userId);
-
-        List<Workout> workouts = wRepo.findByUserIdAndDateBetween(userId, startDate, endDate);
-
-        // Filter to only include completed workouts
-        List<Workout> completedWorkouts = workouts.stream()
-                .filter(w -> Boolean.TRUE.equals(w.getCompleted()))
-                .collect(Collectors.toList());
+        // Only completed workouts count, and only their date and duration are read
+        return statistics(wRepo.findCompletedByUserIdAndDateBetween(userId, startDate, endDate), startDate,
+                endDate);
+    }
 
+    // Shared with AnalyticsDashboard, which reads the completed workouts along
+    // with its other data
+    static Map<String, Object> statistics(List<? extends CompletedWorkoutView> completedWorkouts,
+            LocalDate startDate, LocalDate endDate) {
         Map<String, Object> statistics = new HashMap<>();
 
         // Total number of completed workouts
@@ -414,6 +506,7 @@ public class WorkoutServiceImplementation implements WorkoutService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<WorkoutDTO> getWorkoutsByPeriod(Long userId, String period) throws AccessDeniedException {
 
         LocalDate today = LocalDate.now();
@@ -431,26 +524,26 @@ public class WorkoutServiceImplementation implements WorkoutService {
             case "day" -> {
                 startDate = today;
                 endDate = today;
-                workouts = getWorkoutsByDateRange(userId, startDate, endDate);
+                workouts = loadWorkoutsByDateRange(userId, startDate, endDate);
             }
             case "week" -> {
                 WeekFields weekFields = WeekFields.of(Locale.UK);
                 LocalDate startOfWeek = today.with(weekFields.dayOfWeek(), 1); // Monday
                 LocalDate endOfWeek = today.with(weekFields.dayOfWeek(), 7);
-                workouts = getWorkoutsByDateRange(userId, startOfWeek, endOfWeek);
+                workouts = loadWorkoutsByDateRange(userId, startOfWeek, endOfWeek);
             }
             case "month" -> {
                 startDate = today.withDayOfMonth(1).minusDays(1); // Include the entire first day
                 endDate = today.withDayOfMonth(today.lengthOfMonth());
-                workouts = getWorkoutsByDateRange(userId, startDate, endDate);
+                workouts = loadWorkoutsByDateRange(userId, startDate, endDate);
             }
             case "year" -> {
                 startDate = today.withDayOfYear(1);
                 endDate = today.withDayOfYear(today.lengthOfYear());
-                workouts = getWorkoutsByDateRange(userId, startDate, endDate);
+                workouts = loadWorkoutsByDateRange(userId, startDate, endDate);
             }
             case "all" -> {
-                workouts = getWorkoutsByUserId(userId);
+                workouts = loadWorkoutsByUserId(userId);
             }
             default -> {
                 throw new IllegalArgumentException("Invalid period");
@@ -461,4 +554,18 @@ public class WorkoutServiceImplementation implements WorkoutService {
 
     }
 
-}
\ No newline at end of file
+    // Ownership is checked by the lookup itself. Only when it comes back empty
+    // does a second query tell a missing workout from someone else's.
+    private Workout findOwnedWorkout(Long workoutId, Long userId, String deniedMessage)
+            throws AccessDeniedException {
+        Optional<Workout> workout = wRepo.findByIdAndUserId(workoutId, userId);
+        if (workout.isPresent()) {
+            return workout.get();
+        }
+        if (wRepo.existsById(workoutId)) {
+            throw new AccessDeniedException(deniedMessage);
+        }
+        throw new ResourceNotFoundException("Workout not found");
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.ephyris.ephyris_engine.Service;
 
 import com.ephyris.ephyris_engine.DataTransferObject.WorkoutDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutPageDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutSummaryDTO;
 
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDate;
@@ -15,6 +17,14 @@ public interface WorkoutService {
 
         List<WorkoutDTO> getWorkoutsByUserId(Long userId) throws AccessDeniedException;
 
+        // One page of a user's history, newest first. Pass null for the first
+        // page and the returned nextCursor after that.
+        WorkoutPageDTO getWorkoutPageByUserId(Long userId, String cursor, int limit) throws AccessDeniedException;
+
+        // Counts, last workout and streak from one aggregate query; costs the
+        // same however long the user's history is
+        WorkoutSummaryDTO getWorkoutSummary(Long userId);
+
         List<WorkoutDTO> getWorkoutsByDateRange(Long userId, LocalDate startDate, LocalDate endDate)
                         throws AccessDeniedException;
 
@@ -0,0 +1,152 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.ActivityCalendar;
+import com.ephyris.ephyris_engine.Repository.ActivityCalendarRepository;
+import com.ephyris.ephyris_engine.Repository.UserRepository;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityCalendarIndex;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityDays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ActivityCalendarIndexTest {
+
+    @Mock
+    private ActivityCalendarRepository calendarRepo;
+
+    @Mock
+    private WorkoutRepository workoutRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ActivityCalendarIndex index;
+
+    private final LocalDate day = LocalDate.of(2024, 3, 1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new ActivityCalendarIndex(calendarRepo, workoutRepository, userRepository);
+        when(calendarRepo.existsByUserId(1L)).thenReturn(true);
+    }
+
+    @Test
+    void testOnWorkoutCreated_SetsDayInExistingYear() {
+        ActivityCalendar calendar = calendar(2024, day.minusDays(1));
+        when(calendarRepo.findByUserIdAndYear(1L, 2024)).thenReturn(Optional.of(calendar));
+
+        index.onWorkoutCreated(1L, day);
+
+        verify(calendarRepo).save(calendar);
+        assertTrue(calendar.isActive(day));
+        assertTrue(calendar.isActive(day.minusDays(1)));
+    }
+
+    @Test
+    void testOnWorkoutCreated_FirstWorkoutOfYearCreatesRow() {
+        when(calendarRepo.findByUserIdAndYear(1L, 2024)).thenReturn(Optional.empty());
+
+        index.onWorkoutCreated(1L, day);
+
+        ArgumentCaptor<ActivityCalendar> saved = ArgumentCaptor.forClass(ActivityCalendar.class);
+        verify(calendarRepo).save(saved.capture());
+        assertEquals(1L, saved.getValue().getUserId());
+        assertEquals(2024, saved.getValue().getYear());
+        assertTrue(saved.getValue().isActive(day));
+    }
+
+    @Test
+    void testOnWorkoutCreated_SecondWorkoutOfDayWritesNothing() {
+        when(calendarRepo.findByUserIdAndYear(1L, 2024)).thenReturn(Optional.of(calendar(2024, day)));
+
+        index.onWorkoutCreated(1L, day);
+
+        verify(calendarRepo, never()).save(any());
+    }
+
+    @Test
+    void testOnWorkoutDeleted_KeepsDayWhileAnotherWorkoutRemains() {
+        when(workoutRepository.existsByUserIdAndDate(1L, day)).thenReturn(true);
+
+        index.onWorkoutDeleted(1L, day);
+
+        verify(calendarRepo, never()).findByUserIdAndYear(anyLong(), anyInt());
+        verify(calendarRepo, never()).save(any());
+    }
+
+    @Test
+    void testOnWorkoutDeleted_ClearsLastWorkoutOfDay() {
+        ActivityCalendar calendar = calendar(2024, day);
+        when(workoutRepository.existsByUserIdAndDate(1L, day)).thenReturn(false);
+        when(calendarRepo.findByUserIdAndYear(1L, 2024)).thenReturn(Optional.of(calendar));
+
+        index.onWorkoutDeleted(1L, day);
+
+        verify(calendarRepo).save(calendar);
+        assertFalse(calendar.isActive(day));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOnWorkoutCreated_WithoutCalendarsBackfillsWholeHistory() {
+        when(calendarRepo.existsByUserId(1L)).thenReturn(false);
+        when(workoutRepository.findWorkoutDatesByUserId(1L)).thenReturn(List.of(
+                LocalDate.of(2022, 6, 1), LocalDate.of(2024, 2, 29), day));
+
+        index.onWorkoutCreated(1L, day);
+
+        ArgumentCaptor<Iterable<ActivityCalendar>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(calendarRepo).deleteByUserId(1L);
+        verify(calendarRepo).saveAll(saved.capture());
+        List<ActivityCalendar> years = new ArrayList<>();
+        saved.getValue().forEach(years::add);
+        assertEquals(List.of(2022, 2024), years.stream().map(ActivityCalendar::getYear).toList());
+        assertTrue(years.get(1).isActive(LocalDate.of(2024, 2, 29)));
+        assertTrue(years.get(1).isActive(day));
+        verify(calendarRepo, never()).save(any());
+    }
+
+    @Test
+    void testActivityDays_StreaksAndCountsAcrossYears() {
+        ActivityCalendar lastYear = calendar(2023,
+                LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 2),
+                LocalDate.of(2023, 12, 30), LocalDate.of(2023, 12, 31));
+        ActivityCalendar thisYear = calendar(2024,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3),
+                LocalDate.of(2024, 2, 29), LocalDate.of(2024, 12, 31));
+
+        ActivityDays activity = ActivityDays.of(List.of(lastYear, thisYear));
+
+        assertEquals(5, activity.streakEndingAt(LocalDate.of(2024, 1, 3)));
+        assertEquals(0, activity.streakEndingAt(LocalDate.of(2024, 1, 4)));
+        assertEquals(5, activity.longestStreak());
+        assertEquals(9, activity.activeDays(LocalDate.of(2000, 1, 1), LocalDate.of(2030, 1, 1)));
+        assertEquals(3, activity.activeDays(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 2, 29)));
+        assertTrue(activity.isActive(LocalDate.of(2024, 12, 31)));
+        assertFalse(activity.isActive(LocalDate.of(2025, 1, 1)));
+        assertEquals(0, ActivityDays.of(List.of()).longestStreak());
+    }
+
+    private ActivityCalendar calendar(int year, LocalDate... days) {
+        ActivityCalendar calendar = new ActivityCalendar();
+        calendar.setUserId(1L);
+        calendar.setYear(year);
+        for (LocalDate d : days) {
+            calendar.setActive(d, true);
+        }
+        return calendar;
+    }
+}
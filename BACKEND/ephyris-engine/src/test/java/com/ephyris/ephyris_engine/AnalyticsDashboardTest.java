@@ -0,0 +1,148 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Config.ResourceNotFoundException;
+import com.ephyris.ephyris_engine.DataTransferObject.DashboardDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.PersonalRecordDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WeeklyVolumeDTO;
+import com.ephyris.ephyris_engine.Repository.WorkoutDayView;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityCalendarIndex;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityDays;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsDashboard;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.PopulationDistribution;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLog;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AnalyticsDashboardTest {
+
+    @Mock
+    private WorkoutRepository workoutRepository;
+
+    @Mock
+    private TrainingLogCache trainingLogCache;
+
+    @Mock
+    private PersonalRecordIndex personalRecordIndex;
+
+    @Mock
+    private ActivityCalendarIndex activityCalendarIndex;
+
+    @Mock
+    private PopulationDistribution populationDistribution;
+
+    private AnalyticsDashboard dashboard;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AnalyticsServiceImplementation analyticsService = new AnalyticsServiceImplementation(workoutRepository,
+                trainingLogCache, personalRecordIndex, activityCalendarIndex, populationDistribution,
+                new AnalyticsCache(100, 300));
+        dashboard = new AnalyticsDashboard(analyticsService, trainingLogCache, workoutRepository,
+                activityCalendarIndex, personalRecordIndex, 5, 16, 5000);
+        when(trainingLogCache.get(1L)).thenReturn(TrainingLog.of(List.of()));
+        when(activityCalendarIndex.getActivity(1L)).thenReturn(ActivityDays.of(List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboard.shutdown();
+    }
+
+    @Test
+    void testGetDashboard_ComputesEveryMetricFromOneLoad() throws Exception {
+        TrainingLog log = TrainingLog.of(List.of());
+        log.put(1L, 10L, today, "Chest", 10, 100.0, false); // 1,000 lbs
+        when(trainingLogCache.get(1L)).thenReturn(log);
+        when(workoutRepository.findDaysByUserIdAndDateBetween(eq(1L), any(), any())).thenReturn(List.of(
+                workout(today, 60, true),
+                workout(today, null, false)));
+        List<PersonalRecordDTO> records = List.of(new PersonalRecordDTO());
+        when(personalRecordIndex.getPersonalRecords(1L)).thenReturn(records);
+
+        DashboardDTO result = dashboard.getDashboard(1L, 7);
+
+        // Both workouts count towards the calendar, only the completed one towards statistics
+        assertEquals(2L, result.getWorkoutsPerWeek().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(2, result.getConsistencyInsight().getWeeklyFrequency().get(6));
+        assertEquals(1, result.getStatistics().get("totalWorkouts"));
+        assertEquals(60, result.getStatistics().get("totalWorkoutTime"));
+        assertSame(records, result.getPersonalRecords());
+        List<WeeklyVolumeDTO> weeklyVolume = result.getWeeklyVolume();
+        assertEquals(7, weeklyVolume.size());
+        assertEquals(1000.0, weeklyVolume.get(6).getVolume(), 0.01);
+        assertEquals(1000.0, result.getMuscleVolume().getTotalVolume(), 0.01);
+
+        verify(trainingLogCache, times(1)).get(1L);
+        verify(workoutRepository, times(1)).findDaysByUserIdAndDateBetween(eq(1L), any(), any());
+        verify(workoutRepository, never()).countPerDayByUserIdAndDateBetween(anyLong(), any(), any());
+        verify(workoutRepository, never()).findCompletedByUserIdAndDateBetween(anyLong(), any(), any());
+        verify(activityCalendarIndex, times(1)).getActivity(1L);
+        assertEquals(4, dashboard.stats().completed());
+    }
+
+    @Test
+    void testGetDashboard_LoadsSideBySide() throws Exception {
+        // The training log and the workouts query each wait for the other to have started
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        when(trainingLogCache.get(1L)).thenAnswer(invocation -> {
+            bothRunning.countDown();
+            assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+            return TrainingLog.of(List.of());
+        });
+        when(workoutRepository.findDaysByUserIdAndDateBetween(eq(1L), any(), any())).thenAnswer(invocation -> {
+            bothRunning.countDown();
+            assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+
+        DashboardDTO result = dashboard.getDashboard(1L, 7);
+
+        assertNotNull(result.getMuscleVolume());
+        assertEquals(0, bothRunning.getCount());
+    }
+
+    @Test
+    void testGetDashboard_FailsWithTheFirstFailingLoad() {
+        when(personalRecordIndex.getPersonalRecords(1L)).thenThrow(new ResourceNotFoundException("gone"));
+
+        assertThrows(ResourceNotFoundException.class, () -> dashboard.getDashboard(1L, 7));
+    }
+
+    private WorkoutDayView workout(LocalDate date, Integer duration, boolean completed) {
+        return new WorkoutDayView() {
+            public LocalDate getDate() {
+                return date;
+            }
+
+            public Integer getDuration() {
+                return duration;
+            }
+
+            public Boolean getCompleted() {
+                return completed;
+            }
+        };
+    }
+}
@@ -1,18 +1,31 @@
 package com.ephyris.ephyris_engine;
 
+import com.ephyris.ephyris_engine.DataTransferObject.MuscleVolumeDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WeeklyVolumeDTO;
 import com.ephyris.ephyris_engine.Entity.ExerciseSet;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityCalendarIndex;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
 import com.ephyris.ephyris_engine.Service.Impl.AnalyticsServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.PopulationDistribution;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import com.ephyris.ephyris_engine.Service.Impl.VolumeCalculator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
-import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
 import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
+import com.ephyris.ephyris_engine.Repository.LoggedSetView;
 
-import java.lang.reflect.Method;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
 
 public class AnalyticsServiceVolumeTest {
 
@@ -20,110 +33,221 @@ public class AnalyticsServiceVolumeTest {
     private WorkoutRepository workoutRepository;
 
     @Mock
-    private ExerciseRepository exerciseRepository;
+    private ExerciseSetRepository exerciseSetRepository;
 
     @Mock
-    private ExerciseSetRepository exerciseSetRepository;
+    private PersonalRecordIndex personalRecordIndex;
+
+    @Mock
+    private ActivityCalendarIndex activityCalendarIndex;
+
+    @Mock
+    private PopulationDistribution populationDistribution;
+
+    private final AtomicLong setIds = new AtomicLong();
+
+    private TrainingLogCache trainingLogCache;
+
+    private AnalyticsCache analyticsCache;
 
     private AnalyticsServiceImplementation analyticsService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        trainingLogCache = new TrainingLogCache(exerciseSetRepository, 100, 3600);
+        analyticsCache = new AnalyticsCache(100, 300);
         analyticsService = new AnalyticsServiceImplementation(
                 workoutRepository,
-                exerciseRepository,
-                exerciseSetRepository);
+                trainingLogCache,
+                personalRecordIndex,
+                activityCalendarIndex,
+                populationDistribution,
+                analyticsCache);
     }
 
     @Test
-    void testCalculateSetVolume_WeightBasedExercise() throws Exception {
+    void testSetVolume_WeightBasedExercise() {
         // Test weight-based exercise: Bench Press
         ExerciseSet set = new ExerciseSet();
         set.setValue(10); // 10 reps
         set.setWeight(135.0); // 135 lbs
         set.setIsTimeBased(false);
 
-        double volume = invokeCalculateSetVolume(set);
+        double volume = setVolume(set);
 
         // Expected: 135 lbs × 10 reps = 1,350 lbs
         assertEquals(1350.0, volume, 0.01);
     }
 
     @Test
-    void testCalculateSetVolume_BodyweightExercise() throws Exception {
+    void testSetVolume_BodyweightExercise() {
         // Test bodyweight exercise: Push-ups
         ExerciseSet set = new ExerciseSet();
         set.setValue(15); // 15 reps
         set.setWeight(null); // No weight (bodyweight)
         set.setIsTimeBased(false);
 
-        double volume = invokeCalculateSetVolume(set);
+        double volume = setVolume(set);
 
         // Expected: 150 lbs (estimated bodyweight) × 0.5 × 15 reps = 1,125 lbs
         assertEquals(1125.0, volume, 0.01);
     }
 
     @Test
-    void testCalculateSetVolume_TimeBasedExercise() throws Exception {
+    void testSetVolume_TimeBasedExercise() {
         // Test time-based exercise: Plank
         ExerciseSet set = new ExerciseSet();
         set.setValue(60); // 60 seconds
         set.setWeight(null); // No additional weight
         set.setIsTimeBased(true);
 
-        double volume = invokeCalculateSetVolume(set);
+        double volume = setVolume(set);
 
         // Expected: (60 seconds / 60) × 150 lbs × 0.5 = 75 lbs
         assertEquals(75.0, volume, 0.01);
     }
 
     @Test
-    void testCalculateSetVolume_WeightedTimeBasedExercise() throws Exception {
+    void testSetVolume_WeightedTimeBasedExercise() {
         // Test weighted time-based exercise: Weighted Plank
         ExerciseSet set = new ExerciseSet();
         set.setValue(45); // 45 seconds
         set.setWeight(25.0); // 25 lbs weight vest
         set.setIsTimeBased(true);
 
-        double volume = invokeCalculateSetVolume(set);
+        double volume = setVolume(set);
 
         // Expected: (45 seconds / 60) × 25 lbs × 0.5 = 9.375 lbs
         assertEquals(9.375, volume, 0.01);
     }
 
     @Test
-    void testCalculateSetVolume_ZeroReps() throws Exception {
+    void testSetVolume_ZeroReps() {
         // Test edge case: zero reps
         ExerciseSet set = new ExerciseSet();
         set.setValue(0);
         set.setWeight(100.0);
         set.setIsTimeBased(false);
 
-        double volume = invokeCalculateSetVolume(set);
+        double volume = setVolume(set);
 
         assertEquals(0.0, volume, 0.01);
     }
 
     @Test
-    void testCalculateSetVolume_NullValues() throws Exception {
+    void testSetVolume_NullValues() {
         // Test edge case: null values
         ExerciseSet set = new ExerciseSet();
         set.setValue(null);
         set.setWeight(null);
         set.setIsTimeBased(false);
 
-        double volume = invokeCalculateSetVolume(set);
+        double volume = setVolume(set);
 
         assertEquals(0.0, volume, 0.01);
     }
 
-    /**
-     * Helper method to invoke the private calculateSetVolume method
-     */
-    private double invokeCalculateSetVolume(ExerciseSet set) throws Exception {
-        Method method = AnalyticsServiceImplementation.class.getDeclaredMethod("calculateSetVolume", ExerciseSet.class);
-        method.setAccessible(true);
-        return (double) method.invoke(analyticsService, set);
+    @Test
+    void testGetWeeklyVolume_BucketsTrainingLogByWeek() {
+        LocalDate currentWeekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+
+        when(exerciseSetRepository.findLoggedSetsByUserId(1L))
+                .thenReturn(List.of(
+                        setView(currentWeekStart.minusWeeks(3), 10, 100.0, false), // outside the window
+                        setView(currentWeekStart, 10, 100.0, false), // 1,000 lbs this week
+                        setView(currentWeekStart.plusDays(6), 60, null, true), // 75 lbs this week
+                        setView(currentWeekStart.minusDays(1), 10, 50.0, false), // 500 lbs last week
+                        setView(currentWeekStart.minusWeeks(2), 15, null, false))); // 1,125 lbs two weeks ago
+
+        List<WeeklyVolumeDTO> weeks = analyticsService.getWeeklyVolume(1L, 3);
+
+        assertEquals(3, weeks.size());
+        assertEquals(1125.0, weeks.get(0).getVolume(), 0.01);
+        assertEquals(500.0, weeks.get(1).getVolume(), 0.01);
+        assertEquals(1075.0, weeks.get(2).getVolume(), 0.01);
+
+        // Each week is compared against the more recent one; the current week reports 0
+        assertEquals((1125.0 - 500.0) / 500.0 * 100, weeks.get(0).getChangeFromPreviousWeek(), 0.01);
+        assertEquals((500.0 - 1075.0) / 1075.0 * 100, weeks.get(1).getChangeFromPreviousWeek(), 0.01);
+        assertEquals(0.0, weeks.get(2).getChangeFromPreviousWeek(), 0.01);
+
+        verify(exerciseSetRepository, times(1)).findLoggedSetsByUserId(1L);
+        verify(exerciseSetRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetWeeklyVolume_CachedUntilUserWrites() {
+        when(exerciseSetRepository.findLoggedSetsByUserId(anyLong()))
+                .thenReturn(List.of(setView(LocalDate.now(), 10, 100.0, false)));
+
+        analyticsService.getWeeklyVolume(1L, 3);
+        analyticsService.getWeeklyVolume(1L, 3);
+        analyticsService.getWeeklyVolume(2L, 3);
+        verify(exerciseSetRepository, times(2)).findLoggedSetsByUserId(anyLong());
+
+        // A write by user 1 only drops user 1's entries; the recompute reads
+        // the training log, which the write patched, and not the database
+        analyticsCache.invalidateUser(1L);
+        analyticsService.getWeeklyVolume(1L, 3);
+        analyticsService.getWeeklyVolume(2L, 3);
+        verify(exerciseSetRepository, times(1)).findLoggedSetsByUserId(1L);
+        verify(exerciseSetRepository, times(1)).findLoggedSetsByUserId(2L);
+
+        assertEquals(2, analyticsCache.stats().hits());
+        assertEquals(3, analyticsCache.stats().misses());
+    }
+
+    @Test
+    void testCachedResults_AreReadOnly() {
+        when(exerciseSetRepository.findLoggedSetsByUserId(1L))
+                .thenReturn(List.of(setView(LocalDate.now(), 10, 100.0, false)));
+
+        List<WeeklyVolumeDTO> weeks = analyticsService.getWeeklyVolume(1L, 3);
+        assertThrows(UnsupportedOperationException.class, () -> weeks.remove(0));
+        MuscleVolumeDTO muscleVolume = analyticsService.getMuscleGroupVolume(1L);
+        assertThrows(UnsupportedOperationException.class, () -> muscleVolume.getMuscleVolumes().clear());
+
+        // The next hit is the same, untouched result
+        assertSame(weeks, analyticsService.getWeeklyVolume(1L, 3));
+        assertEquals(3, weeks.size());
+        assertEquals(1000.0, analyticsService.getMuscleGroupVolume(1L).getMuscleVolumes().get("Chest"), 0.01);
+    }
+
+    private LoggedSetView setView(LocalDate date, Integer value, Double weight, boolean isTimeBased) {
+        long setId = setIds.incrementAndGet();
+        return new LoggedSetView() {
+            public Long getSetId() {
+                return setId;
+            }
+
+            public Long getExerciseId() {
+                return 1L;
+            }
+
+            public LocalDate getDate() {
+                return date;
+            }
+
+            public String getMuscleGroup() {
+                return "Chest";
+            }
+
+            public Integer getValue() {
+                return value;
+            }
+
+            public Double getWeight() {
+                return weight;
+            }
+
+            public Boolean getIsTimeBased() {
+                return isTimeBased;
+            }
+        };
+    }
+
+    private double setVolume(ExerciseSet set) {
+        return VolumeCalculator.setVolume(set.getValue(), set.getWeight(), set.getIsTimeBased());
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.AccessDeniedException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthenticatedUserTest {
+
+    private final AuthenticatedUser user = new AuthenticatedUser(7L, "lifter@example.com");
+
+    @Test
+    void testResolve_ActsAsThePrincipal() throws AccessDeniedException {
+        assertEquals(7L, user.resolve(7L));
+        assertEquals(7L, user.resolve(null));
+    }
+
+    @Test
+    void testResolve_RejectsAnotherUsersId() {
+        assertThrows(AccessDeniedException.class, () -> user.resolve(8L));
+    }
+}
@@ -0,0 +1,110 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Config.ServiceBusyException;
+import com.ephyris.ephyris_engine.Executor.BoundedExecutor;
+import com.ephyris.ephyris_engine.Executor.ExecutorStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedExecutorTest {
+
+    private BoundedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testCall_ReturnsResultsAndRethrowsTaskExceptions() throws Exception {
+        executor = new BoundedExecutor("test", 2, 4, Duration.ofSeconds(5));
+
+        assertEquals("hashed", executor.call(() -> "hashed"));
+        assertThrows(BadCredentialsException.class, () -> executor.call(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        }));
+
+        ExecutorStats stats = executor.stats();
+        assertEquals(2, stats.completed());
+        assertEquals(0, stats.rejected());
+    }
+
+    @Test
+    void testCall_RejectsWhenQueueIsFull() throws Exception {
+        executor = new BoundedExecutor("test", 1, 1, Duration.ofSeconds(5));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> call(() -> {
+            running.countDown();
+            release.await();
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> call(() -> "second"));
+        while (executor.stats().queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceBusyException.class, () -> executor.call(() -> "third"));
+
+        release.countDown();
+        assertEquals("first", busy.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.stats().rejected());
+    }
+
+    @Test
+    void testCall_RejectsTasksThatWaitedTooLong() throws Exception {
+        executor = new BoundedExecutor("test", 1, 4, Duration.ofMillis(20));
+        CountDownLatch running = new CountDownLatch(1);
+
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> call(() -> {
+            running.countDown();
+            Thread.sleep(100);
+            return "slow";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceBusyException.class, () -> executor.call(() -> "stale"));
+        assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.stats().rejected());
+    }
+
+    @Test
+    void testSubmit_RunsFannedOutTasksSideBySide() throws Exception {
+        executor = new BoundedExecutor("test", 2, 4, Duration.ofSeconds(5));
+        // Neither task can finish unless the other is running at the same time
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        Callable<String> task = () -> {
+            bothRunning.countDown();
+            assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+            return "done";
+        };
+
+        Future<String> first = executor.submit(task);
+        Future<String> second = executor.submit(task);
+
+        assertEquals("done", executor.await(first));
+        assertEquals("done", executor.await(second));
+        assertEquals(2, executor.stats().completed());
+    }
+
+    private <T> T call(Callable<T> task) {
+        try {
+            return executor.call(task);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.CanonicalExercise;
+import com.ephyris.ephyris_engine.Repository.CanonicalExerciseRepository;
+import com.ephyris.ephyris_engine.Service.Impl.CanonicalExerciseMatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CanonicalExerciseMatcherTest {
+
+    @Mock
+    private CanonicalExerciseRepository canonicalRepo;
+
+    private CanonicalExerciseMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(canonicalRepo.findAllWithAliasesAndVariations()).thenReturn(List.of(
+                canonical(1L, "Bench Press", Set.of("Flat Bench"), Set.of("Incline Bench Press")),
+                canonical(2L, "Squat", Set.of("Back Squat"), Set.of("Front Squat")),
+                canonical(3L, "Barbell Row", Set.of("Bent Over Row"), Set.of())));
+        matcher = new CanonicalExerciseMatcher(canonicalRepo);
+    }
+
+    @Test
+    void testFindMatch_ExactNameIgnoresCaseAndSpaces() {
+        assertEquals(2L, matcher.findMatch("SQUAT").get().getId());
+        assertEquals(1L, matcher.findMatch("bench  press").get().getId());
+    }
+
+    @Test
+    void testFindMatch_FallsBackToAliasAndVariationSubstrings() {
+        assertEquals(3L, matcher.findMatch("bent over").get().getId());
+        assertEquals(2L, matcher.findMatch("frontsq").get().getId());
+        assertTrue(matcher.findMatch("deadlift").isEmpty());
+    }
+
+    @Test
+    void testSearch_ReturnsEachMatchOnceInCatalogOrder() {
+        List<CanonicalExercise> matches = matcher.search("ow");
+
+        // Short queries skip the trigram postings but match the same way
+        assertEquals(List.of(3L), matches.stream().map(CanonicalExercise::getId).toList());
+        assertEquals(List.of(1L), matcher.search("bench").stream().map(CanonicalExercise::getId).toList());
+        assertEquals(List.of(1L, 2L, 3L), matcher.search("").stream().map(CanonicalExercise::getId).toList());
+    }
+
+    @Test
+    void testRefresh_LoadsCatalogOnceUntilNextRefresh() {
+        matcher.findMatch("squat");
+        matcher.search("row");
+        verify(canonicalRepo, times(1)).findAllWithAliasesAndVariations();
+
+        when(canonicalRepo.findAllWithAliasesAndVariations()).thenReturn(List.of(
+                canonical(4L, "Deadlift", Set.of(), Set.of())));
+        matcher.refresh();
+
+        assertEquals(4L, matcher.findMatch("deadlift").get().getId());
+        assertTrue(matcher.findMatch("squat").isEmpty());
+    }
+
+    private CanonicalExercise canonical(Long id, String name, Set<String> aliases, Set<String> variations) {
+        CanonicalExercise canonical = new CanonicalExercise();
+        canonical.setId(id);
+        canonical.setName(name);
+        canonical.setAliases(aliases);
+        canonical.setVariations(variations);
+        return canonical;
+    }
+}
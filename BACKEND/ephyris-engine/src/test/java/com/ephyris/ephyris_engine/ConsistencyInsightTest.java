@@ -0,0 +1,139 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.DataTransferObject.ConsistencyInsightDTO;
+import com.ephyris.ephyris_engine.Entity.ActivityCalendar;
+import com.ephyris.ephyris_engine.Repository.DailyWorkoutCountView;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityCalendarIndex;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityDays;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.DailyWorkoutHistogram;
+import com.ephyris.ephyris_engine.Service.Impl.PopulationDistribution;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ConsistencyInsightTest {
+
+    @Mock
+    private WorkoutRepository workoutRepository;
+
+    @Mock
+    private TrainingLogCache trainingLogCache;
+
+    @Mock
+    private PersonalRecordIndex personalRecordIndex;
+
+    @Mock
+    private ActivityCalendarIndex activityCalendarIndex;
+
+    @Mock
+    private PopulationDistribution populationDistribution;
+
+    private AnalyticsServiceImplementation analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        analyticsService = new AnalyticsServiceImplementation(workoutRepository, trainingLogCache,
+                personalRecordIndex, activityCalendarIndex, populationDistribution,
+                new AnalyticsCache(100, 300));
+    }
+
+    @Test
+    void testHistogram_StreakSumsAndBusiestDay() {
+        LocalDate start = LocalDate.of(2024, 7, 1); // Monday
+        DailyWorkoutHistogram histogram = DailyWorkoutHistogram.of(start, start.plusDays(13), List.of(
+                day(start, 1),
+                day(start.plusDays(7), 2),
+                day(start.plusDays(11), 1),
+                day(start.plusDays(12), 1),
+                day(start.plusDays(13), 1),
+                day(start.plusDays(40), 5))); // outside the range
+
+        assertEquals(3, histogram.sum(start, start.plusDays(7)));
+        assertEquals(6, histogram.sum(start.minusDays(30), start.plusDays(30)));
+        assertEquals(0, histogram.count(start.plusDays(40)));
+        assertEquals(DayOfWeek.MONDAY, histogram.busiestDayOfWeek(start, start.plusDays(13)));
+        assertArrayEquals(new int[] { 3, 0, 0, 0, 1, 1, 1 }, histogram.countsByDayOfWeek(start, start.plusDays(13)));
+    }
+
+    @Test
+    void testConsistencyInsight_DerivesEverythingFromOneQuery() {
+        LocalDate today = LocalDate.now();
+        LocalDate sunday = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+        // A streak that started long before the 4-week report range
+        LocalDate streakStart = today.minusDays(59);
+        LocalDate[] streak = new LocalDate[60];
+        for (int i = 0; i < streak.length; i++) {
+            streak[i] = streakStart.plusDays(i);
+        }
+        List<ActivityCalendar> years = new ArrayList<>();
+        for (int year = streakStart.getYear(); year <= today.getYear(); year++) {
+            int y = year;
+            years.add(calendar(year, Arrays.stream(streak).filter(d -> d.getYear() == y).toArray(LocalDate[]::new)));
+        }
+        when(activityCalendarIndex.getActivity(1L)).thenReturn(ActivityDays.of(years));
+        when(populationDistribution.consistencyTopPercent(anyInt())).thenReturn(12);
+        when(workoutRepository.countPerDayByUserIdAndDateBetween(eq(1L), any(), any())).thenReturn(List.of(
+                day(today, 2),
+                day(today.minusDays(1), 1),
+                day(today.minusDays(2), 1),
+                day(today.minusDays(4), 1)));
+
+        ConsistencyInsightDTO insight = analyticsService.getConsistencyInsight(1L, 4);
+
+        assertEquals(60, insight.getStreakDays());
+        assertEquals(60, insight.getLongestStreakDays());
+        assertEquals(12, insight.getPercentile());
+        assertEquals(4, insight.getWeeklyFrequency().size());
+        assertEquals(5, insight.getWeeklyFrequency().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(2, (int) insight.getDailyWorkouts().get((int) (today.toEpochDay() - sunday.toEpochDay())));
+
+        // Workouts per week over the same range reuse the calendar
+        assertEquals(5, analyticsService.getWorkoutsPerWeekOfYear(1L, 4).values().stream()
+                .mapToLong(Long::longValue).sum());
+        verify(workoutRepository, times(1)).countPerDayByUserIdAndDateBetween(eq(1L), any(), any());
+        verify(workoutRepository, never()).findByUserIdAndDateBetween(any(), any(), any());
+    }
+
+    private ActivityCalendar calendar(int year, LocalDate... days) {
+        ActivityCalendar calendar = new ActivityCalendar();
+        calendar.setYear(year);
+        for (LocalDate day : days) {
+            calendar.setActive(day, true);
+        }
+        return calendar;
+    }
+
+    private DailyWorkoutCountView day(LocalDate date, long workouts) {
+        return new DailyWorkoutCountView() {
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public Long getWorkouts() {
+                return workouts;
+            }
+        };
+    }
+}
@@ -1,13 +1,16 @@
 package com.ephyris.ephyris_engine;
 
+import com.ephyris.ephyris_engine.Service.Impl.ActivityCalendarIndex;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
 import com.ephyris.ephyris_engine.Service.Impl.AnalyticsServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.PopulationDistribution;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
-import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
-import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
 
 import java.lang.reflect.Method;
 import java.time.LocalDate;
@@ -20,10 +23,16 @@ public class DateRangeLabelTest {
     private WorkoutRepository workoutRepository;
 
     @Mock
-    private ExerciseRepository exerciseRepository;
+    private TrainingLogCache trainingLogCache;
 
     @Mock
-    private ExerciseSetRepository exerciseSetRepository;
+    private PersonalRecordIndex personalRecordIndex;
+
+    @Mock
+    private ActivityCalendarIndex activityCalendarIndex;
+
+    @Mock
+    private PopulationDistribution populationDistribution;
 
     private AnalyticsServiceImplementation analyticsService;
 
@@ -32,8 +41,11 @@ public class DateRangeLabelTest {
         MockitoAnnotations.openMocks(this);
         analyticsService = new AnalyticsServiceImplementation(
                 workoutRepository,
-                exerciseRepository,
-                exerciseSetRepository);
+                trainingLogCache,
+                personalRecordIndex,
+                activityCalendarIndex,
+                populationDistribution,
+                new AnalyticsCache(100, 300));
     }
 
     @Test
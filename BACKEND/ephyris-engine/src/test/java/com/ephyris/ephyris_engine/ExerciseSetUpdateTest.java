@@ -0,0 +1,174 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.DataTransferObject.ExerciseSetDTO;
+import com.ephyris.ephyris_engine.Entity.Exercise;
+import com.ephyris.ephyris_engine.Entity.ExerciseSet;
+import com.ephyris.ephyris_engine.Entity.PersonalRecord;
+import com.ephyris.ephyris_engine.Entity.Workout;
+import com.ephyris.ephyris_engine.Mapper.ExerciseSetMapper;
+import com.ephyris.ephyris_engine.Repository.CompletedSetView;
+import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
+import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
+import com.ephyris.ephyris_engine.Repository.PersonalRecordBackfillRepository;
+import com.ephyris.ephyris_engine.Repository.PersonalRecordRepository;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
+import com.ephyris.ephyris_engine.Service.Impl.ExerciseSetServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ExerciseSetUpdateTest {
+
+    @Mock
+    private ExerciseSetRepository eSRepo;
+
+    @Mock
+    private ExerciseSetMapper eSMapper;
+
+    @Mock
+    private ExerciseRepository eRepo;
+
+    @Mock
+    private PersonalRecordRepository prRepo;
+
+    @Mock
+    private PersonalRecordBackfillRepository backfillRepo;
+
+    @Mock
+    private TrainingLogCache trainingLogCache;
+
+    @Mock
+    private AnalyticsCache analyticsCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExerciseSetServiceImplementation exerciseSetService;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exerciseSetService = new ExerciseSetServiceImplementation(eSRepo, eSMapper, eRepo,
+                new PersonalRecordIndex(prRepo, eSRepo, backfillRepo), trainingLogCache, analyticsCache,
+                transactionManager);
+        when(backfillRepo.existsById(1L)).thenReturn(true);
+        when(eSRepo.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testUpdateExerciseSet_MovingRecordSetRecomputesOldExercise() throws Exception {
+        Exercise bench = exercise(20L, "Bench Press");
+        Exercise squat = exercise(21L, "Squat");
+        ExerciseSet set = new ExerciseSet();
+        set.setId(10L);
+        set.setValue(10);
+        set.setWeight(135.0);
+        set.setIsTimeBased(false);
+        set.setCompleted(true);
+        set.setExercise(bench);
+        when(eSRepo.findByIdAndExerciseWorkoutUserId(10L, 1L)).thenReturn(Optional.of(set));
+        when(eRepo.findByIdAndWorkoutUserId(21L, 1L)).thenReturn(Optional.of(squat));
+
+        // Set 10 holds the bench record; set 9 is the next best bench set
+        PersonalRecord benchRecord = new PersonalRecord();
+        benchRecord.setUserId(1L);
+        benchRecord.setExerciseName("Bench Press");
+        benchRecord.setExerciseSetId(10L);
+        benchRecord.setVolume(1350.0);
+        when(prRepo.findByUserIdAndExerciseName(1L, "Bench Press")).thenReturn(Optional.of(benchRecord));
+        when(prRepo.findByUserIdAndExerciseName(1L, "Squat")).thenReturn(Optional.empty());
+        when(eSRepo.findCompletedSetsByUserIdAndExerciseName(1L, "Bench Press"))
+                .thenReturn(List.of(view(9L, "Bench Press", 8, 135.0)));
+
+        ExerciseSetDTO update = new ExerciseSetDTO();
+        update.setId(10L);
+        update.setExerciseId(21L);
+        exerciseSetService.updateExerciseSet(1L, update);
+
+        assertEquals(9L, benchRecord.getExerciseSetId());
+        assertEquals(1080.0, benchRecord.getVolume(), 0.01);
+        verify(prRepo).save(benchRecord);
+        verify(prRepo).save(argThat(record -> record != benchRecord
+                && "Squat".equals(record.getExerciseName()) && record.getExerciseSetId() == 10L));
+    }
+
+    @Test
+    void testUpdateCompletionStatus_FailedRecordWriteRollsBackTheSet() {
+        Exercise bench = exercise(20L, "Bench Press");
+        ExerciseSet set = new ExerciseSet();
+        set.setId(10L);
+        set.setValue(10);
+        set.setWeight(135.0);
+        set.setIsTimeBased(false);
+        set.setCompleted(false);
+        set.setExercise(bench);
+        when(eSRepo.findByIdAndExerciseWorkoutUserId(10L, 1L)).thenReturn(Optional.of(set));
+        when(prRepo.findByUserIdAndExerciseName(1L, "Bench Press"))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> exerciseSetService.updateCompletionStatus(10L, true, 1L));
+
+        verify(eSRepo).save(set);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verifyNoInteractions(trainingLogCache, analyticsCache);
+    }
+
+    private Exercise exercise(Long id, String name) {
+        Workout workout = new Workout();
+        workout.setDate(today);
+        Exercise exercise = new Exercise();
+        exercise.setId(id);
+        exercise.setName(name);
+        exercise.setWorkout(workout);
+        return exercise;
+    }
+
+    private CompletedSetView view(Long setId, String exerciseName, Integer value, Double weight) {
+        return new CompletedSetView() {
+            public Long getSetId() {
+                return setId;
+            }
+
+            public String getExerciseName() {
+                return exerciseName;
+            }
+
+            public LocalDate getDate() {
+                return today;
+            }
+
+            public String getMuscleGroup() {
+                return "Chest";
+            }
+
+            public Integer getValue() {
+                return value;
+            }
+
+            public Double getWeight() {
+                return weight;
+            }
+
+            public Boolean getIsTimeBased() {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Service.Impl.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtServiceTest {
+
+    private static final String SECRET_KEY = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LTMyYnl0ZXMhIQ==";
+
+    private final JwtService jwtService = new JwtService(SECRET_KEY, 3600000);
+
+    @Test
+    void testParseToken_ReturnsClaimsOfValidToken() {
+        String token = jwtService.generateToken(user("lifter@example.com"));
+
+        Claims claims = jwtService.parseToken(token);
+
+        assertEquals("lifter@example.com", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, user("lifter@example.com")));
+        assertFalse(jwtService.isTokenValid(claims, user("someone@example.com")));
+    }
+
+    @Test
+    void testParseToken_RejectsTamperedAndForeignTokens() {
+        String token = jwtService.generateToken(user("lifter@example.com"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        JwtService otherKey = new JwtService("b3RoZXIta2V5LWZvci10ZXN0aW5nLW9ubHktMzJieXRlcyEhIQ==", 3600000);
+
+        assertThrows(JwtException.class, () -> jwtService.parseToken(tampered));
+        assertThrows(JwtException.class, () -> otherKey.parseToken(token));
+    }
+
+    @Test
+    void testParseToken_RejectsExpiredToken() {
+        JwtService expiring = new JwtService(SECRET_KEY, -1000);
+        String token = expiring.generateToken(user("lifter@example.com"));
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseToken(token));
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Cache.LruTtlCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LruTtlCacheTest {
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsedEntry() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(2, Duration.ofMinutes(5));
+        cache.get("a", () -> 1);
+        cache.get("b", () -> 2);
+        cache.get("a", () -> -1); // touch a so b is the eldest
+        cache.get("c", () -> 3);
+
+        assertEquals(1, cache.get("a", () -> -1));
+        assertEquals(20, cache.get("b", () -> 20));
+        assertEquals(2, cache.stats().evictions());
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void testGet_ExpiredEntryIsReloaded() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ZERO);
+        cache.get("a", () -> 1);
+
+        assertEquals(2, cache.get("a", () -> 2));
+        assertEquals(0, cache.stats().hits());
+        assertEquals(2, cache.stats().misses());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void testGet_LoadOverlappingInvalidationIsNotStored() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMinutes(5));
+
+        Integer loaded = cache.get("a", () -> {
+            // A write lands while the value is being computed
+            cache.invalidateIf(key -> key.equals("a"));
+            return 1;
+        });
+
+        assertEquals(1, loaded);
+        assertEquals(0, cache.stats().size());
+        assertEquals(2, cache.get("a", () -> 2));
+    }
+
+    @Test
+    void testInvalidateGroup_LeavesOtherGroupsAndTheirLoads() {
+        // Keys "<user>:<endpoint>", grouped by user
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMinutes(5),
+                key -> key.substring(0, key.indexOf(':')));
+        cache.get("1:a", () -> 1);
+        cache.get("1:b", () -> 2);
+        cache.get("2:a", () -> 3);
+
+        Integer loaded = cache.get("2:b", () -> {
+            // Another user's write lands while user 2's value is being computed
+            assertEquals(2, cache.invalidateGroup("1"));
+            return 4;
+        });
+
+        assertEquals(4, loaded);
+        assertEquals(2, cache.stats().size());
+        assertNull(cache.getIfPresent("1:a"));
+        assertEquals(3, cache.getIfPresent("2:a"));
+        assertEquals(4, cache.getIfPresent("2:b"));
+        assertEquals(0, cache.invalidateGroup("1"));
+    }
+}
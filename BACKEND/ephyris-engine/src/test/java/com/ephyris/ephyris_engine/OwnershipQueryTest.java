@@ -0,0 +1,116 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.Exercise;
+import com.ephyris.ephyris_engine.Entity.ExerciseSet;
+import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Entity.Workout;
+import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
+import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Ownership lookups answer "is it there and is it yours" in one statement,
+// with everything the mutation paths touch afterwards already loaded.
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class OwnershipQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private ExerciseSetRepository exerciseSetRepository;
+
+    private Statistics statistics;
+
+    private User owner;
+    private User other;
+    private ExerciseSet set;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = persistUser("owner@example.com");
+        other = persistUser("other@example.com");
+
+        Workout workout = new Workout();
+        workout.setUser(owner);
+        workout.setName("Push");
+        entityManager.persist(workout);
+
+        Exercise exercise = new Exercise();
+        exercise.setName("Bench Press");
+        exercise.setWorkout(workout);
+        entityManager.persist(exercise);
+
+        set = new ExerciseSet();
+        set.setExercise(exercise);
+        set.setValue(10);
+        set.setWeight(100.0);
+        entityManager.persist(set);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindSet_LoadsSetExerciseAndWorkoutInOneStatement() {
+        Optional<ExerciseSet> found = exerciseSetRepository.findByIdAndExerciseWorkoutUserId(set.getId(),
+                owner.getId());
+
+        assertTrue(found.isPresent());
+        assertTrue(Hibernate.isInitialized(found.get().getExercise()));
+        assertTrue(Hibernate.isInitialized(found.get().getExercise().getWorkout()));
+        assertEquals(owner.getId(), found.get().getExercise().getWorkout().getUser().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testOwnershipLookups_AreEmptyForAnotherUser() {
+        Long exerciseId = exerciseSetRepository.findById(set.getId()).get().getExercise().getId();
+        Long workoutId = exerciseRepository.findById(exerciseId).get().getWorkout().getId();
+
+        assertTrue(exerciseSetRepository.findByIdAndExerciseWorkoutUserId(set.getId(), other.getId()).isEmpty());
+        assertTrue(exerciseRepository.findByIdAndWorkoutUserId(exerciseId, other.getId()).isEmpty());
+        assertTrue(workoutRepository.findByIdAndUserId(workoutId, other.getId()).isEmpty());
+
+        assertTrue(exerciseRepository.findByIdAndWorkoutUserId(exerciseId, owner.getId()).isPresent());
+        assertTrue(workoutRepository.findByIdAndUserId(workoutId, owner.getId()).isPresent());
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Test User");
+        user.setPassword("password");
+        user.setMembershipStatus("FREE");
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Repository.UserRepository;
+import com.ephyris.ephyris_engine.Security.TunableBCryptPasswordEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PasswordRehashTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PasswordEncoder encoder;
+
+    private DaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        TunableBCryptPasswordEncoder bcrypt = new TunableBCryptPasswordEncoder(5);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        encoder = delegating;
+
+        provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(email -> userRepository.findByEmail(email).orElseThrow());
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            userRepository.updatePassword(user.getUsername(), newPassword);
+            ((User) user).setPassword(newPassword);
+            return user;
+        });
+    }
+
+    @Test
+    void testLogin_RehashesLegacyAndOtherCostHashes() {
+        // Unprefixed hash from before the delegating encoder, at the old default cost
+        User legacy = user("legacy@example.com", new BCryptPasswordEncoder(4).encode("secret"));
+        when(userRepository.findByEmail("legacy@example.com")).thenReturn(Optional.of(legacy));
+
+        Authentication authentication = provider.authenticate(
+                new UsernamePasswordAuthenticationToken("legacy@example.com", "secret"));
+
+        User principal = (User) authentication.getPrincipal();
+        assertTrue(principal.getPassword().startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("secret", principal.getPassword()));
+        verify(userRepository).updatePassword(eq("legacy@example.com"), startsWith("{bcrypt}$2a$05$"));
+    }
+
+    @Test
+    void testLogin_LeavesCurrentHashesAlone() {
+        User current = user("current@example.com", encoder.encode("secret"));
+        when(userRepository.findByEmail("current@example.com")).thenReturn(Optional.of(current));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("current@example.com", "secret"));
+
+        verify(userRepository, never()).updatePassword(anyString(), anyString());
+    }
+
+    @Test
+    void testUpgradeEncoding_AnyOtherCostIsOutdated() {
+        TunableBCryptPasswordEncoder bcrypt = new TunableBCryptPasswordEncoder(5);
+
+        assertTrue(bcrypt.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(bcrypt.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(bcrypt.upgradeEncoding(bcrypt.encode("secret")));
+    }
+
+    @Test
+    void testCalibrate_StaysWithinBounds() {
+        assertEquals(4, TunableBCryptPasswordEncoder.calibrate(Duration.ZERO, 4, 6));
+        assertEquals(6, TunableBCryptPasswordEncoder.calibrate(Duration.ofSeconds(10), 4, 6));
+    }
+
+    private User user(String email, String password) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(password);
+        return user;
+    }
+}
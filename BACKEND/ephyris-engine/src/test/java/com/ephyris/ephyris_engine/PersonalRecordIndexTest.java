@@ -0,0 +1,236 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.DataTransferObject.PersonalRecordDTO;
+import com.ephyris.ephyris_engine.Entity.Exercise;
+import com.ephyris.ephyris_engine.Entity.ExerciseSet;
+import com.ephyris.ephyris_engine.Entity.PersonalRecord;
+import com.ephyris.ephyris_engine.Entity.Workout;
+import com.ephyris.ephyris_engine.Repository.CompletedSetView;
+import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
+import com.ephyris.ephyris_engine.Repository.PersonalRecordBackfillRepository;
+import com.ephyris.ephyris_engine.Repository.PersonalRecordRepository;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class PersonalRecordIndexTest {
+
+    @Mock
+    private PersonalRecordRepository prRepo;
+
+    @Mock
+    private ExerciseSetRepository eSRepo;
+
+    @Mock
+    private PersonalRecordBackfillRepository backfillRepo;
+
+    private PersonalRecordIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new PersonalRecordIndex(prRepo, eSRepo, backfillRepo);
+        when(backfillRepo.existsById(1L)).thenReturn(true);
+    }
+
+    @Test
+    void testOnSetSaved_HeavierCompletedSetReplacesRecord() {
+        PersonalRecord current = record(10L, 1000.0);
+        when(prRepo.findByUserIdAndExerciseName(1L, "Bench Press")).thenReturn(Optional.of(current));
+
+        index.onSetSaved(set(11L, 10, 135.0, true), 1L);
+
+        verify(prRepo).save(current);
+        assertEquals(11L, current.getExerciseSetId());
+        assertEquals(1350.0, current.getVolume(), 0.01);
+        verifyNoInteractions(eSRepo);
+    }
+
+    @Test
+    void testOnSetSaved_IncompleteSetLeavesRecordAlone() {
+        when(prRepo.findByUserIdAndExerciseName(1L, "Bench Press")).thenReturn(Optional.of(record(10L, 1000.0)));
+
+        index.onSetSaved(set(11L, 10, 500.0, false), 1L);
+
+        verify(prRepo, never()).save(any());
+    }
+
+    @Test
+    void testOnSetDeleted_RecordSetRecomputesFromRemainingSets() {
+        PersonalRecord current = record(10L, 1350.0);
+        when(prRepo.findByUserIdAndExerciseName(1L, "Bench Press")).thenReturn(Optional.of(current));
+        when(eSRepo.findCompletedSetsByUserIdAndExerciseName(1L, "Bench Press")).thenReturn(List.of(
+                view(7L, 8, 100.0),
+                view(9L, 10, 100.0),
+                view(12L, 5, 100.0)));
+
+        index.onSetDeleted(10L, "Bench Press", 1L);
+
+        verify(prRepo).save(current);
+        assertEquals(9L, current.getExerciseSetId());
+        assertEquals(1000.0, current.getVolume(), 0.01);
+    }
+
+    @Test
+    void testOnSetDeleted_LastSetRemovesRecord() {
+        PersonalRecord current = record(10L, 1350.0);
+        when(prRepo.findByUserIdAndExerciseName(1L, "Bench Press")).thenReturn(Optional.of(current));
+        when(eSRepo.findCompletedSetsByUserIdAndExerciseName(1L, "Bench Press")).thenReturn(List.of());
+
+        index.onSetDeleted(10L, "Bench Press", 1L);
+
+        verify(prRepo).delete(current);
+    }
+
+    @Test
+    void testOnSetDeleted_OtherSetDoesNotTouchRecord() {
+        when(prRepo.findByUserIdAndExerciseName(1L, "Bench Press")).thenReturn(Optional.of(record(10L, 1350.0)));
+
+        index.onSetDeleted(11L, "Bench Press", 1L);
+
+        verifyNoInteractions(eSRepo);
+        verify(prRepo, never()).delete(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testOnSetSaved_FirstWriteBeforeFirstReadBackfillsHistory() {
+        // User 2 trained before the index existed and has no records yet
+        when(backfillRepo.existsById(2L)).thenReturn(false);
+        when(prRepo.findByUserIdOrderByExerciseNameAsc(2L)).thenReturn(List.of());
+        when(eSRepo.findCompletedSetsByUserId(2L)).thenReturn(List.of(
+                view(1L, "Squat", LocalDate.now().minusDays(30), 5, 200.0),
+                view(11L, "Bench Press", LocalDate.now(), 10, 135.0)));
+        when(prRepo.saveAll(any())).thenAnswer(invocation -> new ArrayList<>(
+                (List<PersonalRecord>) invocation.getArgument(0)));
+
+        index.onSetSaved(set(11L, 10, 135.0, true), 2L);
+
+        ArgumentCaptor<List<PersonalRecord>> saved = ArgumentCaptor.forClass(List.class);
+        verify(prRepo).saveAll(saved.capture());
+        assertEquals(List.of("Squat", "Bench Press"),
+                saved.getValue().stream().map(PersonalRecord::getExerciseName).toList());
+        verify(prRepo, never()).save(any());
+        verify(prRepo, never()).findByUserIdAndExerciseName(any(), any());
+        verify(backfillRepo).save(argThat(marker -> marker.getUserId() == 2L));
+    }
+
+    @Test
+    void testOnSetSaved_BackfilledUserWithoutRecordsIsNotRebuiltAgain() {
+        // User 1 is backfilled but has only logged incomplete sets so far
+        when(prRepo.findByUserIdAndExerciseName(1L, "Bench Press")).thenReturn(Optional.empty());
+
+        index.onSetSaved(set(11L, 10, 135.0, false), 1L);
+        index.onSetSaved(set(12L, 10, 135.0, false), 1L);
+
+        verify(eSRepo, never()).findCompletedSetsByUserId(any());
+        verify(prRepo, never()).save(any());
+        verify(prRepo, never()).saveAll(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testGetPersonalRecords_BackfillsOnFirstReadAndFlagsRecentRecords() {
+        when(backfillRepo.existsById(1L)).thenReturn(false);
+        when(prRepo.findByUserIdOrderByExerciseNameAsc(1L)).thenReturn(List.of());
+        when(eSRepo.findCompletedSetsByUserId(1L)).thenReturn(List.of(
+                view(1L, "Squat", LocalDate.now().minusDays(30), 5, 200.0),
+                view(2L, "Squat", LocalDate.now().minusDays(2), 5, 225.0),
+                view(3L, "Plank", LocalDate.now().minusDays(30), 60, null)));
+        when(prRepo.saveAll(any())).thenAnswer(invocation -> new ArrayList<>(
+                (List<PersonalRecord>) invocation.getArgument(0)));
+
+        List<PersonalRecordDTO> records = index.getPersonalRecords(1L);
+
+        ArgumentCaptor<List<PersonalRecord>> saved = ArgumentCaptor.forClass(List.class);
+        verify(prRepo).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+
+        assertEquals(2, records.size());
+        PersonalRecordDTO plank = records.get(0);
+        assertEquals("Plank", plank.getExercise());
+        assertEquals(0.0, plank.getWeight(), 0.01);
+        assertEquals(60, plank.getReps());
+        assertFalse(plank.isNewPR());
+
+        PersonalRecordDTO squat = records.get(1);
+        assertEquals("Squat", squat.getExercise());
+        assertEquals(225.0, squat.getWeight(), 0.01);
+        assertTrue(squat.isNewPR());
+    }
+
+    private PersonalRecord record(Long setId, double volume) {
+        PersonalRecord record = new PersonalRecord();
+        record.setUserId(1L);
+        record.setExerciseName("Bench Press");
+        record.setExerciseSetId(setId);
+        record.setVolume(volume);
+        record.setDate(LocalDate.now().minusDays(20));
+        return record;
+    }
+
+    private ExerciseSet set(Long id, Integer value, Double weight, boolean completed) {
+        Workout workout = new Workout();
+        workout.setDate(LocalDate.now());
+
+        Exercise exercise = new Exercise();
+        exercise.setName("Bench Press");
+        exercise.setWorkout(workout);
+
+        ExerciseSet set = new ExerciseSet();
+        set.setId(id);
+        set.setExercise(exercise);
+        set.setValue(value);
+        set.setWeight(weight);
+        set.setCompleted(completed);
+        return set;
+    }
+
+    private CompletedSetView view(Long setId, Integer value, Double weight) {
+        return view(setId, "Bench Press", LocalDate.now().minusDays(20), value, weight);
+    }
+
+    private CompletedSetView view(Long setId, String exerciseName, LocalDate date, Integer value, Double weight) {
+        return new CompletedSetView() {
+            public Long getSetId() {
+                return setId;
+            }
+
+            public String getExerciseName() {
+                return exerciseName;
+            }
+
+            public LocalDate getDate() {
+                return date;
+            }
+
+            public String getMuscleGroup() {
+                return "Plank".equals(exerciseName) ? "Core" : "Chest";
+            }
+
+            public Integer getValue() {
+                return value;
+            }
+
+            public Double getWeight() {
+                return weight;
+            }
+
+            public Boolean getIsTimeBased() {
+                return "Plank".equals(exerciseName);
+            }
+        };
+    }
+}
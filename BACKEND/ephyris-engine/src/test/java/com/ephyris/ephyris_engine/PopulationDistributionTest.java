@@ -0,0 +1,171 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
+import com.ephyris.ephyris_engine.Repository.UserDailyWorkoutCountView;
+import com.ephyris.ephyris_engine.Repository.UserRepository;
+import com.ephyris.ephyris_engine.Repository.UserSetVolumeView;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Service.Impl.PopulationDistribution;
+import com.ephyris.ephyris_engine.Service.Impl.PopulationHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class PopulationDistributionTest {
+
+    @Mock
+    private WorkoutRepository workoutRepository;
+
+    @Mock
+    private ExerciseSetRepository eSRepo;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PopulationDistribution distribution;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        distribution = new PopulationDistribution(workoutRepository, eSRepo, userRepository);
+    }
+
+    @Test
+    void testLinearHistogram_RanksFromTheTop() {
+        PopulationHistogram.Builder builder = PopulationHistogram.linear(100);
+        for (int score = 1; score <= 100; score++) {
+            builder.add(score);
+        }
+        PopulationHistogram scores = builder.add(-5).add(250).build();
+
+        assertEquals(102, scores.total());
+        assertEquals(2, scores.topPercent(100));
+        assertEquals(11, scores.topPercent(91));
+        assertEquals(100, scores.topPercent(0));
+    }
+
+    @Test
+    void testLogarithmicHistogram_StaysWithinRelativeError() {
+        PopulationHistogram.Builder builder = PopulationHistogram.logarithmic(1_000_000, 0.01);
+        for (int volume = 1; volume <= 10_000; volume++) {
+            builder.add(volume * 10.0);
+        }
+        PopulationHistogram volumes = builder.build();
+
+        assertEquals(10, volumes.topPercent(90_000), 1);
+        assertEquals(50, volumes.topPercent(50_000), 1);
+        assertEquals(1, volumes.topPercent(5_000_000));
+        assertEquals(100, volumes.topPercent(0));
+        assertThrows(IllegalStateException.class, () -> PopulationHistogram.linear(10).build().topPercent(1));
+    }
+
+    @Test
+    void testRefresh_RanksScoresAgainstEveryUser() {
+        LocalDate today = LocalDate.now();
+        LocalDate monday = today.with(DayOfWeek.MONDAY);
+        // User 1 trains three times a week over the whole window, user 2 once,
+        // users 3 and 4 not at all
+        List<UserDailyWorkoutCountView> days = new ArrayList<>();
+        for (int week = 0; week < 7; week++) {
+            LocalDate weekStart = monday.minusWeeks(week);
+            days.add(day(1L, weekStart, 1));
+            if (!weekStart.plusDays(2).isAfter(today)) {
+                days.add(day(1L, weekStart.plusDays(2), 1));
+            }
+            if (!weekStart.plusDays(4).isAfter(today)) {
+                days.add(day(1L, weekStart.plusDays(4), 1));
+            }
+        }
+        days.add(day(2L, monday, 1));
+        when(workoutRepository.countPerUserAndDayBetween(any(), any())).thenReturn(days);
+        when(userRepository.count()).thenReturn(4L);
+        when(eSRepo.findCompletedSetsBetween(any(), any())).thenReturn(List.of(
+                set(1L, monday.minusWeeks(1), 10, 500.0),
+                set(1L, monday.minusWeeks(1).plusDays(2), 10, 300.0),
+                set(1L, monday.minusWeeks(2), 10, 600.0),
+                set(2L, monday.minusWeeks(1).plusDays(1), 10, 100.0),
+                // Bodyweight: 150 lbs estimate x 0.5 x 40 reps
+                set(2L, monday.minusWeeks(1).plusDays(3), 40, null)));
+
+        distribution.refresh();
+
+        assertEquals(25, distribution.consistencyTopPercent(90));
+        assertEquals(75, distribution.consistencyTopPercent(50));
+        assertEquals(100, distribution.consistencyTopPercent(0));
+        assertEquals(34, distribution.weeklyVolumeTopPercent(8000.0));
+        assertEquals(100, distribution.weeklyVolumeTopPercent(2000.0));
+        assertEquals(0, distribution.weeklyVolumeTopPercent(0.0));
+        verify(workoutRepository, times(1)).countPerUserAndDayBetween(any(), any());
+    }
+
+    @Test
+    void testFirstLookup_LoadsOnce() {
+        when(workoutRepository.countPerUserAndDayBetween(any(), any())).thenReturn(List.of());
+        when(eSRepo.findCompletedSetsBetween(any(), any())).thenReturn(List.of());
+        when(userRepository.count()).thenReturn(0L);
+
+        assertEquals(0, distribution.consistencyTopPercent(70));
+        assertEquals(0, distribution.weeklyVolumeTopPercent(500.0));
+
+        verify(workoutRepository, times(1)).countPerUserAndDayBetween(any(), any());
+        verify(eSRepo, times(1)).findCompletedSetsBetween(any(), any());
+    }
+
+    private UserDailyWorkoutCountView day(Long userId, LocalDate date, long workouts) {
+        return new UserDailyWorkoutCountView() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public Long getWorkouts() {
+                return workouts;
+            }
+        };
+    }
+
+    private UserSetVolumeView set(Long userId, LocalDate date, int reps, Double weight) {
+        return new UserSetVolumeView() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public Integer getValue() {
+                return reps;
+            }
+
+            @Override
+            public Double getWeight() {
+                return weight;
+            }
+
+            @Override
+            public Boolean getIsTimeBased() {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Repository.UserRepository;
+import com.ephyris.ephyris_engine.Service.Impl.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Through a real servlet container, where the order of container filters and
+// security chains matters; MockMvc wires filters its own way.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:securitychain",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "security.admin-emails=ops@example.com"
+})
+public class SecurityChainTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = findOrCreate("chain@example.com");
+    }
+
+    @Test
+    void testOnlyTheJwtChainIsRegistered() {
+        assertEquals(1, context.getBeansOfType(SecurityFilterChain.class).size());
+    }
+
+    @Test
+    void testRequestWithToken_RunsAsTheTokenUser() throws Exception {
+        String token = jwtService.generateToken(user);
+
+        HttpResponse<String> response = get("/api/analytics/daily-workouts/" + user.getId(), token);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("[0,0,0,0,0,0,0]", response.body());
+    }
+
+    @Test
+    void testDashboardOfAnotherUser_IsForbidden() throws Exception {
+        String token = jwtService.generateToken(user);
+
+        assertEquals(200, get("/api/analytics/dashboard/" + user.getId(), token).statusCode());
+        assertEquals(403, get("/api/analytics/dashboard/" + (user.getId() + 1000), token).statusCode());
+    }
+
+    @Test
+    void testMetrics_AreForAdminsOnly() throws Exception {
+        String userToken = jwtService.generateToken(user);
+        String adminToken = jwtService.generateToken(findOrCreate("Ops@example.com"));
+
+        assertEquals(403, get("/api/metrics/analytics-cache", userToken).statusCode());
+        assertEquals(200, get("/api/metrics/analytics-cache", adminToken).statusCode());
+    }
+
+    @Test
+    void testRequestWithoutToken_IsRejected() throws Exception {
+        HttpResponse<String> response = get("/api/analytics/daily-workouts/" + user.getId(), null);
+
+        assertEquals(403, response.statusCode());
+    }
+
+    @Test
+    void testRevokedToken_IsUnauthorized() throws Exception {
+        String token = jwtService.generateToken(user);
+        http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/logout"))
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        HttpResponse<String> response = get("/api/analytics/daily-workouts/" + user.getId(), token);
+
+        assertEquals(401, response.statusCode());
+    }
+
+    private User findOrCreate(String email) {
+        return userRepository.findByEmail(email).orElseGet(() -> {
+            User newUser = new User();
+            newUser.setEmail(email);
+            newUser.setName("Chain");
+            newUser.setPassword("unused");
+            newUser.setCreatedAt(LocalDateTime.now());
+            newUser.setMembershipStatus("FREE");
+            return userRepository.save(newUser);
+        });
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
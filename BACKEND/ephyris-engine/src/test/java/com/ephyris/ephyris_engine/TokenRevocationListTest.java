@@ -0,0 +1,89 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.RevokedToken;
+import com.ephyris.ephyris_engine.Repository.RevokedTokenRepository;
+import com.ephyris.ephyris_engine.Security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        revocationList = new TokenRevocationList(revokedTokenRepository, 16);
+    }
+
+    @Test
+    void testRevoke_RevokedTokenIsFoundAndPersisted() {
+        revocationList.revoke("jti-1", inMinutes(30));
+
+        assertTrue(revocationList.isRevoked("jti-1"));
+        assertFalse(revocationList.isRevoked("jti-2"));
+        assertFalse(revocationList.isRevoked(null));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testRevoke_IgnoresExpiredTokensAndTokensWithoutId() {
+        revocationList.revoke("jti-1", inMinutes(-1));
+        revocationList.revoke(null, inMinutes(30));
+
+        assertFalse(revocationList.isRevoked("jti-1"));
+        assertEquals(0, revocationList.size());
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void testRefresh_LoadsOtherInstancesRevocationsAndDropsExpired() {
+        revocationList.revoke("short-lived", new Date(System.currentTimeMillis() + 50));
+        when(revokedTokenRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("from-db", Instant.now().plusSeconds(1800))));
+
+        await(100);
+        revocationList.refresh();
+
+        assertTrue(revocationList.isRevoked("from-db"));
+        assertFalse(revocationList.isRevoked("short-lived"));
+        assertEquals(1, revocationList.size());
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    void testIsRevoked_StaysExactPastExpectedSize() {
+        for (int i = 0; i < 1000; i++) {
+            revocationList.revoke("revoked-" + i, inMinutes(30));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(revocationList.isRevoked("revoked-" + i));
+            assertFalse(revocationList.isRevoked("valid-" + i));
+        }
+    }
+
+    private Date inMinutes(int minutes) {
+        return new Date(System.currentTimeMillis() + minutes * 60_000L);
+    }
+
+    private void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.Exercise;
+import com.ephyris.ephyris_engine.Entity.ExerciseSet;
+import com.ephyris.ephyris_engine.Entity.Workout;
+import com.ephyris.ephyris_engine.Repository.ExerciseSetRepository;
+import com.ephyris.ephyris_engine.Repository.LoggedSetView;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLog;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TrainingLogCacheTest {
+
+    @Mock
+    private ExerciseSetRepository eSRepo;
+
+    private TrainingLogCache cache;
+
+    private final LocalDate monday = LocalDate.of(2024, 7, 1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new TrainingLogCache(eSRepo, 10, 3600);
+    }
+
+    @Test
+    void testLog_BucketsVolumeByWeekAndMuscleGroup() {
+        TrainingLog log = TrainingLog.of(List.of(
+                view(1L, 10L, monday, "Chest", 10, 100.0, false), // 1,000 lbs
+                view(2L, 10L, monday.plusDays(6), "Chest", 60, null, true), // 75 lbs
+                view(3L, 11L, monday.plusDays(7), null, 15, null, false), // 1,125 lbs, no group
+                view(4L, 11L, monday.plusDays(8), "", 0, 50.0, false))); // 0 lbs
+
+        assertArrayEquals(new double[] {0.0, 1075.0, 1125.0}, log.volumeByWeek(monday.minusWeeks(1), 3), 0.01);
+
+        Map<String, Double> byGroup = log.volumeByMuscleGroup(monday, monday.plusDays(8));
+        assertEquals(2, byGroup.size());
+        assertEquals(1075.0, byGroup.get("Chest"), 0.01);
+        assertEquals(1125.0, byGroup.get("Other"), 0.01);
+        assertTrue(log.volumeByMuscleGroup(monday.minusDays(7), monday.minusDays(1)).isEmpty());
+    }
+
+    @Test
+    void testLog_PutReplacesAndKeepsSetIdOrder() {
+        TrainingLog log = TrainingLog.of(List.of());
+        // More sets than the initial capacity, out of id order
+        for (long setId = 40; setId > 0; setId -= 2) {
+            log.put(setId, 1L, monday, "Legs", 10, 100.0, false);
+        }
+        for (long setId = 1; setId < 40; setId += 2) {
+            log.put(setId, 2L, monday, "Back", 10, 100.0, false);
+        }
+        assertEquals(40, log.size());
+
+        log.put(7L, 2L, monday, "Back", 10, 50.0, false);
+        log.remove(8L);
+        log.remove(99L);
+
+        assertEquals(39, log.size());
+        Map<String, Double> byGroup = log.volumeByMuscleGroup(monday, monday);
+        assertEquals(19 * 1000.0, byGroup.get("Legs"), 0.01);
+        assertEquals(19 * 1000.0 + 500.0, byGroup.get("Back"), 0.01);
+
+        log.removeExercise(1L);
+        assertEquals(20, log.size());
+        assertFalse(log.volumeByMuscleGroup(monday, monday).containsKey("Legs"));
+    }
+
+    @Test
+    void testCache_PatchesCachedLogInPlace() {
+        when(eSRepo.findLoggedSetsByUserId(1L)).thenReturn(new ArrayList<>(List.of(
+                view(1L, 10L, monday, "Chest", 10, 100.0, false))));
+        TrainingLog log = cache.get(1L);
+
+        Exercise exercise = exercise(10L, "Chest");
+        cache.onSetSaved(1L, set(exercise, 2L, 5, 100.0, true));
+        cache.onSetSaved(1L, set(exercise, 1L, 10, 100.0, false)); // no longer completed
+        assertEquals(1, log.size());
+        assertEquals(500.0, log.volumeByMuscleGroup(monday, monday).get("Chest"), 0.01);
+
+        // A changed muscle group moves every set of the exercise
+        exercise.setMuscleGroup("Shoulders");
+        set(exercise, 3L, 10, 20.0, true);
+        cache.onExerciseSaved(1L, exercise);
+        assertEquals(Map.of("Shoulders", 700.0), log.volumeByMuscleGroup(monday, monday));
+
+        cache.onSetDeleted(1L, 3L);
+        cache.onExerciseRemoved(1L, 10L);
+        assertEquals(0, log.size());
+
+        assertSame(log, cache.get(1L));
+        verify(eSRepo, times(1)).findLoggedSetsByUserId(1L);
+    }
+
+    @Test
+    void testCache_WriteWithoutCachedLogLoadsFreshLater() {
+        when(eSRepo.findLoggedSetsByUserId(2L)).thenReturn(List.of());
+
+        // Nothing cached yet: the write must not build a log of its own
+        cache.onSetDeleted(2L, 1L);
+        assertEquals(0, cache.stats().size());
+
+        cache.get(2L);
+        cache.invalidate(2L);
+        cache.get(2L);
+        verify(eSRepo, times(2)).findLoggedSetsByUserId(2L);
+    }
+
+    private Exercise exercise(Long id, String muscleGroup) {
+        Workout workout = new Workout();
+        workout.setDate(monday);
+        Exercise exercise = new Exercise();
+        exercise.setId(id);
+        exercise.setMuscleGroup(muscleGroup);
+        exercise.setWorkout(workout);
+        exercise.setSets(new ArrayList<>());
+        return exercise;
+    }
+
+    private ExerciseSet set(Exercise exercise, Long id, Integer value, Double weight, boolean completed) {
+        ExerciseSet set = new ExerciseSet();
+        set.setId(id);
+        set.setValue(value);
+        set.setWeight(weight);
+        set.setIsTimeBased(false);
+        set.setCompleted(completed);
+        set.setExercise(exercise);
+        exercise.getSets().add(set);
+        return set;
+    }
+
+    private LoggedSetView view(Long setId, Long exerciseId, LocalDate date, String muscleGroup, Integer value,
+            Double weight, boolean isTimeBased) {
+        return new LoggedSetView() {
+            public Long getSetId() {
+                return setId;
+            }
+
+            public Long getExerciseId() {
+                return exerciseId;
+            }
+
+            public LocalDate getDate() {
+                return date;
+            }
+
+            public String getMuscleGroup() {
+                return muscleGroup;
+            }
+
+            public Integer getValue() {
+                return value;
+            }
+
+            public Double getWeight() {
+                return weight;
+            }
+
+            public Boolean getIsTimeBased() {
+                return isTimeBased;
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.CanonicalExercise;
+import com.ephyris.ephyris_engine.Entity.Exercise;
+import com.ephyris.ephyris_engine.Repository.ExerciseNameView;
+import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
+import com.ephyris.ephyris_engine.Service.Impl.CanonicalExerciseMatcher;
+import com.ephyris.ephyris_engine.Service.Impl.UserExerciseNameIndex;
+import com.ephyris.ephyris_engine.Service.Impl.UserExerciseNameIndex.HistoryMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserExerciseNameIndexTest {
+
+    @Mock
+    private ExerciseRepository eRepo;
+
+    @Mock
+    private CanonicalExerciseMatcher canonicalMatcher;
+
+    private UserExerciseNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(eRepo.findNamesByUserId(1L)).thenReturn(List.of(
+                view("benchpress", "Bench Press", 1L),
+                view("squat", "Squat", null),
+                view("latpulldown", "Lat Pulldown", null)));
+        when(canonicalMatcher.findById(1L)).thenReturn(Optional.of(canonical(1L, "Bench Press")));
+        index = new UserExerciseNameIndex(eRepo, canonicalMatcher, 100, 30);
+    }
+
+    @Test
+    void testFindMatch_ExactNameIgnoresCaseAndSpaces() {
+        HistoryMatch match = index.findMatch(1L, "BENCH press").get();
+
+        assertEquals("Bench Press", match.name());
+        assertEquals(1L, match.canonicalExercise().getId());
+    }
+
+    @Test
+    void testFindMatch_FuzzyMatchWithinThreshold() {
+        assertEquals("Lat Pulldown", index.findMatch(1L, "lat pulldwn").get().name());
+        assertEquals("Squat", index.findMatch(1L, "squats").get().name());
+        assertNull(index.findMatch(1L, "squats").get().canonicalExercise());
+        assertTrue(index.findMatch(1L, "deadlift").isEmpty());
+    }
+
+    @Test
+    void testFindMatch_ShortInputOnlyMatchesExactly() {
+        when(eRepo.findNamesByUserId(2L)).thenReturn(List.of(view("ab", "AB", null)));
+
+        assertTrue(index.findMatch(2L, "ac").isEmpty());
+        assertEquals("AB", index.findMatch(2L, "ab").get().name());
+    }
+
+    @Test
+    void testOnExerciseSaved_AddsNameWithoutReloading() {
+        index.findMatch(1L, "squat");
+
+        Exercise exercise = new Exercise();
+        exercise.setName("Deadlift");
+        exercise.setNormalizedName("deadlift");
+        index.onExerciseSaved(1L, exercise);
+
+        assertEquals("Deadlift", index.findMatch(1L, "deadlifts").get().name());
+        verify(eRepo, times(1)).findNamesByUserId(1L);
+    }
+
+    @Test
+    void testOnExercisesRemoved_ReloadsHistory() {
+        index.findMatch(1L, "squat");
+        when(eRepo.findNamesByUserId(1L)).thenReturn(List.of(view("benchpress", "Bench Press", 1L)));
+
+        index.onExercisesRemoved(1L);
+
+        assertTrue(index.findMatch(1L, "squat").isEmpty());
+        verify(eRepo, times(2)).findNamesByUserId(1L);
+    }
+
+    private ExerciseNameView view(String normalizedName, String name, Long canonicalExerciseId) {
+        return new ExerciseNameView() {
+            public String getNormalizedName() {
+                return normalizedName;
+            }
+
+            public String getName() {
+                return name;
+            }
+
+            public Long getCanonicalExerciseId() {
+                return canonicalExerciseId;
+            }
+        };
+    }
+
+    private CanonicalExercise canonical(Long id, String name) {
+        CanonicalExercise canonical = new CanonicalExercise();
+        canonical.setId(id);
+        canonical.setName(name);
+        return canonical;
+    }
+}
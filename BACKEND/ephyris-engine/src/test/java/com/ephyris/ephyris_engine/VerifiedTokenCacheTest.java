@@ -0,0 +1,107 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Repository.RevokedTokenRepository;
+import com.ephyris.ephyris_engine.Repository.UserRepository;
+import com.ephyris.ephyris_engine.Security.AuthenticatedUser;
+import com.ephyris.ephyris_engine.Security.TokenRevocationList;
+import com.ephyris.ephyris_engine.Security.VerifiedTokenCache;
+import com.ephyris.ephyris_engine.Service.Impl.JwtService;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class VerifiedTokenCacheTest {
+
+    private static final String SECRET_KEY = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LTMyYnl0ZXMhIQ==";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private JwtService jwtService;
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jwtService = spy(new JwtService(SECRET_KEY, 3600000));
+        TokenRevocationList revocationList = new TokenRevocationList(revokedTokenRepository, 100);
+        cache = new VerifiedTokenCache(jwtService, userRepository, revocationList, 100, 300);
+    }
+
+    @Test
+    void testAuthenticate_BuildsPrincipalFromClaimsAndVerifiesOnce() {
+        String token = jwtService.generateToken(user(7L, "lifter@example.com"));
+
+        AuthenticatedUser first = cache.authenticate(token);
+        AuthenticatedUser second = cache.authenticate(token);
+
+        assertEquals(new AuthenticatedUser(7L, "lifter@example.com"), first);
+        assertEquals(first, second);
+        verify(jwtService, times(1)).parseToken(token);
+        verifyNoInteractions(userRepository);
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void testAuthenticate_TokenWithoutUserIdLooksUpUserOnce() {
+        // Issued before tokens carried the uid claim
+        String token = Jwts.builder()
+                .setSubject("lifter@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)), SignatureAlgorithm.HS256)
+                .compact();
+        when(userRepository.findByEmail("lifter@example.com")).thenReturn(Optional.of(user(7L, "lifter@example.com")));
+
+        assertEquals(7L, cache.authenticate(token).id());
+        assertEquals(7L, cache.authenticate(token).id());
+
+        verify(userRepository, times(1)).findByEmail("lifter@example.com");
+    }
+
+    @Test
+    void testAuthenticate_InvalidTokenIsNotCached() {
+        String token = jwtService.generateToken(user(7L, "lifter@example.com"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> cache.authenticate(tampered));
+        assertThrows(JwtException.class, () -> cache.authenticate(tampered));
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void testAuthenticate_RevokedTokenIsRejectedEvenWhenCached() {
+        String token = jwtService.generateToken(user(7L, "lifter@example.com"));
+        String other = jwtService.generateToken(user(7L, "lifter@example.com"));
+        cache.authenticate(token);
+
+        cache.revoke(token);
+
+        assertThrows(JwtException.class, () -> cache.authenticate(token));
+        assertEquals(7L, cache.authenticate(other).id());
+        verify(revokedTokenRepository).save(any());
+    }
+
+    private User user(Long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        return user;
+    }
+}
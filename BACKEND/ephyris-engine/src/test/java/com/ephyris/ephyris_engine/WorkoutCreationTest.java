@@ -0,0 +1,213 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.DataTransferObject.ExerciseDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.ExerciseSetDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutDTO;
+import com.ephyris.ephyris_engine.Entity.CanonicalExercise;
+import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Entity.Workout;
+import com.ephyris.ephyris_engine.Mapper.ExerciseMapper;
+import com.ephyris.ephyris_engine.Mapper.ExerciseMapperImpl;
+import com.ephyris.ephyris_engine.Mapper.ExerciseSetMapper;
+import com.ephyris.ephyris_engine.Mapper.ExerciseSetMapperImpl;
+import com.ephyris.ephyris_engine.Mapper.WorkoutMapper;
+import com.ephyris.ephyris_engine.Mapper.WorkoutMapperImpl;
+import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityCalendarIndex;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
+import com.ephyris.ephyris_engine.Service.Impl.CanonicalExerciseMatcher;
+import com.ephyris.ephyris_engine.Service.Impl.ExerciseServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.ExerciseSetServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import com.ephyris.ephyris_engine.Service.Impl.UserExerciseNameIndex;
+import com.ephyris.ephyris_engine.Service.Impl.WorkoutServiceImplementation;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Guards the workout creation plan: a new workout and everything in it is
+// written with batched inserts, not a round-trip per exercise and set.
+@DataJpaTest
+@Import({ WorkoutMapperImpl.class, ExerciseMapperImpl.class, ExerciseSetMapperImpl.class })
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class WorkoutCreationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private WorkoutMapper workoutMapper;
+
+    @Autowired
+    private ExerciseMapper exerciseMapper;
+
+    @Autowired
+    private ExerciseSetMapper exerciseSetMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CanonicalExerciseMatcher canonicalMatcher = mock(CanonicalExerciseMatcher.class);
+    private final PersonalRecordIndex personalRecordIndex = mock(PersonalRecordIndex.class);
+    private final AnalyticsCache analyticsCache = mock(AnalyticsCache.class);
+
+    private WorkoutServiceImplementation workoutService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UserExerciseNameIndex exerciseNameIndex = mock(UserExerciseNameIndex.class);
+        TrainingLogCache trainingLogCache = mock(TrainingLogCache.class);
+
+        ExerciseServiceImplementation exerciseService = new ExerciseServiceImplementation(
+                workoutRepository,
+                exerciseRepository,
+                exerciseMapper,
+                exerciseSetMapper,
+                mock(ExerciseSetServiceImplementation.class),
+                canonicalMatcher,
+                personalRecordIndex,
+                trainingLogCache,
+                analyticsCache,
+                exerciseNameIndex);
+
+        workoutService = new WorkoutServiceImplementation(
+                workoutRepository,
+                exerciseService,
+                exerciseRepository,
+                workoutMapper,
+                personalRecordIndex,
+                mock(ActivityCalendarIndex.class),
+                trainingLogCache,
+                analyticsCache,
+                exerciseNameIndex,
+                transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testCreateWorkout_InsertsWholeWorkoutInBatches() throws Exception {
+        CanonicalExercise benchPress = new CanonicalExercise();
+        benchPress.setName("Bench Press");
+        entityManager.persist(benchPress);
+        when(canonicalMatcher.findMatch("Bench Press")).thenReturn(Optional.of(benchPress));
+
+        User user = persistUser("bulk@example.com");
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        WorkoutDTO created = workoutService.createWorkout(workoutDTO(6, 4), user.getId());
+        entityManager.flush();
+
+        // 1 workout + 6 exercises + 24 sets, one batched insert per table plus
+        // the occasional sequence call
+        assertEquals(31, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 9,
+                "statements: " + statistics.getPrepareStatementCount());
+
+        assertNotNull(created.getId());
+        assertEquals(6, created.getExercises().size());
+        created.getExercises().forEach(exercise -> {
+            assertNotNull(exercise.getId());
+            assertEquals(created.getId(), exercise.getWorkoutId());
+            assertEquals(4, exercise.getSets().size());
+            exercise.getSets().forEach(set -> assertEquals(exercise.getId(), set.getExerciseId()));
+        });
+        assertEquals("Bench Press", created.getExercises().get(0).getCanonicalName());
+
+        entityManager.clear();
+        Workout saved = workoutRepository.findById(created.getId()).get();
+        assertEquals(user.getId(), saved.getUser().getId());
+        assertEquals(6, saved.getExercises().size());
+
+        verify(personalRecordIndex).onSetsCreated(argThat(sets -> sets.size() == 24), eq(user.getId()));
+        verify(analyticsCache).invalidateUser(user.getId());
+    }
+
+    @Test
+    void testCreateWorkout_IgnoresClientIdsAndOwner() throws Exception {
+        User user = persistUser("owner@example.com");
+        entityManager.flush();
+
+        WorkoutDTO workoutDTO = workoutDTO(1, 1);
+        workoutDTO.setId(999L);
+        workoutDTO.setUserId(12345L);
+        workoutDTO.getExercises().get(0).setId(999L);
+
+        WorkoutDTO created = workoutService.createWorkout(workoutDTO, user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNotEquals(999L, created.getId());
+        assertEquals(user.getId(), workoutRepository.findById(created.getId()).get().getUser().getId());
+        verify(personalRecordIndex).onSetsCreated(anyCollection(), eq(user.getId()));
+    }
+
+    private WorkoutDTO workoutDTO(int exerciseCount, int setCount) {
+        List<ExerciseDTO> exercises = new ArrayList<>();
+        for (int e = 0; e < exerciseCount; e++) {
+            List<ExerciseSetDTO> sets = new ArrayList<>();
+            for (int s = 0; s < setCount; s++) {
+                ExerciseSetDTO set = new ExerciseSetDTO();
+                set.setValue(10);
+                set.setWeight(100.0 + s);
+                set.setCompleted(true);
+                sets.add(set);
+            }
+
+            ExerciseDTO exercise = new ExerciseDTO();
+            exercise.setName(e == 0 ? "Bench Press" : "Exercise " + e);
+            exercise.setMuscleGroup("Chest");
+            exercise.setSets(sets);
+            exercises.add(exercise);
+        }
+
+        WorkoutDTO workout = new WorkoutDTO();
+        workout.setName("Push Day");
+        workout.setExercises(exercises);
+        return workout;
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Test User");
+        user.setPassword("password");
+        user.setMembershipStatus("FREE");
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,196 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutDTO;
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutPageDTO;
+import com.ephyris.ephyris_engine.Entity.CanonicalExercise;
+import com.ephyris.ephyris_engine.Entity.Exercise;
+import com.ephyris.ephyris_engine.Entity.ExerciseSet;
+import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Entity.Workout;
+import com.ephyris.ephyris_engine.Mapper.ExerciseMapperImpl;
+import com.ephyris.ephyris_engine.Mapper.ExerciseSetMapperImpl;
+import com.ephyris.ephyris_engine.Mapper.WorkoutMapper;
+import com.ephyris.ephyris_engine.Mapper.WorkoutMapperImpl;
+import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityCalendarIndex;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
+import com.ephyris.ephyris_engine.Service.Impl.ExerciseServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import com.ephyris.ephyris_engine.Service.Impl.UserExerciseNameIndex;
+import com.ephyris.ephyris_engine.Service.Impl.WorkoutServiceImplementation;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// Guards the workout history loading plan: mapping a user's whole history
+// must cost the same number of statements however many workouts they have.
+@DataJpaTest
+@Import({ WorkoutMapperImpl.class, ExerciseMapperImpl.class, ExerciseSetMapperImpl.class })
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class WorkoutHistoryLoadingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private WorkoutMapper workoutMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private WorkoutServiceImplementation workoutService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        workoutService = new WorkoutServiceImplementation(
+                workoutRepository,
+                mock(ExerciseServiceImplementation.class),
+                exerciseRepository,
+                workoutMapper,
+                mock(PersonalRecordIndex.class),
+                mock(ActivityCalendarIndex.class),
+                mock(TrainingLogCache.class),
+                mock(AnalyticsCache.class),
+                mock(UserExerciseNameIndex.class),
+                transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetWorkoutsByUserId_StatementCountDoesNotGrowWithHistory() throws Exception {
+        CanonicalExercise benchPress = new CanonicalExercise();
+        benchPress.setName("Bench Press");
+        entityManager.persist(benchPress);
+
+        User small = persistUser("small@example.com", 2, benchPress);
+        User large = persistUser("large@example.com", 12, benchPress);
+        entityManager.flush();
+        entityManager.clear();
+
+        long smallStatements = countStatements(small.getId(), 2);
+        long largeStatements = countStatements(large.getId(), 12);
+
+        assertEquals(2, smallStatements);
+        assertEquals(smallStatements, largeStatements);
+    }
+
+    @Test
+    void testGetWorkoutPageByUserId_WalksHistoryNewestFirst() throws Exception {
+        CanonicalExercise benchPress = new CanonicalExercise();
+        benchPress.setName("Bench Press");
+        entityManager.persist(benchPress);
+
+        User user = persistUser("pages@example.com", 12, benchPress);
+        entityManager.flush();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            entityManager.clear();
+            statistics.clear();
+
+            WorkoutPageDTO page = workoutService.getWorkoutPageByUserId(user.getId(), cursor, 5);
+
+            // Page ids, workouts with exercises, then sets
+            assertEquals(3, statistics.getPrepareStatementCount());
+            page.getWorkouts().forEach(workout -> {
+                assertEquals(2, workout.getExercises().size());
+                seen.add(workout.getId());
+            });
+            assertEquals(page.isHasMore(), page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(12, seen.size());
+        // Every workout shares today's date, so the id tie-break orders them
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1) > seen.get(i));
+        }
+    }
+
+    private long countStatements(Long userId, int expectedWorkouts) throws Exception {
+        entityManager.clear();
+        statistics.clear();
+
+        List<WorkoutDTO> workouts = workoutService.getWorkoutsByUserId(userId);
+
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(expectedWorkouts, workouts.size());
+        for (WorkoutDTO workout : workouts) {
+            assertEquals(2, workout.getExercises().size());
+            workout.getExercises().forEach(exercise -> {
+                assertEquals(3, exercise.getSets().size());
+                assertEquals("Bench Press", exercise.getCanonicalName());
+            });
+        }
+        return statements;
+    }
+
+    private User persistUser(String email, int workoutCount, CanonicalExercise canonical) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Test User");
+        user.setPassword("password");
+        user.setMembershipStatus("FREE");
+        entityManager.persist(user);
+
+        for (int w = 0; w < workoutCount; w++) {
+            Workout workout = new Workout();
+            workout.setUser(user);
+            workout.setName("Workout " + w);
+            workout.setExercises(new ArrayList<>());
+            entityManager.persist(workout);
+
+            for (int e = 0; e < 2; e++) {
+                Exercise exercise = new Exercise();
+                exercise.setName("Bench Press");
+                exercise.setWorkout(workout);
+                exercise.setCanonicalExercise(canonical);
+                entityManager.persist(exercise);
+
+                for (int s = 0; s < 3; s++) {
+                    ExerciseSet set = new ExerciseSet();
+                    set.setExercise(exercise);
+                    set.setValue(10);
+                    set.setWeight(100.0);
+                    entityManager.persist(set);
+                }
+            }
+        }
+        return user;
+    }
+}
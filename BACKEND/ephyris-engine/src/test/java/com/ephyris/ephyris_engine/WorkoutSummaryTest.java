@@ -0,0 +1,173 @@
+package com.ephyris.ephyris_engine;
+
+import com.ephyris.ephyris_engine.DataTransferObject.WorkoutSummaryDTO;
+import com.ephyris.ephyris_engine.Entity.User;
+import com.ephyris.ephyris_engine.Entity.Workout;
+import com.ephyris.ephyris_engine.Mapper.WorkoutMapper;
+import com.ephyris.ephyris_engine.Repository.ExerciseRepository;
+import com.ephyris.ephyris_engine.Repository.WorkoutRepository;
+import com.ephyris.ephyris_engine.Repository.WorkoutSummaryView;
+import com.ephyris.ephyris_engine.Service.Impl.ActivityCalendarIndex;
+import com.ephyris.ephyris_engine.Service.Impl.AnalyticsCache;
+import com.ephyris.ephyris_engine.Service.Impl.ExerciseServiceImplementation;
+import com.ephyris.ephyris_engine.Service.Impl.PersonalRecordIndex;
+import com.ephyris.ephyris_engine.Service.Impl.TrainingLogCache;
+import com.ephyris.ephyris_engine.Service.Impl.UserExerciseNameIndex;
+import com.ephyris.ephyris_engine.Service.Impl.WorkoutServiceImplementation;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+// The login summary is one aggregate statement, whatever the history size.
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class WorkoutSummaryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    private Statistics statistics;
+
+    private final LocalDate today = LocalDate.of(2025, 3, 14);
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testSummarize_CountsLastWorkoutAndStreakInOneStatement() {
+        User user = persistUser("summary@example.com");
+        persistWorkout(user, "Legs", today.minusDays(4), true);
+        persistWorkout(user, "Pull", today.minusDays(2), true);
+        persistWorkout(user, "Push", today.minusDays(1), false);
+        persistWorkout(user, "Morning", today, true);
+        Workout last = persistWorkout(user, "Evening", today, false);
+
+        User other = persistUser("other@example.com");
+        persistWorkout(other, "Other", today.minusDays(3), true);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        WorkoutSummaryView summary = workoutRepository.summarizeByUserId(user.getId(), today);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(5, summary.getTotalWorkouts());
+        assertEquals(3, summary.getCompletedWorkouts());
+        assertEquals(last.getId(), summary.getLastWorkoutId());
+        assertEquals("Evening", summary.getLastWorkoutName());
+        assertEquals(today, summary.getLastWorkoutDate());
+        // Today, yesterday and the day before; the gap on day 3 ends it
+        assertEquals(3, summary.getCurrentStreak());
+    }
+
+    @Test
+    void testSummarize_StreakIsZeroWithoutAWorkoutToday() {
+        User user = persistUser("lapsed@example.com");
+        persistWorkout(user, "Push", today.minusDays(1), true);
+        entityManager.flush();
+
+        WorkoutSummaryView summary = workoutRepository.summarizeByUserId(user.getId(), today);
+
+        assertEquals(1, summary.getTotalWorkouts());
+        assertEquals(0, summary.getCurrentStreak());
+    }
+
+    @Test
+    void testSummarize_EmptyHistory() {
+        User user = persistUser("new@example.com");
+        entityManager.flush();
+
+        WorkoutSummaryView summary = workoutRepository.summarizeByUserId(user.getId(), today);
+
+        assertEquals(0, summary.getTotalWorkouts());
+        assertEquals(0, summary.getCompletedWorkouts());
+        assertNull(summary.getLastWorkoutId());
+        assertNull(summary.getLastWorkoutDate());
+        assertEquals(0, summary.getCurrentStreak());
+    }
+
+    @Test
+    void testGetWorkoutSummary_UserWithoutWorkouts() {
+        User user = persistUser("fresh@example.com");
+        entityManager.flush();
+
+        WorkoutSummaryDTO summary = workoutService(workoutRepository).getWorkoutSummary(user.getId());
+
+        assertEquals(0, summary.getTotalWorkouts());
+        assertEquals(0, summary.getCompletedWorkouts());
+        assertNull(summary.getLastWorkoutId());
+        assertEquals(0, summary.getCurrentStreak());
+    }
+
+    @Test
+    void testGetWorkoutSummary_NullStreakCountsAsZero() {
+        WorkoutRepository repository = mock(WorkoutRepository.class);
+        WorkoutSummaryView empty = mock(WorkoutSummaryView.class);
+        when(empty.getTotalWorkouts()).thenReturn(0L);
+        when(empty.getCompletedWorkouts()).thenReturn(0L);
+        when(repository.summarizeByUserId(anyLong(), any())).thenReturn(empty);
+
+        WorkoutSummaryDTO summary = workoutService(repository).getWorkoutSummary(1L);
+
+        assertEquals(0, summary.getCurrentStreak());
+    }
+
+    private WorkoutServiceImplementation workoutService(WorkoutRepository repository) {
+        return new WorkoutServiceImplementation(repository, mock(ExerciseServiceImplementation.class),
+                mock(ExerciseRepository.class), mock(WorkoutMapper.class), mock(PersonalRecordIndex.class),
+                mock(ActivityCalendarIndex.class), mock(TrainingLogCache.class), mock(AnalyticsCache.class),
+                mock(UserExerciseNameIndex.class), mock(PlatformTransactionManager.class));
+    }
+
+    private Workout persistWorkout(User user, String name, LocalDate date, boolean completed) {
+        Workout workout = new Workout();
+        workout.setUser(user);
+        workout.setName(name);
+        workout.setCompleted(completed);
+        entityManager.persist(workout);
+
+        // @PrePersist stamps today's date
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Workout w SET w.date = :date WHERE w.id = :id")
+                .setParameter("date", date)
+                .setParameter("id", workout.getId())
+                .executeUpdate();
+        return workout;
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Test User");
+        user.setPassword("password");
+        user.setMembershipStatus("FREE");
+        return entityManager.persist(user);
+    }
+}
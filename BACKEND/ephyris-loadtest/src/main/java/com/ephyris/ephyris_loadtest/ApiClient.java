@@ -0,0 +1,105 @@
+package com.ephyris.ephyris_loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * One client's view of the REST API. Every call is timed into the client's
+ * recorder under its endpoint label (the path template, so per-user ids don't
+ * split an endpoint into thousands of rows). Non-2xx answers and I/O failures
+ * count as errors and return null; the session decides how to carry on.
+ */
+public class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    private String token;
+
+    public ApiClient(HttpClient http, ObjectMapper mapper, String baseUrl, LatencyRecorder recorder) {
+        this.http = http;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public JsonNode get(String endpoint, String path) {
+        return send(endpoint, request(path).GET());
+    }
+
+    public JsonNode post(String endpoint, String path, Object body) {
+        return send(endpoint, request(path).POST(json(body)));
+    }
+
+    public JsonNode put(String endpoint, String path, Object body) {
+        return send(endpoint, request(path).PUT(json(body)));
+    }
+
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException("Request body does not serialize", e);
+        }
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean ok = response.statusCode() / 100 == 2;
+            // Parsing is the client's cost, not the server's
+            recorder.record(endpoint, start, System.nanoTime(), ok);
+            if (!ok) {
+                return null;
+            }
+            byte[] body = response.body();
+            return body.length == 0 ? mapper.missingNode() : readOrText(body);
+        } catch (IOException e) {
+            recorder.record(endpoint, start, System.nanoTime(), false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // Some endpoints answer 2xx with a plain message rather than JSON
+    private JsonNode readOrText(byte[] body) {
+        try {
+            return mapper.readTree(body);
+        } catch (IOException e) {
+            return mapper.getNodeFactory().textNode(new String(body));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ephyris.ephyris_loadtest;
+
+import com.ephyris.ephyris_engine.EphyrisEngineApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The whole engine, web and security included, on a random local port and an
+ * in-memory H2 database in PostgreSQL mode. Only the datasource, the JWT
+ * secret and logging differ from a production start.
+ */
+public class EngineServer implements AutoCloseable {
+
+    // Test-only key, never used outside this process
+    private static final String SECRET_KEY = "bG9hZHRlc3Qta2V5LWZvci1lcGh5cmlzLWVuZ2luZS0zMmJ5dGVzIQ==";
+
+    private final ConfigurableApplicationContext context;
+
+    private EngineServer(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    public static EngineServer start(LoadTestOptions options) {
+        // Command line arguments take precedence over the engine's
+        // application.properties, which points at Postgres
+        String[] args = {
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--security.jwt.secret-key=" + SECRET_KEY,
+                "--security.jwt.expiration-time=3600000",
+                "--security.password.bcrypt.strength=" + options.bcryptStrength(),
+                // Only takes effect on a Java 21 runtime
+                "--spring.threads.virtual.enabled=" + options.virtualThreads(),
+                "--spring.main.banner-mode=off",
+                "--spring.thymeleaf.check-template-location=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.web=WARN" };
+
+        return new EngineServer(new SpringApplicationBuilder(EphyrisEngineApplication.class)
+                .run(args));
+    }
+
+    public String baseUrl() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
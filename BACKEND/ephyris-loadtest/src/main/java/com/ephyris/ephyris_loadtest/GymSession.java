@@ -0,0 +1,187 @@
+package com.ephyris.ephyris_loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One client walking through gym visits back to back, the way the app does:
+ *
+ * <ol>
+ * <li>log in, half the time in summary mode</li>
+ * <li>every other visit, open the dashboard before training</li>
+ * <li>type each exercise name, asking for suggestions after each of the
+ * first few letters</li>
+ * <li>create the workout with all its sets still open</li>
+ * <li>tick off the sets one at a time as they are done</li>
+ * <li>open the dashboard to see the result</li>
+ * </ol>
+ *
+ * Set completion dominates the request count, as it does in production. The
+ * client thinks for about thinkTimeMs between requests.
+ */
+public class GymSession implements Runnable {
+
+    static final String LOGIN = "POST /api/auth/login";
+    static final String SUGGESTIONS = "GET /api/exercise/suggestions";
+    static final String CREATE_WORKOUT = "POST /api/workout/create";
+    static final String UPDATE_SET = "PUT /api/sets/update";
+    static final String DASHBOARD = "GET /api/analytics/dashboard";
+
+    // Letters typed before the user picks a suggestion
+    private static final int MIN_TYPED = 2;
+    private static final int MAX_TYPED = 4;
+
+    private final ApiClient api;
+    private final List<String> emails;
+    private final LoadTestOptions options;
+    private final long stopAtNanos;
+    private final Random random;
+
+    public GymSession(ApiClient api, List<String> emails, LoadTestOptions options, long stopAtNanos, long seed) {
+        this.api = api;
+        this.emails = emails;
+        this.options = options;
+        this.stopAtNanos = stopAtNanos;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < stopAtNanos && !Thread.currentThread().isInterrupted()) {
+            visit(emails.get(random.nextInt(emails.size())));
+        }
+    }
+
+    private void visit(String email) {
+        Long userId = login(email);
+        if (userId == null) {
+            return;
+        }
+
+        if (random.nextBoolean()) {
+            dashboard(userId);
+        }
+
+        String[][] lifts = pickLifts();
+        for (String[] lift : lifts) {
+            type(lift[0]);
+        }
+
+        JsonNode created = api.post(CREATE_WORKOUT, "/api/workout/create", newWorkout(lifts));
+        if (created == null) {
+            return;
+        }
+        for (JsonNode exercise : created.path("newWorkout").path("exercises")) {
+            for (JsonNode set : exercise.path("sets")) {
+                if (!running()) {
+                    return;
+                }
+                completeSet((ObjectNode) set);
+            }
+        }
+
+        dashboard(userId);
+    }
+
+    private Long login(String email) {
+        ObjectNode body = api.mapper().createObjectNode()
+                .put("email", email)
+                .put("password", HistorySeeder.PASSWORD);
+        String mode = random.nextBoolean() ? "summary" : "page";
+
+        api.setToken(null);
+        JsonNode response = api.post(LOGIN, "/api/auth/login?mode=" + mode, body);
+        think();
+        if (response == null) {
+            return null;
+        }
+        api.setToken(response.path("token").asText());
+        return response.path("userData").path("id").asLong();
+    }
+
+    private void dashboard(Long userId) {
+        api.get(DASHBOARD, "/api/analytics/dashboard/" + userId);
+        think();
+    }
+
+    private void type(String name) {
+        int letters = MIN_TYPED + random.nextInt(MAX_TYPED - MIN_TYPED + 1);
+        for (int i = MIN_TYPED; i <= letters && i <= name.length() && running(); i++) {
+            String input = URLEncoder.encode(name.substring(0, i), StandardCharsets.UTF_8);
+            api.get(SUGGESTIONS, "/api/exercise/suggestions?input=" + input);
+            think();
+        }
+    }
+
+    private void completeSet(ObjectNode set) {
+        set.put("completed", true);
+        ObjectNode body = api.mapper().createObjectNode();
+        body.set("exerciseSetDTO", set);
+        api.put(UPDATE_SET, "/api/sets/update", body);
+        think();
+    }
+
+    private String[][] pickLifts() {
+        String[][] lifts = new String[options.exercisesPerWorkout()][];
+        for (int i = 0; i < lifts.length; i++) {
+            lifts[i] = HistorySeeder.LIFTS[random.nextInt(HistorySeeder.LIFTS.length)];
+        }
+        return lifts;
+    }
+
+    private ObjectNode newWorkout(String[][] lifts) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ObjectNode workout = api.mapper().createObjectNode()
+                .put("name", "Load Test Workout")
+                .put("date", LocalDate.now().toString())
+                .put("startTime", now.toString())
+                .put("completed", false);
+
+        ArrayNode exercises = workout.putArray("exercises");
+        for (String[] lift : lifts) {
+            boolean timeBased = Boolean.parseBoolean(lift[2]);
+            ObjectNode exercise = exercises.addObject()
+                    .put("name", lift[0])
+                    .put("muscleGroup", lift[1])
+                    .put("isTimeBased", timeBased);
+
+            ArrayNode sets = exercise.putArray("sets");
+            for (int s = 0; s < options.setsPerExercise(); s++) {
+                ObjectNode set = sets.addObject()
+                        .put("value", timeBased ? 30 + random.nextInt(90) : 5 + random.nextInt(8))
+                        .put("isTimeBased", timeBased)
+                        .put("completed", false);
+                if (!timeBased) {
+                    set.put("weight", 45.0 + 5 * random.nextInt(60));
+                }
+            }
+        }
+        return workout;
+    }
+
+    private boolean running() {
+        return System.nanoTime() < stopAtNanos;
+    }
+
+    private void think() {
+        if (options.thinkTimeMs() <= 0) {
+            return;
+        }
+        // +-50% so clients drift apart instead of firing in lockstep
+        long millis = options.thinkTimeMs() / 2 + random.nextInt(options.thinkTimeMs() + 1);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
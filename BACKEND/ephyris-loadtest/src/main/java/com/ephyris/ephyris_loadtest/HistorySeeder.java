@@ -0,0 +1,174 @@
+package com.ephyris.ephyris_loadtest;
+
+import com.ephyris.ephyris_engine.Entity.IdSequences;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes the canonical catalog and a synthetic training history for every
+ * user straight through JDBC batches, then moves the id sequences past the
+ * seeded rows so workouts created during the run don't collide with them.
+ *
+ * Each user trains every day or two going back from yesterday, from a
+ * personal rotation of lifts, so their name suggestions and analytics look
+ * like a regular's rather than uniform noise. Everyone shares one password,
+ * hashed once. The data depends only on the seed.
+ */
+public class HistorySeeder {
+
+    public static final String PASSWORD = "load-test-password";
+
+    // Name, muscle group, time-based
+    static final String[][] LIFTS = {
+            { "Bench Press", "Chest", "false" },
+            { "Incline Bench Press", "Chest", "false" },
+            { "Dumbbell Fly", "Chest", "false" },
+            { "Squat", "Legs", "false" },
+            { "Front Squat", "Legs", "false" },
+            { "Leg Press", "Legs", "false" },
+            { "Romanian Deadlift", "Legs", "false" },
+            { "Leg Curl", "Legs", "false" },
+            { "Calf Raise", "Legs", "false" },
+            { "Deadlift", "Back", "false" },
+            { "Barbell Row", "Back", "false" },
+            { "Pull Up", "Back", "false" },
+            { "Lat Pulldown", "Back", "false" },
+            { "Seated Cable Row", "Back", "false" },
+            { "Overhead Press", "Shoulders", "false" },
+            { "Lateral Raise", "Shoulders", "false" },
+            { "Barbell Curl", "Arms", "false" },
+            { "Hammer Curl", "Arms", "false" },
+            { "Tricep Pushdown", "Arms", "false" },
+            { "Plank", "Core", "true" },
+            { "Hanging Leg Raise", "Core", "false" },
+            { "Rowing Machine", "Cardio", "true" },
+    };
+
+    // Lifts a user rotates through
+    private static final int ROTATION = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    private long nextWorkoutId = 1;
+    private long nextExerciseId = 1;
+    private long nextSetId = 1;
+
+    public HistorySeeder(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public void seedCatalog(int catalogSize) {
+        List<Object[]> canonicals = new ArrayList<>();
+        List<Object[]> aliases = new ArrayList<>();
+        List<Object[]> variations = new ArrayList<>();
+
+        int size = Math.max(catalogSize, LIFTS.length);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            String name = i < LIFTS.length ? LIFTS[i][0] : "Catalog Exercise " + id;
+            canonicals.add(new Object[] { id, name });
+            aliases.add(new Object[] { id, name.replace(" ", "") });
+            variations.add(new Object[] { id, "Paused " + name });
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO canonical_exercises (id, name) VALUES (?, ?)", canonicals);
+        jdbcTemplate.batchUpdate("INSERT INTO exercise_aliases (exercise_id, alias) VALUES (?, ?)", aliases);
+        jdbcTemplate.batchUpdate("INSERT INTO exercise_variations (exercise_id, variation) VALUES (?, ?)",
+                variations);
+    }
+
+    /**
+     * @return the emails of the seeded users, in seeding order
+     */
+    public List<String> seedUsers(int users, String passwordHash, int workoutsPerUser, int exercisesPerWorkout,
+            int setsPerExercise) {
+        List<String> emails = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            String email = "load" + u + "@example.com";
+            jdbcTemplate.update("INSERT INTO users (email, name, password, created_at, membership_status) "
+                    + "VALUES (?, ?, ?, ?, ?)",
+                    email, "Load User " + u, passwordHash, Timestamp.valueOf(LocalDateTime.now()), "FREE");
+            Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+
+            seedHistory(userId, workoutsPerUser, exercisesPerWorkout, setsPerExercise);
+            emails.add(email);
+        }
+
+        alignSequences();
+        return emails;
+    }
+
+    private void seedHistory(long userId, int workouts, int exercisesPerWorkout, int setsPerExercise) {
+        List<Object[]> workoutRows = new ArrayList<>();
+        List<Object[]> exerciseRows = new ArrayList<>();
+        List<Object[]> setRows = new ArrayList<>();
+
+        String[][] rotation = new String[ROTATION][];
+        for (int i = 0; i < ROTATION; i++) {
+            rotation[i] = LIFTS[random.nextInt(LIFTS.length)];
+        }
+
+        LocalDate date = LocalDate.now();
+        for (int w = 0; w < workouts; w++) {
+            date = date.minusDays(1 + random.nextInt(2));
+            long workoutId = nextWorkoutId++;
+            LocalDateTime start = date.atTime(6 + random.nextInt(14), 0);
+            workoutRows.add(new Object[] { workoutId, userId, "Workout " + w, Date.valueOf(date),
+                    Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(60)), true });
+
+            for (int e = 0; e < exercisesPerWorkout; e++) {
+                long exerciseId = nextExerciseId++;
+                String[] lift = rotation[(w * exercisesPerWorkout + e) % ROTATION];
+                boolean timeBased = Boolean.parseBoolean(lift[2]);
+                exerciseRows.add(new Object[] { exerciseId, workoutId, lift[0],
+                        lift[0].toLowerCase().replaceAll("\\s+", ""), lift[1], timeBased });
+
+                for (int s = 0; s < setsPerExercise; s++) {
+                    int value = timeBased ? 30 + random.nextInt(90) : 5 + random.nextInt(8);
+                    Double weight = timeBased ? null : 45.0 + 5 * random.nextInt(60);
+                    setRows.add(new Object[] { nextSetId++, exerciseId, value, timeBased, true, weight });
+                }
+            }
+
+            if (setRows.size() >= 10_000) {
+                flush(workoutRows, exerciseRows, setRows);
+            }
+        }
+        flush(workoutRows, exerciseRows, setRows);
+    }
+
+    private void flush(List<Object[]> workoutRows, List<Object[]> exerciseRows, List<Object[]> setRows) {
+        jdbcTemplate.batchUpdate("INSERT INTO workouts (id, user_id, workout_name, date, start_time, end_time, "
+                + "completed) VALUES (?, ?, ?, ?, ?, ?, ?)", workoutRows);
+        jdbcTemplate.batchUpdate("INSERT INTO exercises (id, workout_id, name, normalized_name, muscle_group, "
+                + "is_time_based) VALUES (?, ?, ?, ?, ?, ?)", exerciseRows);
+        jdbcTemplate.batchUpdate("INSERT INTO exercise_sets (id, exercise_id, rep_value, is_time_based, completed, "
+                + "weight) VALUES (?, ?, ?, ?, ?, ?)", setRows);
+        workoutRows.clear();
+        exerciseRows.clear();
+        setRows.clear();
+    }
+
+    // IdSequenceAligner only handles Postgres, so H2 is moved here, the
+    // same full allocation block past the highest id
+    private void alignSequences() {
+        Map<String, Long> nextIds = Map.of(
+                "workouts", nextWorkoutId,
+                "exercises", nextExerciseId,
+                "exercise_sets", nextSetId);
+        for (Map.Entry<String, String> entry : IdSequences.BY_TABLE.entrySet()) {
+            long restartAt = nextIds.get(entry.getKey()) + IdSequences.ALLOCATION_SIZE;
+            jdbcTemplate.execute("ALTER SEQUENCE " + entry.getValue() + " RESTART WITH " + restartAt);
+        }
+    }
+}
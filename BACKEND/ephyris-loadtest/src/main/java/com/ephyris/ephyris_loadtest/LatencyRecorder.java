@@ -0,0 +1,92 @@
+package com.ephyris.ephyris_loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Response times per endpoint, in microseconds.
+ *
+ * Every client records into its own recorder, so the hot path takes no lock;
+ * the recorders are merged once the run is over. Samples are kept whole and
+ * sorted for the percentiles, which stays exact and is cheap at the sizes a
+ * local run produces (a few million samples at most). Requests started before
+ * the end of the warm-up are not recorded.
+ */
+public class LatencyRecorder {
+
+    private final long recordFromNanos;
+    private final Map<String, Samples> byEndpoint = new TreeMap<>();
+
+    public LatencyRecorder(long recordFromNanos) {
+        this.recordFromNanos = recordFromNanos;
+    }
+
+    public void record(String endpoint, long startNanos, long endNanos, boolean ok) {
+        if (startNanos < recordFromNanos) {
+            return;
+        }
+        byEndpoint.computeIfAbsent(endpoint, e -> new Samples()).add((endNanos - startNanos) / 1000, ok);
+    }
+
+    public void mergeInto(LatencyRecorder total) {
+        byEndpoint.forEach((endpoint, samples) -> total.byEndpoint
+                .computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+    }
+
+    public Map<String, Samples> byEndpoint() {
+        return byEndpoint;
+    }
+
+    public static final class Samples {
+
+        private long[] micros = new long[1024];
+        private int count;
+        private int errors;
+        private boolean sorted;
+
+        void add(long value, boolean ok) {
+            if (count == micros.length) {
+                micros = Arrays.copyOf(micros, count * 2);
+            }
+            micros[count++] = value;
+            if (!ok) {
+                errors++;
+            }
+            sorted = false;
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > micros.length) {
+                micros = Arrays.copyOf(micros, Math.max(micros.length * 2, count + other.count));
+            }
+            System.arraycopy(other.micros, 0, micros, count, other.count);
+            count += other.count;
+            errors += other.errors;
+            sorted = false;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public int errors() {
+            return errors;
+        }
+
+        /**
+         * Nearest-rank percentile, e.g. 0.99 for p99. Zero when empty.
+         */
+        public long percentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(micros, 0, count);
+                sorted = true;
+            }
+            int rank = (int) Math.ceil(quantile * count);
+            return micros[Math.min(count, Math.max(rank, 1)) - 1];
+        }
+    }
+}
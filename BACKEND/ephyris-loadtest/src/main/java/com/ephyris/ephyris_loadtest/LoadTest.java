@@ -0,0 +1,97 @@
+package com.ephyris.ephyris_loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the engine, seeds it, runs the gym traffic for the warm-up plus the
+ * measured duration and reports per endpoint. Exits with 1 when an endpoint
+ * fails too often or regressed against --baseline, so a CI step can gate on it.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper mapper = new ObjectMapper();
+
+        int exitCode;
+        try (EngineServer server = EngineServer.start(options)) {
+            System.out.printf("Seeding %d users with %d workouts each%n", options.users(),
+                    options.workoutsPerUser());
+            HistorySeeder seeder = new HistorySeeder(server.bean(JdbcTemplate.class), options.seed());
+            seeder.seedCatalog(options.catalogSize());
+            List<String> emails = seeder.seedUsers(options.users(),
+                    server.bean(PasswordEncoder.class).encode(HistorySeeder.PASSWORD),
+                    options.workoutsPerUser(), options.exercisesPerWorkout(), options.setsPerExercise());
+
+            System.out.printf("Running %d clients against %s: %ds warm-up, %ds measured%n", options.clients(),
+                    server.baseUrl(), options.warmupSeconds(), options.durationSeconds());
+            Report report = run(options, server.baseUrl(), emails, mapper);
+
+            report.print(System.out);
+            if (options.result() != null) {
+                report.write(new File(options.result()), mapper);
+            }
+            exitCode = check(options, report, mapper);
+        }
+        System.exit(exitCode);
+    }
+
+    private static Report run(LoadTestOptions options, String baseUrl, List<String> emails, ObjectMapper mapper)
+            throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long stopAt = recordFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        List<LatencyRecorder> recorders = new ArrayList<>(options.clients());
+        ExecutorService clients = Executors.newFixedThreadPool(options.clients());
+        for (int i = 0; i < options.clients(); i++) {
+            LatencyRecorder recorder = new LatencyRecorder(recordFrom);
+            recorders.add(recorder);
+            ApiClient api = new ApiClient(http, mapper, baseUrl, recorder);
+            clients.execute(new GymSession(api, emails, options, stopAt, options.seed() + i));
+        }
+
+        clients.shutdown();
+        // Sessions stop at stopAt; give requests in flight their full timeout
+        long waitNanos = stopAt - System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        if (!clients.awaitTermination(waitNanos, TimeUnit.NANOSECONDS)) {
+            clients.shutdownNow();
+        }
+
+        LatencyRecorder total = new LatencyRecorder(recordFrom);
+        recorders.forEach(recorder -> recorder.mergeInto(total));
+        return new Report(options, total, options.durationSeconds());
+    }
+
+    private static int check(LoadTestOptions options, Report report, ObjectMapper mapper) throws Exception {
+        JsonNode baseline = null;
+        if (options.baseline() != null) {
+            baseline = mapper.readTree(new File(options.baseline()));
+            JsonNode current = mapper.valueToTree(options);
+            for (String name : List.of("clients", "thinkTimeMs", "users", "workoutsPerUser", "bcryptStrength",
+                    "virtualThreads")) {
+                if (!current.path(name).equals(baseline.path("options").path(name))) {
+                    System.out.printf("Warning: %s differs from the baseline run, numbers may not compare%n",
+                            name);
+                }
+            }
+        }
+
+        List<String> problems = report.problems(baseline);
+        problems.forEach(problem -> System.out.println("FAIL " + problem));
+        return problems.isEmpty() ? 0 : 1;
+    }
+}
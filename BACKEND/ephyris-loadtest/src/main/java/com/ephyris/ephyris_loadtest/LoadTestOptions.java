@@ -0,0 +1,75 @@
+package com.ephyris.ephyris_loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, all of the form --name=value.
+ *
+ * Clients are closed-loop: each one waits for its response and then thinks
+ * for thinkTimeMs before the next request, so the offered load grows with
+ * the client count rather than being fixed up front.
+ */
+public record LoadTestOptions(
+        int clients,
+        int durationSeconds,
+        int warmupSeconds,
+        int thinkTimeMs,
+        int users,
+        int workoutsPerUser,
+        int exercisesPerWorkout,
+        int setsPerExercise,
+        int catalogSize,
+        int bcryptStrength,
+        boolean virtualThreads,
+        long seed,
+        String result,
+        String baseline,
+        double tolerance,
+        double maxErrorRate) {
+
+    private static final Set<String> NAMES = Set.of("clients", "duration", "warmup", "think-time-ms", "users",
+            "workouts-per-user", "exercises-per-workout", "sets-per-exercise", "catalog-size", "bcrypt-strength",
+            "virtual-threads", "seed", "result", "baseline", "tolerance", "max-error-rate");
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + NAMES);
+            }
+            values.put(name, arg.substring(equals + 1));
+        }
+
+        return new LoadTestOptions(
+                intValue(values, "clients", 50),
+                intValue(values, "duration", 60),
+                intValue(values, "warmup", 15),
+                intValue(values, "think-time-ms", 0),
+                intValue(values, "users", 200),
+                intValue(values, "workouts-per-user", 300),
+                intValue(values, "exercises-per-workout", 5),
+                intValue(values, "sets-per-exercise", 4),
+                intValue(values, "catalog-size", 500),
+                // Pinned rather than calibrated, so runs on different machines
+                // spend the same work per login
+                intValue(values, "bcrypt-strength", 10),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.get("result"),
+                values.get("baseline"),
+                Double.parseDouble(values.getOrDefault("tolerance", "0.25")),
+                Double.parseDouble(values.getOrDefault("max-error-rate", "0.01")));
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ephyris.ephyris_loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per endpoint, printed as a table and
+ * optionally written as JSON that a later run can use as its baseline.
+ *
+ * Against a baseline an endpoint regresses when its p99 grew or its
+ * throughput fell by more than the tolerance. Endpoints with fewer than
+ * MIN_SAMPLES requests in either run are too noisy to judge and are skipped.
+ * Any endpoint whose error rate is above the limit fails the run on its own.
+ */
+public class Report {
+
+    static final int MIN_SAMPLES = 100;
+
+    public record Row(String endpoint, int requests, int errors, double throughput, double p50Ms, double p90Ms,
+            double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    private final LoadTestOptions options;
+    private final List<Row> rows = new ArrayList<>();
+
+    public Report(LoadTestOptions options, LatencyRecorder total, double measuredSeconds) {
+        this.options = options;
+
+        for (Map.Entry<String, LatencyRecorder.Samples> entry : total.byEndpoint().entrySet()) {
+            LatencyRecorder.Samples samples = entry.getValue();
+            rows.add(new Row(entry.getKey(), samples.count(), samples.errors(),
+                    samples.count() / measuredSeconds,
+                    millis(samples.percentile(0.50)), millis(samples.percentile(0.90)),
+                    millis(samples.percentile(0.99)), millis(samples.percentile(0.999)),
+                    millis(samples.percentile(1.0))));
+        }
+    }
+
+    public List<Row> rows() {
+        return rows;
+    }
+
+    public void print(PrintStream out) {
+        String format = "%-44s %9s %7s %9s %9s %9s %9s %9s %9s%n";
+        out.printf(format, "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms");
+        int requests = 0;
+        double throughput = 0;
+        for (Row row : rows) {
+            out.printf(format, row.endpoint(), row.requests(), row.errors(), decimal(row.throughput()),
+                    decimal(row.p50Ms()), decimal(row.p90Ms()), decimal(row.p99Ms()), decimal(row.p999Ms()),
+                    decimal(row.maxMs()));
+            requests += row.requests();
+            throughput += row.throughput();
+        }
+        out.printf(format, "total", requests, "", decimal(throughput), "", "", "", "", "");
+    }
+
+    public void write(File file, ObjectMapper mapper) throws IOException {
+        ObjectNode root = mapper.createObjectNode();
+        root.set("options", mapper.valueToTree(options));
+        ObjectNode endpoints = root.putObject("endpoints");
+        for (Row row : rows) {
+            endpoints.set(row.endpoint(), mapper.valueToTree(row));
+        }
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file, root);
+    }
+
+    /**
+     * @return one line per problem found, empty if the run passes
+     */
+    public List<String> problems(JsonNode baseline) {
+        List<String> problems = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.requests() > 0 && (double) row.errors() / row.requests() > options.maxErrorRate()) {
+                problems.add(String.format("%s: %d of %d requests failed", row.endpoint(), row.errors(),
+                        row.requests()));
+            }
+            if (baseline == null) {
+                continue;
+            }
+
+            JsonNode before = baseline.path("endpoints").path(row.endpoint());
+            if (before.isMissingNode() || before.path("requests").asInt() < MIN_SAMPLES
+                    || row.requests() < MIN_SAMPLES) {
+                continue;
+            }
+            double p99Before = before.path("p99Ms").asDouble();
+            double throughputBefore = before.path("throughput").asDouble();
+            if (row.p99Ms() > p99Before * (1 + options.tolerance())) {
+                problems.add(String.format("%s: p99 %s ms, was %s ms", row.endpoint(), decimal(row.p99Ms()),
+                        decimal(p99Before)));
+            }
+            if (row.throughput() < throughputBefore * (1 - options.tolerance())) {
+                problems.add(String.format("%s: %s req/s, was %s req/s", row.endpoint(),
+                        decimal(row.throughput()), decimal(throughputBefore)));
+            }
+        }
+        return problems;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String decimal(double value) {
+        return String.format("%.1f", value);
+    }
+}
@@ -8,6 +8,8 @@ export const endpoints = {
       create: '/api/workout/create',
       update: '/api/workout/update',
       getUserWorkouts: (userId: string) => `/api/workout/userWorkouts/${userId}`,
+      getUserWorkoutPage: (userId: string, cursor?: string | null) =>
+        `/api/workout/userWorkouts/${userId}/page` + (cursor ? `?cursor=${encodeURIComponent(cursor)}` : ''),
       delete: '/api/workout/deleteWorkout',
       getWorkoutsByPeriod: (userId: string, period: string) => `/api/workout/userWorkouts/${userId}/${period}`,
     },
@@ -30,6 +32,7 @@ export const endpoints = {
       personalRecords: '/api/analytics/personal-records',
       weeklyVolume: '/api/analytics/weekly-volume',
       muscleVolume: '/api/analytics/muscle-volume',
+      dashboard: '/api/analytics/dashboard',
     },
 
     // Add more endpoints as needed
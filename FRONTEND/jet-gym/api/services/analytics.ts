@@ -9,6 +9,7 @@ const CONSISTENCY_INSIGHT_CACHE_KEY = 'consistencyInsight';
 const PERSONAL_RECORDS_CACHE_KEY = 'personalRecords';
 const WEEKLY_VOLUME_CACHE_KEY = 'weeklyVolume';
 const MUSCLE_VOLUME_CACHE_KEY = 'muscleVolume';
+const DASHBOARD_CACHE_KEY = 'dashboard';
 
 export interface WorkoutsPerWeekData {
   [weekNumber: number]: number;
@@ -33,7 +34,40 @@ export interface MuscleVolume {
   totalVolume: number;
 }
 
+export interface Dashboard {
+  workoutsPerWeek: WorkoutsPerWeekData;
+  consistencyInsight: ConsistencyInsight;
+  personalRecords: PersonalRecord[];
+  weeklyVolume: WeeklyVolume[];
+  muscleVolume: MuscleVolume;
+  statistics: { [name: string]: number | string };
+}
+
 export const analyticsService = {
+  // Every analytics view in one request
+  getDashboard: async (userId: number, weeksBack: number = 7): Promise<Dashboard> => {
+    try {
+      // Try to get from cache first
+      const cachedData = await CacheService.getItem<Dashboard>(`${DASHBOARD_CACHE_KEY}_${userId}_${weeksBack}`);
+      if (cachedData) {
+        return cachedData;
+      }
+
+      // If not in cache, fetch from API
+      const response = await apiClient.get<Dashboard>(
+        `${endpoints.analytics.dashboard}/${userId}?weeksBack=${weeksBack}`
+      );
+
+      // Store in cache
+      await CacheService.setItem(`${DASHBOARD_CACHE_KEY}_${userId}_${weeksBack}`, response);
+
+      return response;
+    } catch (error) {
+      console.error('Error fetching dashboard:', error);
+      throw error;
+    }
+  },
+
   getWeeklyWorkoutCounts: async (userId: number, weeksBack: number = 7): Promise<WorkoutsPerWeekData> => {
     try {
       // Try to get from cache first
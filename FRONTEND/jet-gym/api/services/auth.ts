@@ -2,11 +2,11 @@ import { apiClient } from '../client';
 import { endpoints } from '../endpoints';
 import { LoginRequest, AuthResponse } from '../types';
 import { CacheService } from './cacheservice';
-import { workoutService } from './workout';
 
 const TOKEN_CACHE_KEY = 'token';
 const USER_DATA_CACHE_KEY = 'userData';
 const WORKOUTS_CACHE_KEY = 'workouts';
+const WORKOUTS_CURSOR_CACHE_KEY = 'workoutsCursor';
 const USER_ID = 'userId';
 export const authService = {
     login: async (data: LoginRequest) => {
@@ -16,9 +16,10 @@ export const authService = {
       await CacheService.setItem(USER_DATA_CACHE_KEY, response.userData);
       await CacheService.setItem(USER_ID, response.userData.id);
       
-      // Fetch and store workouts after successful login
-      const workouts = await workoutService.getUserWorkouts(response.userData.id);
-      await CacheService.setItem(WORKOUTS_CACHE_KEY, workouts);
+      // The login response carries the most recent page of workouts; older
+      // pages are fetched with the cursor when they are needed
+      await CacheService.setItem(WORKOUTS_CACHE_KEY, response.workouts || []);
+      await CacheService.setItem(WORKOUTS_CURSOR_CACHE_KEY, response.workoutsCursor ?? null);
       
       return response;
     },
@@ -36,6 +37,7 @@ export const authService = {
       await CacheService.removeItem(TOKEN_CACHE_KEY);
       await CacheService.removeItem(USER_DATA_CACHE_KEY);
       await CacheService.removeItem(WORKOUTS_CACHE_KEY);
+      await CacheService.removeItem(WORKOUTS_CURSOR_CACHE_KEY);
     },
 
     // Helper method to get token
@@ -46,5 +48,8 @@ export const authService = {
     
     // Helper method to get workouts
     getWorkouts: () => CacheService.getItem<any[]>(WORKOUTS_CACHE_KEY),
+
+    // Helper method to get the cursor for the next page of workouts
+    getWorkoutsCursor: () => CacheService.getItem<string>(WORKOUTS_CURSOR_CACHE_KEY),
 };
   
\ No newline at end of file
@@ -1,6 +1,6 @@
 import { apiClient } from '../client';
 import { endpoints } from '../endpoints';
-import { WorkoutDTO, WorkoutUpdateDTO, WorkoutDeleteDTO } from '../types';
+import { WorkoutDTO, WorkoutPageDTO, WorkoutUpdateDTO, WorkoutDeleteDTO } from '../types';
 import { CacheService } from './cacheservice';
 
 const WORKOUTS_CACHE_KEY = 'workouts';
@@ -27,6 +27,11 @@ export const workoutService = {
     return workouts;
   },
     
+  // One page of history, newest first; pass the previous page's nextCursor to go further back
+  getUserWorkoutPage: async (userId: string, cursor?: string | null) => {
+    return await apiClient.get<WorkoutPageDTO>(endpoints.workout.getUserWorkoutPage(userId, cursor));
+  },
+    
   deleteWorkout: async (data: WorkoutDeleteDTO) => {
     await apiClient.delete<void>(endpoints.workout.delete, data);
     // After deleting workout, fetch updated list and cache it
@@ -6,6 +6,8 @@ export interface LoginRequest {
   export interface AuthResponse {
     token: string;
     userData: UserData;
+    workouts?: WorkoutDTO[]; // Most recent page, newest first
+    workoutsCursor?: string | null; // Cursor for the next page, null if there is nothing older
   }
 
   export interface UserData {
@@ -30,6 +32,12 @@ export interface WorkoutDTO {
   exercises?: ExerciseDTO[];
 }
 
+export interface WorkoutPageDTO {
+  workouts: WorkoutDTO[]; // Newest first
+  nextCursor: string | null; // Pass back to fetch the next page, null on the last page
+  hasMore: boolean;
+}
+
 export interface WorkoutUpdateDTO {
   workoutId: number;
   userId: number;
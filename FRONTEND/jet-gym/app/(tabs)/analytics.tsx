@@ -45,36 +45,14 @@ export default function AnalyticsScreen() {
       setError(null);
       setIsLoading(true);
       
-      // Load all analytics data in parallel
-      const [
-        workoutConsistency,
-        personalRecords,
-        weeklyVolume,
-        muscleVolume
-      ] = await Promise.all([
-        analyticsService.getWeeklyWorkoutCounts(userId, weeksBack).catch(err => {
-          console.error('Error fetching workout consistency:', err);
-          return null;
-        }),
-        analyticsService.getPersonalRecords(userId).catch(err => {
-          console.error('Error fetching personal records:', err);
-          return null;
-        }),
-        analyticsService.getWeeklyVolume(userId, weeksBack).catch(err => {
-          console.error('Error fetching weekly volume:', err);
-          return null;
-        }),
-        analyticsService.getMuscleVolume(userId).catch(err => {
-          console.error('Error fetching muscle volume:', err);
-          return null;
-        }),
-      ]);
+      // All analytics data in one request
+      const dashboard = await analyticsService.getDashboard(userId, weeksBack);
 
       setAnalyticsData({
-        workoutConsistency,
-        personalRecords,
-        weeklyVolume,
-        muscleVolume,
+        workoutConsistency: dashboard.workoutsPerWeek,
+        personalRecords: dashboard.personalRecords,
+        weeklyVolume: dashboard.weeklyVolume,
+        muscleVolume: dashboard.muscleVolume,
       });
       
     } catch (error) {
@@ -98,6 +98,8 @@ export interface ConsistencyInsight {
   summary: string;
   percentile: number;
   streakDays: number;
+  longestStreakDays: number;
+  activeDays: number;
   patternFindings: string;
   recommendation: string;
   weeklyFrequency: number[];